@@ -0,0 +1,56 @@
+package com.audition.benchmark;
+
+import com.audition.common.logging.AuditionLogger;
+import com.audition.common.logging.LoggingInterceptor;
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+
+// Data shaped like the upstream payloads: 10 posts per user and 5 comments per post with lorem ipsum text of the
+// same length as https://jsonplaceholder.typicode.com.
+public final class Fixtures {
+
+    public static final int POSTS_PER_USER = 10;
+    public static final int COMMENTS_PER_POST = 5;
+
+    private static final String WORDS = "quia et suscipit recusandae consequuntur expedita et cum reprehenderit "
+        + "molestiae ut ut quas totam nostrum rerum est autem sunt rem eveniet architecto";
+
+    private Fixtures() {
+    }
+
+    // the object mapper exactly as configured for the application
+    public static ObjectMapper objectMapper() {
+        return new WebServiceConfiguration(new LoggingInterceptor(new AuditionLogger())).objectMapper();
+    }
+
+    public static List<AuditionPost> posts(final int count) {
+        final List<AuditionPost> posts = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            posts.add(new AuditionPost((id - 1) / POSTS_PER_USER + 1, id, text(id, 40), text(id, 160), null));
+        }
+        return posts;
+    }
+
+    public static List<AuditionComment> comments(final int count) {
+        final List<AuditionComment> comments = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            comments.add(new AuditionComment((id - 1) / COMMENTS_PER_POST + 1, id, text(id, 30),
+                "user" + id + "@example.com", text(id, 150)));
+        }
+        return comments;
+    }
+
+    private static String text(final int seed, final int length) {
+        final StringBuilder text = new StringBuilder(length);
+        int offset = seed * 7 % WORDS.length();
+        while (text.length() < length) {
+            text.append(WORDS.charAt(offset));
+            offset = (offset + 1) % WORDS.length();
+        }
+        return text.toString();
+    }
+}
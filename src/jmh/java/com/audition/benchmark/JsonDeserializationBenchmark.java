@@ -0,0 +1,47 @@
+package com.audition.benchmark;
+
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Deserialization of the upstream arrays with the application's ObjectMapper. 100 posts / 500 comments is the
+// size of the upstream collections, the larger sizes show how the cost scales.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonDeserializationBenchmark {
+
+    @Param({"100", "5000"})
+    private int posts;
+
+    private ObjectMapper objectMapper;
+    private byte[] postsJson;
+    private byte[] commentsJson;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = Fixtures.objectMapper();
+        postsJson = objectMapper.writeValueAsBytes(Fixtures.posts(posts));
+        commentsJson = objectMapper.writeValueAsBytes(Fixtures.comments(posts * Fixtures.COMMENTS_PER_POST));
+    }
+
+    @Benchmark
+    public AuditionPost[] readPosts() throws IOException {
+        return objectMapper.readValue(postsJson, AuditionPost[].class);
+    }
+
+    @Benchmark
+    public AuditionComment[] readComments() throws IOException {
+        return objectMapper.readValue(commentsJson, AuditionComment[].class);
+    }
+}
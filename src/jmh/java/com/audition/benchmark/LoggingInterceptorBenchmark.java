@@ -0,0 +1,60 @@
+package com.audition.benchmark;
+
+import com.audition.common.logging.AuditionLogger;
+import com.audition.common.logging.LoggingInterceptor;
+import com.audition.configuration.HttpLoggingProperties;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+// Request/response formatting of the RestTemplate logging interceptor around a GET /posts response, in FULL and
+// in SAMPLED mode (with the default 1% sample rate). The jmh logback.xml enables INFO without an appender, so the
+// messages are built but not written.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoggingInterceptorBenchmark {
+
+    @Param({"FULL", "SAMPLED"})
+    private HttpLoggingProperties.Mode mode;
+
+    private LoggingInterceptor interceptor;
+    private MockClientHttpRequest request;
+    private byte[] responseBody;
+
+    @Setup
+    public void setup() throws IOException {
+        final HttpLoggingProperties properties = new HttpLoggingProperties();
+        properties.setMode(mode);
+        interceptor = new LoggingInterceptor(new AuditionLogger(), properties);
+        request = new MockClientHttpRequest(HttpMethod.GET, URI.create("https://jsonplaceholder.typicode.com/posts"));
+        request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+        responseBody = Fixtures.objectMapper().writeValueAsBytes(Fixtures.posts(100));
+    }
+
+    @Benchmark
+    public ClientHttpResponse intercept() throws IOException {
+        final ClientHttpRequestExecution execution = (req, body) -> {
+            final MockClientHttpResponse response = new MockClientHttpResponse(responseBody, HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response;
+        };
+        return interceptor.intercept(request, new byte[0], execution);
+    }
+}
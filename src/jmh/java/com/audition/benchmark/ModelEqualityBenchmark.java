@@ -0,0 +1,57 @@
+package com.audition.benchmark;
+
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// equals/hashCode of the models, used by the caches, the index refresh and the tests. A post with its comments
+// compares and hashes the whole comment list.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ModelEqualityBenchmark {
+
+    private AuditionPost post;
+    private AuditionPost equalPost;
+    private AuditionComment comment;
+    private AuditionComment equalComment;
+
+    @Setup
+    public void setup() {
+        final List<AuditionComment> comments = Fixtures.comments(Fixtures.COMMENTS_PER_POST);
+        post = Fixtures.posts(1).get(0);
+        post.setComments(comments);
+        equalPost = Fixtures.posts(1).get(0);
+        equalPost.setComments(Fixtures.comments(Fixtures.COMMENTS_PER_POST));
+        comment = comments.get(0);
+        equalComment = Fixtures.comments(1).get(0);
+    }
+
+    @Benchmark
+    public boolean postEquals() {
+        return post.equals(equalPost);
+    }
+
+    @Benchmark
+    public int postHashCode() {
+        return post.hashCode();
+    }
+
+    @Benchmark
+    public boolean commentEquals() {
+        return comment.equals(equalComment);
+    }
+
+    @Benchmark
+    public int commentHashCode() {
+        return comment.hashCode();
+    }
+}
@@ -0,0 +1,54 @@
+package com.audition.benchmark;
+
+import com.audition.model.AuditionPost;
+import com.audition.service.PostPage;
+import com.audition.service.PostQuery;
+import com.audition.service.PostSortKey;
+import com.audition.service.PostsView;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// The userId filter of GET /posts: a scan of the whole collection as the controller originally did, against the
+// indexed PostsView that serves the endpoint now.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PostFilteringBenchmark {
+
+    @Param({"100", "5000"})
+    private int posts;
+
+    private List<AuditionPost> collection;
+    private PostsView view;
+    private int userId;
+
+    @Setup
+    public void setup() {
+        collection = Fixtures.posts(posts);
+        view = new PostsView(collection);
+        userId = posts / Fixtures.POSTS_PER_USER / 2;
+    }
+
+    @Benchmark
+    public List<AuditionPost> scanByUserId() {
+        return collection.stream().filter(post -> post.getUserId() == userId).toList();
+    }
+
+    @Benchmark
+    public PostPage indexedByUserId() {
+        return view.query(new PostQuery(userId, null, null, 0, PostSortKey.ID, false));
+    }
+
+    @Benchmark
+    public PostPage indexedSearchSortedPage() {
+        return view.query(new PostQuery(null, "quia", 0, 20, PostSortKey.TITLE, true));
+    }
+}
@@ -0,0 +1,50 @@
+package com.audition.web.advice;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.logging.AuditionLogger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ProblemDetail;
+import org.springframework.test.util.ReflectionTestUtils;
+
+// ProblemDetail construction for the error responses, e.g. a 404 for an unknown post. The benchmark lives in the
+// advice package to call the package private handlers directly. Creating the exception (and its stack trace) is
+// part of the cost, as it is on the request path. clientError is the stackless, rate limited path of a 4xx.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExceptionControllerAdviceBenchmark {
+
+    private ExceptionControllerAdvice advice;
+
+    @Setup
+    public void setup() {
+        advice = new ExceptionControllerAdvice();
+        ReflectionTestUtils.setField(advice, "logger", new AuditionLogger());
+        ReflectionTestUtils.setField(advice, "meterRegistry", new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public ProblemDetail systemException() {
+        return advice.handleSystemException(
+            new SystemException("Cannot find a Post with id 1000", "Resource Not Found", 404));
+    }
+
+    @Benchmark
+    public ProblemDetail clientError() {
+        return advice.handleSystemException(
+            SystemException.clientError("Cannot find a Post with id 1000", "Resource Not Found", 404));
+    }
+
+    @Benchmark
+    public ProblemDetail unexpectedException() {
+        return advice.handleMainException(new IllegalStateException("Unexpected"));
+    }
+}
@@ -0,0 +1,7 @@
+package com.audition.loadtest;
+
+// throughput in requests per second, latencies in milliseconds
+public record EndpointResult(String endpoint, int requests, int errors, double throughput, double p50, double p99,
+                             double p999, double max) {
+
+}
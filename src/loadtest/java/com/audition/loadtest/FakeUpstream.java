@@ -0,0 +1,208 @@
+package com.audition.loadtest;
+
+import com.audition.common.hash.ContentDigest;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.boot.convert.DurationStyle;
+
+// A local stand-in for jsonplaceholder.typicode.com serving synthetic posts and comments. Latency, error rate and
+// payload size are configurable, so that load tests are reproducible and do not depend on the public api.
+// Responses are serialized once at startup, the server itself adds as little cost as possible.
+public final class FakeUpstream implements AutoCloseable {
+
+    static final int POSTS_PER_USER = 10;
+
+    private static final Pattern POST_PATH = Pattern.compile("/posts/(\\d+)");
+    private static final Pattern COMMENTS_PATH = Pattern.compile("/posts/(\\d+)/comments");
+    private static final Pattern COMMENTS_QUERY = Pattern.compile("postId=(\\d+)");
+    private static final byte[] EMPTY_OBJECT = "{}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EMPTY_ARRAY = "[]".getBytes(StandardCharsets.UTF_8);
+    private static final String WORDS = "quia et suscipit recusandae consequuntur expedita et cum reprehenderit "
+        + "molestiae ut ut quas totam nostrum rerum est autem sunt rem eveniet architecto ";
+    private static final Response NOT_FOUND = new Response(404, EMPTY_OBJECT);
+
+    private final Settings settings;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[] postsJson;
+    private final byte[][] postJson;
+    private final byte[][] commentsJson;
+    private final byte[] allCommentsJson;
+
+    private FakeUpstream(final Settings settings) throws IOException {
+        this.settings = settings;
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final List<AuditionPost> posts = new ArrayList<>(settings.posts());
+        final List<AuditionComment> allComments = new ArrayList<>(settings.posts() * settings.commentsPerPost());
+        postJson = new byte[settings.posts() + 1][];
+        commentsJson = new byte[settings.posts() + 1][];
+        for (int id = 1; id <= settings.posts(); id++) {
+            final AuditionPost post = new AuditionPost((id - 1) / POSTS_PER_USER + 1, id, text(id, 40),
+                text(id, settings.bodyLength()), null);
+            posts.add(post);
+            postJson[id] = objectMapper.writeValueAsBytes(post);
+            final List<AuditionComment> comments = new ArrayList<>(settings.commentsPerPost());
+            for (int i = 1; i <= settings.commentsPerPost(); i++) {
+                final int commentId = (id - 1) * settings.commentsPerPost() + i;
+                comments.add(new AuditionComment(id, commentId, text(commentId, 30), "user" + commentId
+                    + "@example.com", text(commentId, settings.bodyLength())));
+            }
+            commentsJson[id] = objectMapper.writeValueAsBytes(comments);
+            allComments.addAll(comments);
+        }
+        postsJson = objectMapper.writeValueAsBytes(posts);
+        allCommentsJson = objectMapper.writeValueAsBytes(allComments);
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("localhost", settings.port()), 1024);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public static FakeUpstream start(final Settings settings) throws IOException {
+        final FakeUpstream upstream = new FakeUpstream(settings);
+        upstream.server.start();
+        return upstream;
+    }
+
+    public static void main(final String[] args) throws IOException {
+        final FakeUpstream upstream = start(Settings.fromSystemProperties());
+        System.out.printf("Fake upstream listening on %s with %s%n", upstream.baseUrl(), upstream.settings);
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            delay();
+            if (settings.errorRate() > 0 && ThreadLocalRandom.current().nextDouble() < settings.errorRate()) {
+                respond(exchange, 503, EMPTY_OBJECT);
+                return;
+            }
+            final Response response = route(exchange.getRequestURI().getPath(), exchange.getRequestURI().getQuery());
+            if (response.status() != 200) {
+                respond(exchange, response.status(), response.body());
+                return;
+            }
+            // payloads never change, so a conditional GET with a known tag is always answered with 304
+            final String eTag = "\"" + ContentDigest.hexOf(response.body()) + "\"";
+            exchange.getResponseHeaders().set("ETag", eTag);
+            if (eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            respond(exchange, response.status(), response.body());
+        }
+    }
+
+    private Response route(final String path, final String query) {
+        if ("/posts".equals(path)) {
+            return new Response(200, postsJson);
+        }
+        final Matcher post = POST_PATH.matcher(path);
+        if (post.matches()) {
+            final byte[] body = lookup(postJson, post.group(1));
+            return body == null ? NOT_FOUND : new Response(200, body);
+        }
+        final Matcher comments = COMMENTS_PATH.matcher(path);
+        if (comments.matches()) {
+            return commentsOf(comments.group(1));
+        }
+        if ("/comments".equals(path)) {
+            final Matcher postId = COMMENTS_QUERY.matcher(query == null ? "" : query);
+            return postId.find() ? commentsOf(postId.group(1)) : new Response(200, allCommentsJson);
+        }
+        return NOT_FOUND;
+    }
+
+    private Response commentsOf(final String postId) {
+        final byte[] body = lookup(commentsJson, postId);
+        return new Response(200, body == null ? EMPTY_ARRAY : body);
+    }
+
+    private void delay() {
+        final long latency = settings.latency().toNanos();
+        final long jitter = settings.latencyJitter().toNanos();
+        final long nanos = latency + (jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter) : 0);
+        if (nanos > 0) {
+            try {
+                Thread.sleep(Duration.ofNanos(nanos));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static byte[] lookup(final byte[][] payloads, final String id) {
+        try {
+            final int index = Integer.parseInt(id);
+            return index > 0 && index < payloads.length ? payloads[index] : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String text(final int seed, final int length) {
+        final StringBuilder text = new StringBuilder(length);
+        int offset = seed * 7 % WORDS.length();
+        while (text.length() < length) {
+            text.append(WORDS.charAt(offset));
+            offset = (offset + 1) % WORDS.length();
+        }
+        return text.toString().trim();
+    }
+
+    private record Response(int status, byte[] body) {
+    }
+
+    // fake.* system properties, e.g. -Dfake.latency=50ms -Dfake.error-rate=0.01 -Dfake.body-length=2000
+    public record Settings(int port, Duration latency, Duration latencyJitter, double errorRate, int posts,
+                           int commentsPerPost, int bodyLength) {
+
+        public static Settings fromSystemProperties() {
+            return new Settings(
+                Integer.getInteger("fake.port", 8089),
+                DurationStyle.detectAndParse(System.getProperty("fake.latency", "20ms")),
+                DurationStyle.detectAndParse(System.getProperty("fake.latency-jitter", "10ms")),
+                Double.parseDouble(System.getProperty("fake.error-rate", "0")),
+                Integer.getInteger("fake.posts", 100),
+                Integer.getInteger("fake.comments-per-post", 5),
+                Integer.getInteger("fake.body-length", 160));
+        }
+
+        public Settings withPort(final int newPort) {
+            return new Settings(newPort, latency, latencyJitter, errorRate, posts, commentsPerPost, bodyLength);
+        }
+    }
+}
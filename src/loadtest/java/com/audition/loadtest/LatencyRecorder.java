@@ -0,0 +1,52 @@
+package com.audition.loadtest;
+
+import java.util.Arrays;
+
+// Records the latencies of one worker without synchronization, workers are merged once the run is over.
+final class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int size;
+    private int errors;
+
+    void record(final long nanos, final boolean error) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = nanos;
+        if (error) {
+            errors++;
+        }
+    }
+
+    static EndpointResult merge(final String endpoint, final LatencyRecorder[] recorders, final double seconds) {
+        int total = 0;
+        int errors = 0;
+        for (final LatencyRecorder recorder : recorders) {
+            total += recorder.size;
+            errors += recorder.errors;
+        }
+        final long[] all = new long[total];
+        int offset = 0;
+        for (final LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.latencies, 0, all, offset, recorder.size);
+            offset += recorder.size;
+        }
+        Arrays.sort(all);
+        return new EndpointResult(endpoint, total, errors, total / seconds, percentile(all, 0.50),
+            percentile(all, 0.99), percentile(all, 0.999), total == 0 ? 0 : millis(all[total - 1]));
+    }
+
+    // nearest-rank percentile in milliseconds
+    private static double percentile(final long[] sorted, final double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final int rank = (int) Math.ceil(quantile * sorted.length);
+        return millis(sorted[Math.max(0, rank - 1)]);
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
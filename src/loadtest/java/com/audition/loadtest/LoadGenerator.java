@@ -0,0 +1,92 @@
+package com.audition.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+// A closed-loop load generator: a fixed number of workers send requests to one endpoint back to back, first for
+// the warmup, then for the measured duration. Each worker draws post ids from its own seeded random, so runs
+// with the same settings send the same request sequences. Being closed-loop it does not correct for coordinated
+// omission, compare runs with the same concurrency.
+public final class LoadGenerator {
+
+    private final URI target;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int maxPostId;
+    private final long seed;
+    private final HttpClient client;
+
+    public LoadGenerator(final URI target, final int concurrency, final Duration warmup, final Duration duration,
+        final int maxPostId, final long seed) {
+        this.target = target;
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.maxPostId = maxPostId;
+        this.seed = seed;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    }
+
+    // the path of a request for a random post id
+    public EndpointResult run(final String endpoint, final IntFunction<String> path) throws Exception {
+        final long start = System.nanoTime();
+        final long measureFrom = start + warmup.toNanos();
+        final long measureUntil = measureFrom + duration.toNanos();
+        final LatencyRecorder[] recorders = new LatencyRecorder[concurrency];
+        final List<Future<?>> workers = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                final LatencyRecorder recorder = new LatencyRecorder();
+                final SplittableRandom random = new SplittableRandom(seed + worker);
+                recorders[worker] = recorder;
+                workers.add(executor.submit(() -> {
+                    work(path, random, recorder, measureFrom, measureUntil);
+                    return null;
+                }));
+            }
+            for (final Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        return LatencyRecorder.merge(endpoint, recorders, duration.toNanos() / 1_000_000_000.0);
+    }
+
+    private void work(final IntFunction<String> path, final SplittableRandom random, final LatencyRecorder recorder,
+        final long measureFrom, final long measureUntil) throws InterruptedException {
+        long now = System.nanoTime();
+        while (now < measureUntil) {
+            final HttpRequest request = HttpRequest.newBuilder(target.resolve(path.apply(random.nextInt(maxPostId) + 1)))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+            boolean error;
+            try {
+                final HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                error = response.statusCode() >= 400;
+            } catch (IOException e) {
+                error = true;
+            }
+            final long end = System.nanoTime();
+            if (now >= measureFrom) {
+                recorder.record(end - now, error);
+            }
+            now = end;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.audition.loadtest;
+
+import com.audition.AuditionApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Runs the load against every AuditionController endpoint and reports throughput and p50/p99/p999 latencies.
+// Without -Dloadtest.target the fake upstream and the application are started in this JVM, with the application
+// pointed at the fake upstream. With it, an already running application is driven instead.
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final String target = System.getProperty("loadtest.target");
+        // the in-process fake upstream listens on an ephemeral port
+        final FakeUpstream.Settings upstreamSettings = target == null
+            ? FakeUpstream.Settings.fromSystemProperties().withPort(0) : FakeUpstream.Settings.fromSystemProperties();
+        FakeUpstream upstream = null;
+        ConfigurableApplicationContext application = null;
+        try {
+            final URI targetUri;
+            if (target == null) {
+                upstream = FakeUpstream.start(upstreamSettings);
+                application = startApplication(upstream.baseUrl());
+                targetUri = URI.create("http://localhost:" + application.getEnvironment().getProperty("local.server.port"));
+            } else {
+                targetUri = URI.create(target);
+            }
+            final LoadGenerator generator = new LoadGenerator(targetUri,
+                Integer.getInteger("loadtest.concurrency", 32),
+                duration("loadtest.warmup", "10s"),
+                duration("loadtest.duration", "30s"),
+                upstreamSettings.posts(),
+                Long.getLong("loadtest.seed", 42L));
+
+            final List<EndpointResult> results = new ArrayList<>();
+            for (final Map.Entry<String, IntFunction<String>> endpoint : selectedEndpoints().entrySet()) {
+                System.out.printf("Running %s against %s%n", endpoint.getKey(), targetUri);
+                results.add(generator.run(endpoint.getKey(), endpoint.getValue()));
+            }
+            report(results, upstreamSettings);
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+            if (upstream != null) {
+                upstream.close();
+            }
+        }
+    }
+
+    // the request path of each endpoint for a random post id
+    static Map<String, IntFunction<String>> endpoints() {
+        final Map<String, IntFunction<String>> endpoints = new LinkedHashMap<>();
+        endpoints.put("posts", id -> "/posts");
+        endpoints.put("posts-by-user", id -> "/posts?userId=" + userIdOf(id));
+        endpoints.put("posts-page", id -> "/posts?page=0&size=20&sort=title,desc&fields=id,title");
+        endpoints.put("posts-search", id -> "/posts?q=quia&userId=" + userIdOf(id));
+        endpoints.put("posts-stream", id -> "/posts/stream?userId=" + userIdOf(id));
+        endpoints.put("post", id -> "/posts/" + id);
+        endpoints.put("comments", id -> "/posts/" + id + "/comments");
+        endpoints.put("reactive-posts", id -> "/reactive/posts");
+        endpoints.put("reactive-post", id -> "/reactive/posts/" + id);
+        endpoints.put("reactive-comments", id -> "/reactive/posts/" + id + "/comments");
+        return endpoints;
+    }
+
+    private static Map<String, IntFunction<String>> selectedEndpoints() {
+        final String selection = System.getProperty("loadtest.endpoints");
+        final Map<String, IntFunction<String>> endpoints = endpoints();
+        if (selection == null || selection.isBlank()) {
+            return endpoints;
+        }
+        final Set<String> names = Arrays.stream(selection.split(",")).map(String::trim).collect(Collectors.toSet());
+        endpoints.keySet().retainAll(names);
+        return endpoints;
+    }
+
+    private static ConfigurableApplicationContext startApplication(final String upstreamBaseUrl) {
+        final List<String> args = new ArrayList<>();
+        args.add("--server.port=0");
+        args.add("--application.upstream.base-url=" + upstreamBaseUrl);
+        // e.g. -Dloadtest.app-args="--application.cache.enabled=false --application.threads.virtual.enabled=true"
+        final String extra = System.getProperty("loadtest.app-args", "");
+        if (!extra.isBlank()) {
+            args.addAll(Arrays.asList(extra.trim().split("\\s+")));
+        }
+        return SpringApplication.run(AuditionApplication.class, args.toArray(new String[0]));
+    }
+
+    private static void report(final List<EndpointResult> results, final FakeUpstream.Settings upstreamSettings)
+        throws IOException {
+        System.out.printf("%n%-18s %9s %7s %10s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s",
+            "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (final EndpointResult result : results) {
+            System.out.printf("%-18s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", result.endpoint(), result.requests(),
+                result.errors(), result.throughput(), result.p50(), result.p99(), result.p999(), result.max());
+        }
+
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("upstream", upstreamSettings);
+        report.put("settings", System.getProperties().stringPropertyNames().stream()
+            .filter(name -> name.startsWith("loadtest.") || name.startsWith("fake."))
+            .sorted()
+            .collect(Collectors.toMap(name -> name, System::getProperty, (a, b) -> a, LinkedHashMap::new)));
+        report.put("results", results);
+        final Path file = Path.of(System.getProperty("loadtest.report", "build/reports/loadtest/results.json"));
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+            .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .registerModule(new JavaTimeModule())
+            .writeValue(file.toFile(), report);
+        System.out.printf("%nReport written to %s%n", file.toAbsolutePath());
+    }
+
+    private static Duration duration(final String property, final String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+
+    private static int userIdOf(final int postId) {
+        return (postId - 1) / FakeUpstream.POSTS_PER_USER + 1;
+    }
+}
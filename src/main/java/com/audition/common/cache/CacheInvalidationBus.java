@@ -0,0 +1,102 @@
+package com.audition.common.cache;
+
+import com.audition.common.logging.AuditionLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+// Keeps the near caches of all instances consistent with the remote tier. A write or eviction is published as
+// "<instance>\n<cache>\n<key>" on one channel, every other instance then drops its near copy of that key (or all
+// keys for "*") and reads the current value from the remote tier on the next access.
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    static final String ALL_KEYS = "*";
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private final RespClient client;
+    private final String channel;
+    private final AuditionLogger logger;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, TieredCache> caches = new ConcurrentHashMap<>();
+    private final Counter received;
+    private final AtomicReference<Closeable> subscription = new AtomicReference<>();
+    private final Object lifecycleLock = new Object();
+
+    public CacheInvalidationBus(final RespClient client, final String channel, final AuditionLogger logger,
+        final MeterRegistry meterRegistry) {
+        this.client = client;
+        this.channel = channel;
+        this.logger = logger;
+        this.received = Counter.builder("audition.cache.remote.invalidations")
+            .description("Near cache invalidations received from other instances")
+            .register(meterRegistry);
+    }
+
+    void register(final TieredCache cache) {
+        caches.put(cache.getName(), cache);
+    }
+
+    void publish(final String cacheName, final String key) {
+        final String message = instanceId + "\n" + cacheName + "\n" + key;
+        try {
+            client.publish(channel, message.getBytes(StandardCharsets.UTF_8));
+        } catch (final IOException e) {
+            // the other near caches keep their copy until it expires
+            if (LOG.isWarnEnabled()) {
+                logger.warn(LOG, "Failed to publish cache invalidation: {}", e.getMessage());
+            }
+        }
+    }
+
+    void onMessage(final String ignoredChannel, final byte[] payload) {
+        final String[] parts = new String(payload, StandardCharsets.UTF_8).split("\n", 3);
+        if (parts.length != 3 || instanceId.equals(parts[0])) {
+            return;
+        }
+        final TieredCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            received.increment();
+            cache.evictNear(parts[2]);
+        }
+    }
+
+    @Override
+    public void start() {
+        synchronized (lifecycleLock) {
+            if (subscription.get() == null) {
+                subscription.set(client.subscribe(channel, this::onMessage));
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        final Closeable current = subscription.getAndSet(null);
+        if (current == null) {
+            return;
+        }
+        try {
+            current.close();
+        } catch (final IOException e) {
+            // the subscriber thread is a daemon and ends with the jvm
+            if (LOG.isDebugEnabled()) {
+                logger.debug(LOG, "Failed to close the invalidation subscription: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription.get() != null;
+    }
+}
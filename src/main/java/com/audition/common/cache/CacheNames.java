@@ -0,0 +1,15 @@
+package com.audition.common.cache;
+
+public final class CacheNames {
+
+    public static final String POSTS = "posts";
+    public static final String POST = "post";
+    public static final String COMMENTS = "comments";
+    // serialized response bytes, see SerializedResponseCache
+    public static final String RESPONSES = "responses";
+    // ids the upstream answered with a 404, see AuditionService
+    public static final String MISSING_POSTS = "missing-posts";
+
+    private CacheNames() {
+    }
+}
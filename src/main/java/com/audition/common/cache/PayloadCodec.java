@@ -0,0 +1,172 @@
+package com.audition.common.cache;
+
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Compact binary encoding of the cached values that are shared through the remote cache tier: a post, a post list
+// and a comment list. Ints are written as varints and strings as a varint length followed by UTF-8, so an encoded
+// post is little more than its text. The first byte is the format version, values written by another version
+// (e.g. during a rolling deploy) decode as null and are treated as a miss.
+public final class PayloadCodec {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final byte POST = 1;
+    private static final byte POST_LIST = 2;
+    private static final byte COMMENT_LIST = 3;
+
+    private PayloadCodec() {
+    }
+
+    // null for values of other types, they are only cached locally
+    public static byte[] encode(final Object value) {
+        final Output out = new Output();
+        out.write(FORMAT_VERSION);
+        if (value instanceof AuditionPost post) {
+            out.write(POST);
+            writePost(out, post);
+        } else if (value instanceof List<?> list && isListOf(list, AuditionPost.class)) {
+            out.write(POST_LIST);
+            out.writeVarint(list.size());
+            list.forEach(post -> writePost(out, (AuditionPost) post));
+        } else if (value instanceof List<?> list && isListOf(list, AuditionComment.class)) {
+            out.write(COMMENT_LIST);
+            writeComments(out, (List<?>) list);
+        } else {
+            return null;
+        }
+        return out.toByteArray();
+    }
+
+    public static Object decode(final byte[] bytes) {
+        try {
+            final ByteBuffer in = ByteBuffer.wrap(bytes);
+            if (in.get() != FORMAT_VERSION) {
+                return null;
+            }
+            return switch (in.get()) {
+                case POST -> readPost(in);
+                case POST_LIST -> {
+                    final int size = readVarint(in);
+                    final List<AuditionPost> posts = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        posts.add(readPost(in));
+                    }
+                    yield List.copyOf(posts);
+                }
+                case COMMENT_LIST -> readComments(in);
+                default -> null;
+            };
+        } catch (final BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // an empty list is encoded as a comment list, it decodes as an empty list either way
+    private static boolean isListOf(final List<?> list, final Class<?> type) {
+        for (final Object element : list) {
+            if (!type.isInstance(element)) {
+                return false;
+            }
+        }
+        return type == AuditionComment.class || !list.isEmpty();
+    }
+
+    private static void writePost(final Output out, final AuditionPost post) {
+        out.writeVarint(post.getUserId());
+        out.writeVarint(post.getId());
+        out.writeString(post.getTitle());
+        out.writeString(post.getBody());
+        if (post.getComments() == null) {
+            out.write((byte) 0);
+        } else {
+            out.write((byte) 1);
+            writeComments(out, post.getComments());
+        }
+    }
+
+    private static AuditionPost readPost(final ByteBuffer in) {
+        return new AuditionPost(readVarint(in), readVarint(in), readString(in), readString(in),
+            in.get() == 0 ? null : readComments(in));
+    }
+
+    private static void writeComments(final Output out, final List<?> comments) {
+        out.writeVarint(comments.size());
+        for (final Object element : comments) {
+            final AuditionComment comment = (AuditionComment) element;
+            out.writeVarint(comment.getPostId());
+            out.writeVarint(comment.getId());
+            out.writeString(comment.getName());
+            out.writeString(comment.getEmail());
+            out.writeString(comment.getBody());
+        }
+    }
+
+    private static List<AuditionComment> readComments(final ByteBuffer in) {
+        final int size = readVarint(in);
+        final List<AuditionComment> comments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            comments.add(new AuditionComment(readVarint(in), readVarint(in), readString(in), readString(in),
+                readString(in)));
+        }
+        return List.copyOf(comments);
+    }
+
+    private static int readVarint(final ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            final byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    // length + 1, so that 0 stands for null
+    private static String readString(final ByteBuffer in) {
+        final int length = readVarint(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Output extends ByteArrayOutputStream {
+
+        private Output() {
+            super(256);
+        }
+
+        void write(final byte value) {
+            super.write(value);
+        }
+
+        void writeVarint(final int value) {
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                super.write((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            super.write(remaining);
+        }
+
+        void writeString(final String value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length + 1);
+            super.write(bytes, 0, bytes.length);
+        }
+    }
+}
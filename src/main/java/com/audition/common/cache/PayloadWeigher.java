@@ -0,0 +1,48 @@
+package com.audition.common.cache;
+
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import com.github.benmanes.caffeine.cache.Weigher;
+import java.util.Collection;
+
+// Approximates the retained heap size of cached values in bytes so that caches can be bounded by memory
+// rather than by entry count. A single "posts" entry holds the whole collection while a "post" entry holds one item.
+public class PayloadWeigher implements Weigher<Object, Object> {
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 8;
+    private static final int STRING_OVERHEAD = 40;
+    private static final int POST_SHALLOW = OBJECT_HEADER + 2 * Integer.BYTES + 3 * REFERENCE;
+    private static final int COMMENT_SHALLOW = OBJECT_HEADER + 2 * Integer.BYTES + 3 * REFERENCE;
+    private static final int ARRAY_HEADER = 16;
+    private static final int PAYLOAD_SHALLOW = OBJECT_HEADER + 3 * REFERENCE + 2 * ARRAY_HEADER;
+
+    @Override
+    public int weigh(final Object key, final Object value) {
+        final long weight = estimate(value);
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, weight));
+    }
+
+    public static long estimate(final Object value) {
+        if (value instanceof AuditionPost post) {
+            return POST_SHALLOW + sizeOf(post.getTitle()) + sizeOf(post.getBody()) + estimate(post.getComments());
+        } else if (value instanceof AuditionComment comment) {
+            return COMMENT_SHALLOW + sizeOf(comment.getName()) + sizeOf(comment.getEmail())
+                + sizeOf(comment.getBody());
+        } else if (value instanceof SerializedPayload payload) {
+            return PAYLOAD_SHALLOW + sizeOf(payload.entityTag()) + payload.size();
+        } else if (value instanceof Collection<?> collection) {
+            long size = OBJECT_HEADER + (long) REFERENCE * collection.size();
+            for (final Object element : collection) {
+                size += estimate(element);
+            }
+            return size;
+        }
+        return value == null ? 0 : OBJECT_HEADER;
+    }
+
+    private static long sizeOf(final String value) {
+        // compact strings store latin-1 content with one byte per character
+        return value == null ? 0 : STRING_OVERHEAD + value.length();
+    }
+}
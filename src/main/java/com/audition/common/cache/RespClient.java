@@ -0,0 +1,340 @@
+package com.audition.common.cache;
+
+import com.audition.common.logging.AuditionLogger;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// A minimal client for servers speaking the redis protocol (RESP 2), covering what the remote cache tier needs:
+// GET, SET with expiry and NX, DEL, PUBLISH and SUBSCRIBE. Commands run on a small pool of blocking connections:
+// at most that many are open at a time, a command waits up to the timeout for one, and a connection that fails is
+// closed and replaced on the next command.
+public class RespClient implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RespClient.class);
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final String host;
+    private final int port;
+    private final int timeoutMillis;
+    private final int keepaliveMillis;
+    private final Semaphore permits;
+    private final BlockingQueue<Connection> idle;
+    private final AuditionLogger logger;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    public RespClient(final String host, final int port, final Duration timeout, final int connections,
+        final Duration keepalive, final AuditionLogger logger) {
+        this.host = host;
+        this.port = port;
+        this.timeoutMillis = (int) timeout.toMillis();
+        this.keepaliveMillis = (int) keepalive.toMillis();
+        this.permits = new Semaphore(connections);
+        this.idle = new ArrayBlockingQueue<>(connections);
+        this.logger = logger;
+    }
+
+    public byte[] get(final String key) throws IOException {
+        return (byte[]) command(bytes("GET"), bytes(key));
+    }
+
+    public void set(final String key, final byte[] value, final Duration ttl) throws IOException {
+        command(bytes("SET"), bytes(key), value, bytes("PX"), bytes(Long.toString(ttl.toMillis())));
+    }
+
+    // true when the key did not exist and is now set
+    public boolean setIfAbsent(final String key, final byte[] value, final Duration ttl) throws IOException {
+        return command(bytes("SET"), bytes(key), value, bytes("NX"), bytes("PX"),
+            bytes(Long.toString(ttl.toMillis()))) != null;
+    }
+
+    public void delete(final String key) throws IOException {
+        command(bytes("DEL"), bytes(key));
+    }
+
+    public void publish(final String channel, final byte[] message) throws IOException {
+        command(bytes("PUBLISH"), bytes(channel), message);
+    }
+
+    // Listens on a dedicated connection until the subscription is closed, handing every message to the listener on
+    // a daemon thread. A channel quiet for the keepalive interval is probed with a PING, and a connection that does
+    // not answer it or fails is re-established after a pause, messages sent meanwhile are lost. A listener that
+    // throws only loses its message.
+    public Closeable subscribe(final String channel, final BiConsumer<String, byte[]> listener) {
+        final Subscription subscription = new Subscription(channel, listener);
+        Thread.ofPlatform().name("resp-subscriber").daemon().start(subscription);
+        return subscription;
+    }
+
+    @Override
+    public void close() {
+        closed.set(true);
+        for (Connection connection = idle.poll(); connection != null; connection = idle.poll()) {
+            connection.close();
+        }
+    }
+
+    private Object command(final byte[]... args) throws IOException {
+        if (closed.get()) {
+            throw new IOException("Client is closed");
+        }
+        acquirePermit();
+        try {
+            return send(args);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquirePermit() throws IOException {
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IOException("No connection available within " + timeoutMillis + "ms");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            final InterruptedIOException interrupted = new InterruptedIOException("Interrupted waiting for a connection");
+            interrupted.initCause(e);
+            throw interrupted;
+        }
+    }
+
+    // called with a permit held, so that at most as many connections as permits are open
+    private Object send(final byte[]... args) throws IOException {
+        final Connection pooled = idle.poll();
+        final Connection connection = pooled == null ? new Connection() : pooled;
+        final Object reply;
+        try {
+            reply = connection.send(args);
+        } catch (final IOException e) {
+            connection.close();
+            throw e;
+        }
+        if (closed.get() || !idle.offer(connection)) {
+            connection.close();
+        }
+        return reply;
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private final class Connection implements Closeable {
+
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+
+        private Connection() throws IOException {
+            socket = new Socket();
+            try {
+                socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+                socket.setSoTimeout(timeoutMillis);
+                socket.setTcpNoDelay(true);
+                in = new BufferedInputStream(socket.getInputStream());
+                out = new BufferedOutputStream(socket.getOutputStream());
+            } catch (final IOException e) {
+                socket.close();
+                throw e;
+            }
+        }
+
+        Object send(final byte[]... args) throws IOException {
+            write(args);
+            return read();
+        }
+
+        void write(final byte[]... args) throws IOException {
+            out.write('*');
+            out.write(bytes(Integer.toString(args.length)));
+            out.write(CRLF);
+            for (final byte[] arg : args) {
+                out.write('$');
+                out.write(bytes(Integer.toString(arg.length)));
+                out.write(CRLF);
+                out.write(arg);
+                out.write(CRLF);
+            }
+            out.flush();
+        }
+
+        Object read() throws IOException {
+            final int type = in.read();
+            final String line = readLine();
+            switch (type) {
+                case '+':
+                    return line;
+                case '-':
+                    throw new IOException("Server error: " + line);
+                case ':':
+                    return parseNumber(line);
+                case '$': {
+                    final int length = (int) parseNumber(line);
+                    if (length < 0) {
+                        return null;
+                    }
+                    final byte[] value = in.readNBytes(length);
+                    if (value.length < length || in.read() != '\r' || in.read() != '\n') {
+                        throw new EOFException("Truncated reply");
+                    }
+                    return value;
+                }
+                case '*': {
+                    final int count = (int) parseNumber(line);
+                    if (count < 0) {
+                        return null;
+                    }
+                    final List<Object> elements = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        elements.add(read());
+                    }
+                    return elements;
+                }
+                default:
+                    throw new IOException("Unexpected reply type " + type);
+            }
+        }
+
+        // a malformed number is a protocol error like any other, the connection is dropped
+        private long parseNumber(final String line) throws IOException {
+            try {
+                return Long.parseLong(line);
+            } catch (final NumberFormatException e) {
+                throw new IOException("Malformed number in reply: " + line, e);
+            }
+        }
+
+        private String readLine() throws IOException {
+            final StringBuilder line = new StringBuilder();
+            for (int c = in.read(); c != '\r'; c = in.read()) {
+                if (c < 0) {
+                    throw new EOFException("Connection closed");
+                }
+                line.append((char) c);
+            }
+            if (in.read() != '\n') {
+                throw new IOException("Malformed reply");
+            }
+            return line.toString();
+        }
+
+        void setReadTimeout(final int millis) throws IOException {
+            socket.setSoTimeout(millis);
+        }
+
+        @Override
+        public void close() {
+            try {
+                socket.close();
+            } catch (final IOException e) {
+                if (LOG.isDebugEnabled()) {
+                    logger.debug(LOG, "Failed to close a connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private final class Subscription implements Runnable, Closeable {
+
+        private static final long RECONNECT_PAUSE_MILLIS = 1000;
+        private static final int MESSAGE_PARTS = 3;
+
+        private final String channel;
+        private final BiConsumer<String, byte[]> listener;
+        private final AtomicBoolean active = new AtomicBoolean(true);
+        private final AtomicReference<Connection> current = new AtomicReference<>();
+
+        private Subscription(final String channel, final BiConsumer<String, byte[]> listener) {
+            this.channel = channel;
+            this.listener = listener;
+        }
+
+        @Override
+        public void run() {
+            while (active.get() && !closed.get()) {
+                try (Connection connection = new Connection()) {
+                    current.set(connection);
+                    connection.send(bytes("SUBSCRIBE"), bytes(channel));
+                    // pushed messages arrive at any time, a read only times out on a channel quiet for a while
+                    connection.setReadTimeout(keepaliveMillis);
+                    listen(connection);
+                } catch (final IOException e) {
+                    pause();
+                }
+            }
+        }
+
+        private void listen(final Connection subscribed) throws IOException {
+            boolean pinged = false;
+            while (active.get()) {
+                try {
+                    if (subscribed.read() instanceof List<?> message && message.size() == MESSAGE_PARTS
+                        && message.get(2) instanceof byte[] payload) {
+                        deliver(payload);
+                    }
+                    pinged = false;
+                } catch (final SocketTimeoutException e) {
+                    // nothing arrived within the keepalive interval, a live server answers the PING in time
+                    if (pinged) {
+                        throw e;
+                    }
+                    subscribed.write(bytes("PING"));
+                    pinged = true;
+                }
+            }
+        }
+
+        private void deliver(final byte[] payload) {
+            try {
+                listener.accept(channel, payload);
+            } catch (final RuntimeException e) {
+                if (LOG.isWarnEnabled()) {
+                    logger.warn(LOG, "Failed to handle a message on {}: {}", channel, e.toString());
+                }
+            }
+        }
+
+        private void pause() {
+            if (!active.get()) {
+                return;
+            }
+            try {
+                Thread.sleep(RECONNECT_PAUSE_MILLIS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                active.set(false);
+            }
+        }
+
+        @Override
+        public void close() {
+            active.set(false);
+            final Connection connection = current.get();
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.audition.common.cache;
+
+// The serialized json of a response and, once a client has accepted gzip, its gzip encoding. The entity tag of the
+// content it was serialized from tells whether it is still current.
+public record SerializedPayload(String entityTag, byte[] json, byte[] gzip) {
+
+    public SerializedPayload withGzip(final byte[] compressed) {
+        return new SerializedPayload(entityTag, json, compressed);
+    }
+
+    public long size() {
+        return json.length + (gzip == null ? 0L : gzip.length);
+    }
+}
@@ -0,0 +1,38 @@
+package com.audition.common.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+// Marks the current request as answered from stale values, see StaleServingCache. When a request reads several
+// stale values the oldest age is kept, and a failed revalidation outweighs a pending one.
+public record StaleResponse(Duration age, boolean revalidationFailed) {
+
+    private static final String ATTRIBUTE = StaleResponse.class.getName();
+
+    // reads outside of a request (background loads, batch lanes) are not marked
+    public static void mark(final Duration age, final boolean revalidationFailed) {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        final StaleResponse previous = (StaleResponse) attributes.getAttribute(ATTRIBUTE,
+            RequestAttributes.SCOPE_REQUEST);
+        final StaleResponse marked = previous == null ? new StaleResponse(age, revalidationFailed)
+            : new StaleResponse(previous.age().compareTo(age) > 0 ? previous.age() : age,
+                previous.revalidationFailed() || revalidationFailed);
+        attributes.setAttribute(ATTRIBUTE, marked, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    public static Optional<StaleResponse> current() {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return Optional.ofNullable(attributes == null ? null
+            : (StaleResponse) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    // the warn-codes of RFC 7234, 110 while a reload is pending and 111 when the upstream could not be reached
+    public String warning() {
+        return revalidationFailed ? "111 - \"Revalidation Failed\"" : "110 - \"Response is Stale\"";
+    }
+}
@@ -0,0 +1,208 @@
+package com.audition.common.cache;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.CacheProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.CacheOperationInvoker;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+// Keeps the last known good value of every entry of a cache for a while after it expired there. A load of an
+// entry that expired less than while-revalidate ago is answered with the old value at once and reloaded in the
+// background, and a load that fails because the upstream is down (5xx, timeout or a shed call) is answered with
+// a value that expired less than if-error ago. Stale answers are never written back to the cache, and the
+// current request is marked through StaleResponse so that the response carries Age and Warning headers.
+public class StaleServingCache implements Cache {
+
+    private static final String SERVED_METRIC = "audition.cache.stale.served";
+    private static final String REVALIDATION_METRIC = "audition.cache.stale.revalidations";
+
+    private final Cache delegate;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Stamped> lastKnownGood;
+    private final long ttlNanos;
+    private final long whileRevalidateNanos;
+    private final long ifErrorNanos;
+    private final Executor executor;
+    private final Set<Object> revalidating = ConcurrentHashMap.newKeySet();
+    private final Counter servedRevalidating;
+    private final Counter servedOnError;
+    private final Counter revalidated;
+    private final Counter revalidationFailed;
+    private final Counter revalidationSkipped;
+
+    public StaleServingCache(final Cache delegate, final Duration ttl, final long maximumWeight,
+        final CacheProperties.Stale settings, final Executor executor, final MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.ttlNanos = ttl.toNanos();
+        this.whileRevalidateNanos = settings.getWhileRevalidate().toNanos();
+        this.ifErrorNanos = settings.getIfError().toNanos();
+        this.executor = executor;
+        // the values are shared with the cache, so the extra memory is mostly that of entries which expired there
+        final PayloadWeigher weigher = new PayloadWeigher();
+        this.lastKnownGood = Caffeine.newBuilder()
+            .expireAfterWrite(ttl.plus(settings.getWhileRevalidate().compareTo(settings.getIfError()) > 0
+                ? settings.getWhileRevalidate() : settings.getIfError()))
+            .maximumWeight(maximumWeight)
+            .<Object, Stamped>weigher((key, stamped) -> weigher.weigh(key, stamped.value()))
+            .build();
+        this.servedRevalidating = counter(meterRegistry, SERVED_METRIC, "Stale values served in place of a load",
+            "reason", "revalidating");
+        this.servedOnError = counter(meterRegistry, SERVED_METRIC, "Stale values served in place of a load",
+            "reason", "upstream-error");
+        this.revalidated = counter(meterRegistry, REVALIDATION_METRIC, "Background reloads of stale values",
+            "result", "success");
+        this.revalidationFailed = counter(meterRegistry, REVALIDATION_METRIC, "Background reloads of stale values",
+            "result", "failure");
+        this.revalidationSkipped = counter(meterRegistry, REVALIDATION_METRIC, "Background reloads of stale values",
+            "result", "skipped");
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(final Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(final Object key, final Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        final ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            // the value may have been put or loaded through the wrapped cache alone, such as from the remote tier
+            rememberIfNew(key, cached.get());
+            return (T) cached.get();
+        }
+        final Stamped stale = lastKnownGood.getIfPresent(key);
+        final long age = stale == null ? 0 : System.nanoTime() - stale.storedAt();
+        if (stale != null && age < ttlNanos) {
+            // evicted from the cache by size while still fresh
+            return (T) stale.value();
+        }
+        if (stale != null && age - ttlNanos < whileRevalidateNanos) {
+            revalidate(key, valueLoader);
+            servedRevalidating.increment();
+            StaleResponse.mark(Duration.ofNanos(age), false);
+            return (T) stale.value();
+        }
+        try {
+            final T value = delegate.get(key, valueLoader);
+            remember(key, value);
+            return value;
+        } catch (final RuntimeException e) {
+            if (stale == null || age - ttlNanos >= ifErrorNanos || !isUpstreamFailure(e)) {
+                throw e;
+            }
+            servedOnError.increment();
+            StaleResponse.mark(Duration.ofNanos(age), true);
+            return (T) stale.value();
+        }
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        delegate.put(key, value);
+        remember(key, value);
+    }
+
+    @Override
+    public void evict(final Object key) {
+        delegate.evict(key);
+        lastKnownGood.invalidate(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        lastKnownGood.invalidateAll();
+    }
+
+    // One reload per key at a time, the loader invokes the cached method again with the original arguments. The
+    // reload is a load through the wrapped cache rather than a put, so a tiered cache coalesces it across the fleet
+    // and does not broadcast an invalidation for it.
+    private void revalidate(final Object key, final Callable<?> valueLoader) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    remember(key, delegate.get(key, valueLoader));
+                    revalidated.increment();
+                } catch (final Exception e) {
+                    // the stale value stays in place until if-error runs out
+                    revalidationFailed.increment();
+                } finally {
+                    revalidating.remove(key);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            // the executor is saturated, a later read of the key tries again
+            revalidating.remove(key);
+            revalidationSkipped.increment();
+        }
+    }
+
+    // keeps the stamp of a value already known, so that its age counts from when it was loaded
+    private void rememberIfNew(final Object key, final Object value) {
+        final Stamped known = lastKnownGood.getIfPresent(key);
+        if (known == null || known.value() != value) {
+            remember(key, value);
+        }
+    }
+
+    private void remember(final Object key, final Object value) {
+        if (value != null) {
+            lastKnownGood.put(key, new Stamped(value, System.nanoTime()));
+        }
+    }
+
+    // an upstream that answers with a 4xx is up, its answer is passed on
+    private static boolean isUpstreamFailure(final RuntimeException e) {
+        Throwable failure = e;
+        if (failure instanceof ValueRetrievalException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        if (failure instanceof CacheOperationInvoker.ThrowableWrapper wrapper) {
+            failure = wrapper.getOriginal();
+        }
+        if (failure instanceof SystemException systemException) {
+            return systemException.getStatusCode() != null && systemException.getStatusCode() >= 500;
+        }
+        return failure instanceof HttpServerErrorException || failure instanceof ResourceAccessException;
+    }
+
+    private Counter counter(final MeterRegistry meterRegistry, final String name, final String description,
+        final String tag, final String value) {
+        return Counter.builder(name)
+            .description(description)
+            .tag("cache", delegate.getName())
+            .tag(tag, value)
+            .register(meterRegistry);
+    }
+
+    private record Stamped(Object value, long storedAt) {
+    }
+}
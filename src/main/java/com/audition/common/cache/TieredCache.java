@@ -0,0 +1,290 @@
+package com.audition.common.cache;
+
+import com.audition.configuration.CacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+// A local caffeine cache (the near cache) in front of a remote cache shared by all instances. A near miss is read
+// from the remote tier, and a value that is missing there too is loaded by one instance of the fleet: the loader
+// takes a short-lived lock key with SET NX, the others poll the remote tier until the value appears. A waiting
+// instance takes the lock over once it is released without a value, e.g. because the load failed. Writes and
+// evictions are published on the CacheInvalidationBus so that other near caches drop their copy. The near cache
+// is keyed by the string form of the keys, the form they are published in, so a received invalidation is a
+// single eviction. The remote tier is best effort, when it fails or is slow the cache behaves like the near cache
+// alone.
+public class TieredCache implements Cache {
+
+    private static final String METRIC_NAME = "audition.cache.remote.requests";
+    // after a remote error the remote tier is skipped for a while instead of paying the timeout on every access
+    private static final long RETRY_AFTER_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final CaffeineCache near;
+    private final RespClient client;
+    private final CacheInvalidationBus bus;
+    private final Duration ttl;
+    private final CacheProperties.Remote settings;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter errors;
+    // loads of this instance in flight, by near key, which concurrent misses of the same key wait for
+    private final ConcurrentMap<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong unavailableUntil = new AtomicLong(System.nanoTime());
+
+    public TieredCache(final CaffeineCache near, final Duration ttl, final RespClient client,
+        final CacheInvalidationBus bus, final CacheProperties.Remote settings, final MeterRegistry meterRegistry) {
+        this.near = near;
+        this.ttl = ttl;
+        this.client = client;
+        this.bus = bus;
+        this.settings = settings;
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.errors = counter(meterRegistry, "error");
+        bus.register(this);
+    }
+
+    @Override
+    public String getName() {
+        return near.getName();
+    }
+
+    @Override
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache() {
+        return near.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(final Object key) {
+        final ValueWrapper cached = near.get(nearKey(key));
+        if (cached != null) {
+            return cached;
+        }
+        final Object remote = remoteGet(key);
+        if (remote == null) {
+            return null;
+        }
+        near.put(nearKey(key), remote);
+        return new SimpleValueWrapper(remote);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Class<T> type) {
+        final ValueWrapper wrapper = get(key);
+        final Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: "
+                + value);
+        }
+        return (T) value;
+    }
+
+    // Concurrent misses of one instance are coalesced by the in-flight loads, those of the fleet by the lock key.
+    // The load runs outside of the near cache, whose compute would keep other keys of the same hash bin locked
+    // while the remote lock is waited for.
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        final String nearKey = nearKey(key);
+        final ValueWrapper cached = near.get(nearKey);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        final CompletableFuture<Object> candidate = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = loading.putIfAbsent(nearKey, candidate);
+        if (existing != null) {
+            return (T) await(existing);
+        }
+        try {
+            final Object value = loadShared(key, valueLoader);
+            if (value != null) {
+                near.put(nearKey, value);
+            }
+            candidate.complete(value);
+            return (T) value;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failed(candidate, new ValueRetrievalException(key, valueLoader, e));
+        } catch (final ValueRetrievalException e) {
+            throw failed(candidate, e);
+        } catch (final Exception e) {
+            throw failed(candidate, new ValueRetrievalException(key, valueLoader, e));
+        } finally {
+            loading.remove(nearKey, candidate);
+        }
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        near.put(nearKey(key), value);
+        remotePut(key, value);
+        bus.publish(getName(), nearKey(key));
+    }
+
+    @Override
+    public void evict(final Object key) {
+        near.evict(nearKey(key));
+        if (isAvailable()) {
+            try {
+                client.delete(remoteKey(key));
+            } catch (final IOException e) {
+                markUnavailable();
+            }
+        }
+        bus.publish(getName(), nearKey(key));
+    }
+
+    // remote entries are left to expire, deleting them would need a scan of the key space
+    @Override
+    public void clear() {
+        near.clear();
+        bus.publish(getName(), CacheInvalidationBus.ALL_KEYS);
+    }
+
+    // drops the near copy after a write or eviction on another instance, keys arrive in their string form
+    void evictNear(final String key) {
+        if (CacheInvalidationBus.ALL_KEYS.equals(key)) {
+            near.clear();
+        } else {
+            near.evict(key);
+        }
+    }
+
+    // the waiters get the error of the load as well
+    private static ValueRetrievalException failed(final CompletableFuture<Object> candidate,
+        final ValueRetrievalException failure) {
+        candidate.completeExceptionally(failure);
+        return failure;
+    }
+
+    private static Object await(final CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Object loadShared(final Object key, final Callable<?> valueLoader) throws Exception {
+        final Object remote = remoteGet(key);
+        if (remote != null) {
+            return remote;
+        }
+        final String lockKey = remoteKey(key) + ":lock";
+        boolean owner = tryLock(lockKey);
+        // polls for the value of the owner, and retries the lock so that a released one is taken over at once
+        // instead of after the lock timeout. The value is read after the lock, since an owner stores it before
+        // releasing the lock.
+        final long deadline = System.nanoTime() + settings.getLockTimeout().toNanos();
+        while (!owner && System.nanoTime() < deadline) {
+            Thread.sleep(settings.getPollInterval().toMillis());
+            owner = tryLock(lockKey);
+            final Object loadedElsewhere = remoteGet(key);
+            if (loadedElsewhere != null) {
+                if (owner) {
+                    unlock(lockKey);
+                }
+                return loadedElsewhere;
+            }
+        }
+        try {
+            final Object value = valueLoader.call();
+            remotePut(key, value);
+            return value;
+        } finally {
+            if (owner) {
+                // a plain DEL, a lock that already expired and was taken over only costs one extra load
+                unlock(lockKey);
+            }
+        }
+    }
+
+    private boolean tryLock(final String lockKey) {
+        if (!isAvailable()) {
+            return true;
+        }
+        try {
+            return client.setIfAbsent(lockKey, new byte[] {1}, settings.getLockTimeout());
+        } catch (final IOException e) {
+            markUnavailable();
+            return true;
+        }
+    }
+
+    private void unlock(final String lockKey) {
+        if (!isAvailable()) {
+            return;
+        }
+        try {
+            client.delete(lockKey);
+        } catch (final IOException e) {
+            markUnavailable();
+        }
+    }
+
+    private Object remoteGet(final Object key) {
+        if (!isAvailable()) {
+            return null;
+        }
+        try {
+            final byte[] bytes = client.get(remoteKey(key));
+            final Object value = bytes == null ? null : PayloadCodec.decode(bytes);
+            (value == null ? misses : hits).increment();
+            return value;
+        } catch (final IOException e) {
+            markUnavailable();
+            return null;
+        }
+    }
+
+    private void remotePut(final Object key, final Object value) {
+        final byte[] bytes = value == null ? null : PayloadCodec.encode(value);
+        if (bytes == null || !isAvailable()) {
+            return;
+        }
+        try {
+            client.set(remoteKey(key), bytes, ttl);
+        } catch (final IOException e) {
+            markUnavailable();
+        }
+    }
+
+    private String remoteKey(final Object key) {
+        return settings.getKeyPrefix() + getName() + ":" + key;
+    }
+
+    private static String nearKey(final Object key) {
+        return String.valueOf(key);
+    }
+
+    private boolean isAvailable() {
+        return System.nanoTime() - unavailableUntil.get() >= 0;
+    }
+
+    private void markUnavailable() {
+        errors.increment();
+        unavailableUntil.set(System.nanoTime() + RETRY_AFTER_NANOS);
+    }
+
+    private Counter counter(final MeterRegistry meterRegistry, final String result) {
+        return Counter.builder(METRIC_NAME)
+            .description("Reads of the remote cache tier")
+            .tag("cache", near.getName())
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
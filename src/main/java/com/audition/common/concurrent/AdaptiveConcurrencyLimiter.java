@@ -0,0 +1,70 @@
+package com.audition.common.concurrent;
+
+import java.time.Duration;
+
+// Additive-increase/multiplicative-decrease limit on concurrent calls. The limit grows by about one for every limit
+// calls that complete within the latency threshold, and is multiplied by the backoff ratio when a call fails or is
+// slower than the threshold. Calls over the limit are rejected instead of queued, so a degraded upstream sheds load
+// rather than tying up request threads.
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(final int initialLimit, final int minLimit, final int maxLimit,
+        final double backoffRatio, final Duration latencyThreshold) {
+        if (minLimit < 1 || maxLimit < minLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid concurrency limits");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    // the call completed, a slow call is treated like a failure
+    public synchronized void onSuccess(final long latencyNanos) {
+        inFlight--;
+        if (latencyNanos > latencyThresholdNanos) {
+            backOff();
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    // the call failed with an upstream error (5xx, timeout, connection failure)
+    public synchronized void onDropped() {
+        inFlight--;
+        backOff();
+    }
+
+    // the call did not reach the upstream, the limit is left as is
+    public synchronized void onIgnored() {
+        inFlight--;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private void backOff() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+}
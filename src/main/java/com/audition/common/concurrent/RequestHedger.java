@@ -0,0 +1,171 @@
+package com.audition.common.concurrent;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.ExecutorConfiguration;
+import com.audition.configuration.UpstreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+// Hedges idempotent upstream calls. The call runs on the hedge executor and, when it has not answered within a
+// percentile of the endpoint's recent latencies, an identical call is started next to it and the first successful
+// answer wins. Hedges are paid from a budget that grows by budget-ratio with every call, which caps the extra load
+// on the upstream. The losing call is not aborted, its answer is discarded.
+@Component
+public class RequestHedger {
+
+    private static final String METRIC_PREFIX = "audition.upstream.hedges.";
+    // the budget never holds more than this many hedges, so a quiet period cannot be followed by a hedge burst
+    private static final double MAX_BUDGET = 10;
+
+    private final transient UpstreamProperties.Hedging settings;
+    private final transient Executor executor;
+    private final transient MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private double budget;
+
+    public RequestHedger(final UpstreamProperties properties,
+        @Qualifier(ExecutorConfiguration.HEDGE_EXECUTOR) final Executor executor, final MeterRegistry meterRegistry) {
+        this.settings = properties.getHedging();
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T execute(final String endpoint, final Supplier<T> call) {
+        if (!settings.isEnabled()) {
+            return call.get();
+        }
+        final LatencyWindow window = latencies.computeIfAbsent(endpoint, key -> new LatencyWindow());
+        deposit();
+
+        final long start = System.nanoTime();
+        final CompletableFuture<T> primary = CompletableFuture.supplyAsync(call, executor);
+        // every answer of the first call is recorded, including slow ones that lose to a hedge
+        primary.thenRun(() -> window.record(System.nanoTime() - start));
+        try {
+            return primary.get(hedgeDelayNanos(window), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            if (!withdraw()) {
+                return join(primary);
+            }
+        } catch (final ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SystemException("Interrupted while waiting for the " + endpoint + " upstream", e);
+        }
+
+        counter("sent", endpoint).increment();
+        final CompletableFuture<T> hedge = CompletableFuture.supplyAsync(call, executor);
+        final CompletableFuture<T> winner = new CompletableFuture<>();
+        final AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((value, error) -> complete(winner, value, error, failures));
+        hedge.whenComplete((value, error) -> {
+            if (complete(winner, value, error, failures)) {
+                counter("won", endpoint).increment();
+            }
+        });
+        return join(winner);
+    }
+
+    // the first successful answer completes the winner, an error only once both calls have failed
+    private static <T> boolean complete(final CompletableFuture<T> winner, final T value, final Throwable error,
+        final AtomicInteger failures) {
+        if (error == null) {
+            return winner.complete(value);
+        }
+        if (failures.incrementAndGet() == 2) {
+            winner.completeExceptionally(error);
+        }
+        return false;
+    }
+
+    private long hedgeDelayNanos(final LatencyWindow window) {
+        final long delay = window.percentile(settings.getPercentile(), settings.getInitialDelay().toNanos());
+        return Math.max(settings.getMinDelay().toNanos(), Math.min(settings.getMaxDelay().toNanos(), delay));
+    }
+
+    private synchronized void deposit() {
+        budget = Math.min(MAX_BUDGET, budget + settings.getBudgetRatio());
+    }
+
+    private synchronized boolean withdraw() {
+        if (budget < 1) {
+            return false;
+        }
+        budget--;
+        return true;
+    }
+
+    private Counter counter(final String name, final String endpoint) {
+        return Counter.builder(METRIC_PREFIX + name)
+            .description("sent".equals(name) ? "Hedged upstream requests sent" : "Hedged upstream requests that won")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry);
+    }
+
+    private static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    // rethrow the call's own exception so that callers keep their existing error handling
+    private static RuntimeException rethrow(final Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        } else if (cause instanceof Error error) {
+            throw error;
+        }
+        return new CompletionException(cause);
+    }
+
+    // Recent latencies of one endpoint in a ring buffer. The percentile is recomputed every REFRESH_INTERVAL
+    // records, so most calls only read a cached value.
+    static final class LatencyWindow {
+
+        private static final int SIZE = 512;
+        private static final int REFRESH_INTERVAL = 64;
+
+        private final long[] samples = new long[SIZE];
+        private int count;
+        private double cachedPercentile;
+        private long cachedValue = -1;
+
+        synchronized void record(final long latencyNanos) {
+            samples[count % SIZE] = latencyNanos;
+            count++;
+            if (count % REFRESH_INTERVAL == 0) {
+                cachedValue = -1;
+            }
+        }
+
+        synchronized long percentile(final double percentile, final long fallback) {
+            if (count < REFRESH_INTERVAL) {
+                return fallback;
+            }
+            if (cachedValue < 0 || cachedPercentile != percentile) {
+                final long[] sorted = Arrays.copyOf(samples, Math.min(count, SIZE));
+                Arrays.sort(sorted);
+                final int rank = (int) Math.ceil(percentile * sorted.length) - 1;
+                cachedValue = sorted[Math.max(0, Math.min(sorted.length - 1, rank))];
+                cachedPercentile = percentile;
+            }
+            return cachedValue;
+        }
+    }
+}
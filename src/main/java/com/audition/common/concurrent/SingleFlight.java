@@ -0,0 +1,69 @@
+package com.audition.common.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+// Collapses concurrent calls for the same key into a single execution. The first caller (the leader) runs the
+// loader on its own thread, callers arriving while it is in flight wait for and share its result or its error.
+@Component
+public class SingleFlight {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final transient Counter executions;
+    private final transient Counter coalesced;
+
+    public SingleFlight(final MeterRegistry meterRegistry) {
+        this.executions = Counter.builder("audition.upstream.singleflight.executions")
+            .description("Upstream fetches executed by a single-flight leader")
+            .register(meterRegistry);
+        this.coalesced = Counter.builder("audition.upstream.singleflight.coalesced")
+            .description("Upstream fetches that joined an identical in-flight fetch instead of issuing their own")
+            .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(final String key, final Supplier<T> loader) {
+        final CompletableFuture<Object> candidate = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = inFlight.putIfAbsent(key, candidate);
+        if (existing != null) {
+            coalesced.increment();
+            return (T) await(existing);
+        }
+
+        executions.increment();
+        try {
+            final T result = loader.get();
+            candidate.complete(result);
+            return result;
+        } catch (final RuntimeException | Error e) {
+            candidate.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, candidate);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static Object await(final CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            // rethrow the leader's original exception so that callers keep their existing error handling
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            } else if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
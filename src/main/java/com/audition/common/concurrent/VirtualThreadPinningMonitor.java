@@ -0,0 +1,54 @@
+package com.audition.common.concurrent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.context.SmartLifecycle;
+
+// Streams the JFR jdk.VirtualThreadPinned event in-process and records every pinning of a carrier thread
+// (a virtual thread blocking inside a synchronized block or native frame) as a timer sample.
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final transient Timer pinned;
+    private final transient Duration threshold;
+    private transient RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(final MeterRegistry meterRegistry, final Duration threshold) {
+        this.threshold = threshold;
+        this.pinned = Timer.builder("audition.threads.virtual.pinned")
+            .description("Periods during which a virtual thread was pinned to its carrier thread")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold);
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    private void record(final RecordedEvent event) {
+        pinned.record(event.getDuration());
+    }
+}
@@ -59,4 +59,18 @@ public class SystemException extends RuntimeException {
         this.title = title;
         this.detail = detail;
     }
+
+    private SystemException(final String detail, final String title, final Integer errorCode,
+        final boolean writableStackTrace) {
+        super(detail, null, false, writableStackTrace);
+        this.statusCode = errorCode;
+        this.title = title;
+        this.detail = detail;
+    }
+
+    // expected client errors (a malformed or unknown id) are thrown at the rate bad clients send them and their
+    // stack trace is never looked at, so it is not filled in
+    public static SystemException clientError(final String detail, final String title, final Integer errorCode) {
+        return new SystemException(detail, title, errorCode, false);
+    }
 }
@@ -0,0 +1,86 @@
+package com.audition.common.hash;
+
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+
+// A SHA-256 digest of content, for hashes that must identify it such as strong entity tags. Posts and comments are
+// fed field by field, every field prefixed with its length and every value with its type, so that two different
+// contents never feed the same bytes. The digest is cut to 128 bits.
+public final class ContentDigest {
+
+    private static final int DIGEST_BYTES = 16;
+    private static final int NULL_LENGTH = -1;
+    private static final byte POST = 1;
+    private static final byte COMMENT = 2;
+    private static final byte COLLECTION = 3;
+    private static final byte TEXT = 4;
+
+    private final MessageDigest digest;
+
+    public ContentDigest() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            // every java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // the hex digest of raw bytes, e.g. a serialized response
+    public static String hexOf(final byte[] bytes) {
+        return new ContentDigest().addBytes(bytes).toHex();
+    }
+
+    public ContentDigest add(final long value) {
+        for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+            digest.update((byte) (value >>> shift));
+        }
+        return this;
+    }
+
+    public ContentDigest add(final String value) {
+        return value == null ? add(NULL_LENGTH) : addBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // posts, comments, strings and collections of them
+    public ContentDigest addContent(final Object content) {
+        if (content instanceof AuditionPost post) {
+            digest.update(POST);
+            add(post.getUserId()).add(post.getId()).add(post.getTitle()).add(post.getBody());
+            addContent(post.getComments());
+        } else if (content instanceof AuditionComment comment) {
+            digest.update(COMMENT);
+            add(comment.getPostId()).add(comment.getId()).add(comment.getName()).add(comment.getEmail())
+                .add(comment.getBody());
+        } else if (content instanceof Collection<?> items) {
+            digest.update(COLLECTION);
+            add(items.size());
+            items.forEach(this::addContent);
+        } else if (content instanceof String text) {
+            digest.update(TEXT);
+            add(text);
+        } else if (content == null) {
+            add(NULL_LENGTH);
+        } else {
+            throw new IllegalArgumentException("Cannot digest a " + content.getClass().getName());
+        }
+        return this;
+    }
+
+    // completes the digest, the instance must not be used afterwards
+    public String toHex() {
+        final byte[] hash = digest.digest();
+        return HexFormat.of().formatHex(hash, 0, DIGEST_BYTES);
+    }
+
+    private ContentDigest addBytes(final byte[] bytes) {
+        add(bytes.length);
+        digest.update(bytes);
+        return this;
+    }
+}
@@ -0,0 +1,140 @@
+package com.audition.common.http;
+
+import com.audition.configuration.UpstreamProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+// Revalidates upstream GETs instead of downloading unchanged resources again. The headers and body of a 200 response
+// carrying an ETag or Last-Modified are kept per uri, the next GET of that uri is sent with If-None-Match and
+// If-Modified-Since, and a 304 Not Modified answer is replayed as the kept 200 response.
+@Component
+public class ConditionalRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String METRIC_NAME = "audition.upstream.revalidations";
+    // rough size of the kept headers and entry overhead on top of the body
+    private static final int ENTRY_OVERHEAD = 512;
+
+    private final transient Cache<String, StoredResponse> responses;
+    private final transient Counter notModified;
+    private final transient Counter modified;
+
+    public ConditionalRequestInterceptor(final UpstreamProperties properties, final MeterRegistry meterRegistry) {
+        final long maximumWeight = properties.getRevalidationCacheSize().toBytes();
+        this.responses = maximumWeight <= 0 ? null : Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((String uri, StoredResponse response) -> response.body().length + ENTRY_OVERHEAD)
+            .build();
+        this.notModified = Counter.builder(METRIC_NAME)
+            .description("Conditional upstream GETs, by whether the resource had changed")
+            .tag("result", "not-modified")
+            .register(meterRegistry);
+        this.modified = Counter.builder(METRIC_NAME)
+            .description("Conditional upstream GETs, by whether the resource had changed")
+            .tag("result", "modified")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+        final ClientHttpRequestExecution execution) throws IOException {
+        if (responses == null || request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+
+        final String uri = request.getURI().toString();
+        final StoredResponse stored = responses.getIfPresent(uri);
+        if (stored != null) {
+            stored.addValidators(request.getHeaders());
+        }
+        final ClientHttpResponse response = execution.execute(request, body);
+        final HttpStatusCode status = response.getStatusCode();
+        if (stored != null && status.value() == HttpStatus.NOT_MODIFIED.value()) {
+            response.close();
+            notModified.increment();
+            return stored.replay();
+        }
+        if (stored != null) {
+            modified.increment();
+            responses.invalidate(uri);
+        }
+        if (status.value() != HttpStatus.OK.value() || !hasValidators(response.getHeaders())) {
+            return response;
+        }
+
+        final StoredResponse fresh;
+        try (InputStream content = response.getBody()) {
+            fresh = new StoredResponse(HttpHeaders.readOnlyHttpHeaders(response.getHeaders()), content.readAllBytes());
+        } finally {
+            response.close();
+        }
+        responses.put(uri, fresh);
+        return fresh.replay();
+    }
+
+    private static boolean hasValidators(final HttpHeaders headers) {
+        return headers.getETag() != null || headers.getLastModified() != -1;
+    }
+
+    private record StoredResponse(HttpHeaders headers, byte[] body) {
+
+        void addValidators(final HttpHeaders requestHeaders) {
+            if (headers.getETag() != null) {
+                requestHeaders.setIfNoneMatch(headers.getETag());
+            }
+            if (headers.getLastModified() != -1) {
+                requestHeaders.setIfModifiedSince(headers.getLastModified());
+            }
+        }
+
+        ClientHttpResponse replay() {
+            return new ClientHttpResponse() {
+
+                @Override
+                public HttpStatusCode getStatusCode() {
+                    return HttpStatus.OK;
+                }
+
+                // still abstract in Spring 6.0
+                @Override
+                @Deprecated
+                public int getRawStatusCode() {
+                    return HttpStatus.OK.value();
+                }
+
+                @Override
+                public String getStatusText() {
+                    return HttpStatus.OK.getReasonPhrase();
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return headers;
+                }
+
+                @Override
+                public InputStream getBody() {
+                    return new ByteArrayInputStream(body);
+                }
+
+                @Override
+                public void close() {
+                    // nothing to release, the body is in memory
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.audition.common.index;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// An immutable int -> int[] multimap without boxing on lookup. Keys live in an open addressing table, the values
+// of all keys are packed into one array and each key points at its range, in insertion order.
+public final class IntMultimap {
+
+    private static final int[] NO_VALUES = new int[0];
+    private static final int EMPTY_SLOT = -1;
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private final int[] slotKeys;
+    private final int[] slotGroups;
+    private final int[] groupStarts;
+    private final int[] values;
+    private final int mask;
+
+    private IntMultimap(final int[] slotKeys, final int[] slotGroups, final int[] groupStarts, final int[] values) {
+        this.slotKeys = slotKeys;
+        this.slotGroups = slotGroups;
+        this.groupStarts = groupStarts;
+        this.values = values;
+        this.mask = slotKeys.length - 1;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int[] get(final int key) {
+        int slot = mix(key) & mask;
+        while (slotGroups[slot] != EMPTY_SLOT) {
+            if (slotKeys[slot] == key) {
+                final int group = slotGroups[slot];
+                return Arrays.copyOfRange(values, groupStarts[group], groupStarts[group + 1]);
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NO_VALUES;
+    }
+
+    public int keyCount() {
+        return groupStarts.length - 1;
+    }
+
+    public long estimatedBytes() {
+        return 4L * (slotKeys.length + slotGroups.length + groupStarts.length + values.length)
+            + 4L * ARRAY_HEADER_BYTES;
+    }
+
+    private static int mix(final int key) {
+        final int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    public static final class Builder {
+
+        private int[] keys = new int[16];
+        private int[] entries = new int[16];
+        private int size;
+
+        private Builder() {
+        }
+
+        public Builder put(final int key, final int value) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            keys[size] = key;
+            entries[size] = value;
+            size++;
+            return this;
+        }
+
+        public IntMultimap build() {
+            // boxing is confined to the build, lookups only touch the primitive arrays
+            final Map<Integer, Integer> groupByKey = new LinkedHashMap<>();
+            final int[] groupOfEntry = new int[size];
+            for (int i = 0; i < size; i++) {
+                groupOfEntry[i] = groupByKey.computeIfAbsent(keys[i], key -> groupByKey.size());
+            }
+
+            final int groups = groupByKey.size();
+            final int[] groupStarts = new int[groups + 1];
+            for (int i = 0; i < size; i++) {
+                groupStarts[groupOfEntry[i] + 1]++;
+            }
+            for (int group = 0; group < groups; group++) {
+                groupStarts[group + 1] += groupStarts[group];
+            }
+            final int[] values = new int[size];
+            final int[] cursor = Arrays.copyOf(groupStarts, groups);
+            for (int i = 0; i < size; i++) {
+                values[cursor[groupOfEntry[i]]++] = entries[i];
+            }
+
+            // keep the table at most half full so that probe sequences stay short
+            final int capacity = Integer.highestOneBit(Math.max(2, groups * 2 - 1)) << 1;
+            final int[] slotKeys = new int[capacity];
+            final int[] slotGroups = new int[capacity];
+            Arrays.fill(slotGroups, EMPTY_SLOT);
+            groupByKey.forEach((key, group) -> {
+                int slot = mix(key) & (capacity - 1);
+                while (slotGroups[slot] != EMPTY_SLOT) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                slotKeys[slot] = key;
+                slotGroups[slot] = group;
+            });
+            return new IntMultimap(slotKeys, slotGroups, groupStarts, values);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.audition.common.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// An immutable inverted index from lower case word tokens to the ascending positions of the documents that
+// contain them. A search matches the documents containing every token of the query.
+public final class TokenIndex {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final String[] NO_TOKENS = new String[0];
+    private static final int[] NO_POSITIONS = new int[0];
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private final Map<String, int[]> postings;
+
+    private TokenIndex(final Map<String, int[]> postings) {
+        this.postings = postings;
+    }
+
+    // documents[i] holds the (distinct) tokens of the document at position i
+    public static TokenIndex of(final String[][] documents) {
+        final Map<String, List<Integer>> positions = new HashMap<>();
+        for (int position = 0; position < documents.length; position++) {
+            for (final String token : documents[position]) {
+                positions.computeIfAbsent(token, t -> new ArrayList<>()).add(position);
+            }
+        }
+        final Map<String, int[]> postings = new HashMap<>(positions.size() * 2);
+        positions.forEach((token, list) -> postings.put(token, list.stream().mapToInt(Integer::intValue).toArray()));
+        return new TokenIndex(postings);
+    }
+
+    public static String[] tokenize(final String... texts) {
+        final Set<String> tokens = new LinkedHashSet<>();
+        for (final String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            for (final String token : SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return tokens.isEmpty() ? NO_TOKENS : tokens.toArray(NO_TOKENS);
+    }
+
+    public int[] search(final String query) {
+        final String[] tokens = tokenize(query);
+        if (tokens.length == 0) {
+            return NO_POSITIONS;
+        }
+        final int[][] lists = new int[tokens.length][];
+        for (int i = 0; i < tokens.length; i++) {
+            lists[i] = postings.getOrDefault(tokens[i], NO_POSITIONS);
+        }
+        // intersect starting from the rarest token so that the intermediate result stays small
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+        int[] result = lists[0];
+        for (int i = 1; i < lists.length && result.length > 0; i++) {
+            result = intersect(result, lists[i]);
+        }
+        return result.clone();
+    }
+
+    public int tokenCount() {
+        return postings.size();
+    }
+
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (final Map.Entry<String, int[]> entry : postings.entrySet()) {
+            bytes += ENTRY_OVERHEAD_BYTES + 2L * entry.getKey().length() + 4L * entry.getValue().length;
+        }
+        return bytes;
+    }
+
+    private static int[] intersect(final int[] left, final int[] right) {
+        final int[] result = new int[Math.min(left.length, right.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+}
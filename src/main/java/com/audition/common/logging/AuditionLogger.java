@@ -1,13 +1,26 @@
 package com.audition.common.logging;
 
+import com.audition.configuration.ErrorLoggingProperties;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ProblemDetail;
 import org.springframework.stereotype.Component;
 
 @Component
 public class AuditionLogger {
 
+    private final LogRateLimiter clientErrorLimiter;
+
+    public AuditionLogger() {
+        this(new ErrorLoggingProperties());
+    }
+
+    @Autowired
+    public AuditionLogger(final ErrorLoggingProperties properties) {
+        this.clientErrorLimiter = new LogRateLimiter(properties.getClientErrorsPerSecond());
+    }
+
     public void info(final Logger logger, final String message) {
         if (logger.isInfoEnabled()) {
             logger.info(message);
@@ -20,6 +33,13 @@ public class AuditionLogger {
         }
     }
 
+    // parameterized with {} placeholders, the message is only formatted when the logger accepts it
+    public void info(final Logger logger, final String format, final Object... arguments) {
+        if (logger.isInfoEnabled()) {
+            logger.info(format, arguments);
+        }
+    }
+
     public void debug(final Logger logger, final String message) {
         if (logger.isDebugEnabled()) {
             logger.debug(message);
@@ -32,6 +52,12 @@ public class AuditionLogger {
         }
     }
 
+    public void warn(final Logger logger, final String format, final Object... arguments) {
+        if (logger.isWarnEnabled()) {
+            logger.warn(format, arguments);
+        }
+    }
+
     public void error(final Logger logger, final String message) {
         if (logger.isErrorEnabled()) {
             logger.error(message);
@@ -51,6 +77,21 @@ public class AuditionLogger {
         }
     }
 
+    // client errors are expected (a malformed or unknown id), their stack trace tells nothing and a flood of them
+    // is cut down to a few records per second
+    public void logClientProblemDetail(final Logger logger, final ProblemDetail problemDetail) {
+        if (!logger.isWarnEnabled()) {
+            return;
+        }
+        final long suppressed = clientErrorLimiter.tryAcquire();
+        if (suppressed == 0) {
+            logger.warn(createStandardProblemDetailMessage(problemDetail));
+        } else if (suppressed > 0) {
+            logger.warn("{} ({} more client errors were not logged)", createStandardProblemDetailMessage(problemDetail),
+                suppressed);
+        }
+    }
+
     public void logHttpStatusCodeError(final Logger logger, final String message, final Integer errorCode) {
         if (logger.isErrorEnabled()) {
             logger.error(createBasicErrorResponseMessage(errorCode, message) + "\n");
@@ -0,0 +1,44 @@
+package com.audition.common.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Lets at most permitsPerSecond log records through per second. Records beyond that are counted, and the next
+// record let through reports how many were dropped before it. The window is a fixed second of the nano clock,
+// a record racing a window change may land in either window.
+public class LogRateLimiter {
+
+    public static final long SUPPRESSED = -1;
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final int permitsPerSecond;
+    private final LongSupplier nanoClock;
+    private final AtomicLong window = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicInteger permitsUsed = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public LogRateLimiter(final int permitsPerSecond) {
+        this(permitsPerSecond, System::nanoTime);
+    }
+
+    public LogRateLimiter(final int permitsPerSecond, final LongSupplier nanoClock) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.nanoClock = nanoClock;
+    }
+
+    // SUPPRESSED when the record should be dropped, otherwise the number of records dropped since the last one
+    public long tryAcquire() {
+        final long second = Math.floorDiv(nanoClock.getAsLong(), NANOS_PER_SECOND);
+        final long current = window.get();
+        if (second != current && window.compareAndSet(current, second)) {
+            permitsUsed.set(0);
+        }
+        if (permitsUsed.incrementAndGet() > permitsPerSecond) {
+            suppressed.incrementAndGet();
+            return SUPPRESSED;
+        }
+        return suppressed.getAndSet(0);
+    }
+}
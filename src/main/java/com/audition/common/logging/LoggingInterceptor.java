@@ -1,11 +1,15 @@
 package com.audition.common.logging;
 
+import com.audition.configuration.HttpLoggingProperties;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
@@ -18,15 +22,25 @@ public class LoggingInterceptor implements ClientHttpRequestInterceptor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LoggingInterceptor.class);
     private final transient AuditionLogger auditionLogger;
+    private final transient HttpLoggingProperties properties;
 
     public LoggingInterceptor(final AuditionLogger auditionLogger) {
+        this(auditionLogger, new HttpLoggingProperties());
+    }
+
+    @Autowired
+    public LoggingInterceptor(final AuditionLogger auditionLogger, final HttpLoggingProperties properties) {
         this.auditionLogger = auditionLogger;
+        this.properties = properties;
     }
 
     @Override
     public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
         final ClientHttpRequestExecution execution)
         throws IOException {
+        if (properties.getMode() == HttpLoggingProperties.Mode.SAMPLED) {
+            return interceptSampled(request, body, execution);
+        }
         logRequest(request, body);
         final ClientHttpResponse response = execution.execute(request, body);
         setTracingHeaders(response);
@@ -35,14 +49,44 @@ public class LoggingInterceptor implements ClientHttpRequestInterceptor {
         return response;
     }
 
+    // the messages are parameterized, so they are only formatted when the logger accepts them. Bodies are only
+    // read for failed or slow calls, the other calls are logged as a one line summary if they are sampled.
+    private ClientHttpResponse interceptSampled(final HttpRequest request, final byte[] body,
+        final ClientHttpRequestExecution execution) throws IOException {
+        final long start = System.nanoTime();
+        final ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException e) {
+            auditionLogger.warn(LOGGER, "Upstream {} {} failed after {} ms: {}", request.getMethod(),
+                request.getURI(), elapsedMillis(start), e.toString());
+            throw e;
+        }
+        setTracingHeaders(response);
+        final long elapsed = elapsedMillis(start);
+        try {
+            final int status = response.getStatusCode().value();
+            if (status >= 400 || elapsed >= properties.getSlowThreshold().toMillis()) {
+                auditionLogger.warn(LOGGER, "Upstream {} {} returned {} in {} ms, request body: {}, response body: {}",
+                    request.getMethod(), request.getURI(), status, elapsed, new TruncatedBody(body, maxBodySize()),
+                    new TruncatedBody(readBody(response), maxBodySize()));
+            } else if (isSampled()) {
+                auditionLogger.info(LOGGER, "Upstream {} {} returned {} in {} ms", request.getMethod(),
+                    request.getURI(), status, elapsed);
+            }
+        } catch (Exception e) {
+            // Catch any exception during logging to avoid affecting the main flow
+            auditionLogger.logErrorWithException(LOGGER, "Failed to log response", e);
+        }
+        return response;
+    }
+
     private void logRequest(final HttpRequest request, final byte[] body) {
         try {
             final String reqBodyString =
                 body != null && body.length > 0 ? new String(body, StandardCharsets.UTF_8) : StringUtils.EMPTY;
-            final String logMessage = String.format(
-                "Request ==> %nMethod: %s, %nURI: %s, %nHeaders: %s, %nBody: %s",
+            auditionLogger.info(LOGGER, "Request ==> \nMethod: {}, \nURI: {}, \nHeaders: {}, \nBody: {}",
                 request.getMethod(), request.getURI(), request.getHeaders(), reqBodyString);
-            auditionLogger.info(LOGGER, logMessage);
         } catch (Exception e) {
             // Catch any exception during logging to avoid affecting the main flow
             auditionLogger.logErrorWithException(LOGGER, "Failed to log request", e);
@@ -55,16 +99,32 @@ public class LoggingInterceptor implements ClientHttpRequestInterceptor {
             final byte[] resBody = StreamUtils.copyToByteArray(response.getBody());
             final String resBodyString =
                 resBody.length > 0 ? new String(resBody, StandardCharsets.UTF_8) : StringUtils.EMPTY;
-            final String logMessage = String.format(
-                "Response <== %nStatus Code: %s, %nHeaders: %s, %nBody: %s",
+            auditionLogger.info(LOGGER, "Response <== \nStatus Code: {}, \nHeaders: {}, \nBody: {}",
                 response.getStatusCode(), response.getHeaders(), resBodyString);
-            auditionLogger.info(LOGGER, logMessage);
         } catch (Exception e) {
             // Catch any exception during logging to avoid affecting the main flow
             auditionLogger.logErrorWithException(LOGGER, "Failed to log response", e);
         }
     }
 
+    private boolean isSampled() {
+        final double sampleRate = properties.getSampleRate();
+        return sampleRate >= 1 || sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private int maxBodySize() {
+        return (int) properties.getMaxBodySize().toBytes();
+    }
+
+    // reads at most one byte more than is logged, the buffered response can still be read in full afterwards
+    private byte[] readBody(final ClientHttpResponse response) throws IOException {
+        return response.getBody().readNBytes(maxBodySize() + 1);
+    }
+
+    private static long elapsedMillis(final long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
     private void setTracingHeaders(final ClientHttpResponse response) {
         final String traceId = MDC.get("traceId");
         final String spanId = MDC.get("spanId");
@@ -75,4 +135,19 @@ public class LoggingInterceptor implements ClientHttpRequestInterceptor {
             response.getHeaders().set("X-Span-Id", spanId);
         }
     }
+
+    // decoded only when the log message is actually formatted
+    private record TruncatedBody(byte[] body, int maxSize) {
+
+        @Override
+        public String toString() {
+            if (body == null || body.length == 0) {
+                return StringUtils.EMPTY;
+            }
+            if (body.length <= maxSize) {
+                return new String(body, StandardCharsets.UTF_8);
+            }
+            return new String(body, 0, maxSize, StandardCharsets.UTF_8) + "...(truncated)";
+        }
+    }
 }
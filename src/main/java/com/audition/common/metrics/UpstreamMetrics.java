@@ -0,0 +1,92 @@
+package com.audition.common.metrics;
+
+import com.audition.common.exception.SystemException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.function.Supplier;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Times the upstream calls of the integration clients, blocking and reactive. Every call is recorded in the
+// audition.upstream.requests timer tagged by client method, outcome and upstream status, with a percentile histogram
+// for latency quantiles.
+@Component
+public class UpstreamMetrics {
+
+    public static final String METRIC_NAME = "audition.upstream.requests";
+    // a successful RestTemplate call does not expose its exact status
+    private static final String SUCCESS_STATUS = "2xx";
+    private static final String NO_STATUS = "NONE";
+
+    private final transient MeterRegistry meterRegistry;
+
+    public UpstreamMetrics(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T record(final String method, final Supplier<T> call) {
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            final T result = call.get();
+            stop(sample, method, Outcome.SUCCESS.name(), SUCCESS_STATUS);
+            return result;
+        } catch (final RuntimeException e) {
+            failed(sample, method, e);
+            throw e;
+        }
+    }
+
+    public void record(final String method, final Runnable call) {
+        record(method, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    // a reactive call is timed from its subscription to its completion or error, a cancelled call is not recorded
+    public <T> Flux<T> record(final String method, final Flux<T> call) {
+        return Flux.defer(() -> {
+            final Timer.Sample sample = Timer.start(meterRegistry);
+            return call
+                .doOnComplete(() -> stop(sample, method, Outcome.SUCCESS.name(), SUCCESS_STATUS))
+                .doOnError(e -> failed(sample, method, e));
+        });
+    }
+
+    public <T> Mono<T> record(final String method, final Mono<T> call) {
+        return record(method, call.flux()).singleOrEmpty();
+    }
+
+    private void failed(final Timer.Sample sample, final String method, final Throwable e) {
+        final Integer status = statusOf(e);
+        stop(sample, method, status == null ? Outcome.UNKNOWN.name() : Outcome.forStatus(status).name(),
+            status == null ? NO_STATUS : String.valueOf(status));
+    }
+
+    private void stop(final Timer.Sample sample, final String method, final String outcome, final String status) {
+        sample.stop(Timer.builder(METRIC_NAME)
+            .description("Upstream calls of the integration clients")
+            .tag("method", method)
+            .tag("outcome", outcome)
+            .tag("status", status)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+    }
+
+    private static Integer statusOf(final Throwable e) {
+        if (e instanceof SystemException systemException) {
+            return systemException.getStatusCode();
+        }
+        if (e instanceof RestClientResponseException responseException) {
+            return responseException.getStatusCode().value();
+        }
+        if (e instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().value();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,224 @@
+package com.audition.common.resilience;
+
+import com.audition.common.concurrent.AdaptiveConcurrencyLimiter;
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.ResilienceProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Guards the upstream calls with, in order, an adaptive concurrency limit, a circuit breaker per endpoint type and a
+// semaphore bulkhead. A call rejected by any of them fails at once with a 503, so a degraded upstream bounds the
+// latency of the requests depending on it instead of piling them up on its timeouts.
+@Component
+public class UpstreamGuard {
+
+    public static final String SERVICE_UNAVAILABLE = "Service Unavailable";
+    private static final String METRIC_PREFIX = "audition.upstream.limiter.";
+    private static final String BULKHEAD_NAME = "upstream";
+    private static final String TOO_MANY_REQUESTS = "Too many concurrent requests to the %s upstream";
+
+    private final transient boolean enabled;
+    private final transient AdaptiveConcurrencyLimiter limiter;
+    private final transient CircuitBreakerRegistry circuitBreakers;
+    private final transient Bulkhead bulkhead;
+    private final transient MeterRegistry meterRegistry;
+
+    public UpstreamGuard(final ResilienceProperties properties, final CircuitBreakerRegistry circuitBreakers,
+        final BulkheadRegistry bulkheads, final MeterRegistry meterRegistry) {
+        final ResilienceProperties.LimiterSpec spec = properties.getLimiter();
+        this.enabled = properties.isEnabled();
+        this.limiter = new AdaptiveConcurrencyLimiter(spec.getInitialLimit(), spec.getMinLimit(), spec.getMaxLimit(),
+            spec.getBackoffRatio(), spec.getLatencyThreshold());
+        this.circuitBreakers = circuitBreakers;
+        this.bulkhead = bulkheads.bulkhead(BULKHEAD_NAME);
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(METRIC_PREFIX + "limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+            .description("Current adaptive limit on concurrent upstream calls")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+            .description("Upstream calls currently admitted by the adaptive limiter")
+            .register(meterRegistry);
+    }
+
+    public <T> T call(final String endpoint, final Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        if (!limiter.tryAcquire()) {
+            throw shed("limiter", String.format(TOO_MANY_REQUESTS, endpoint), null);
+        }
+        final long start = System.nanoTime();
+        try {
+            final T result = circuitBreakers.circuitBreaker(endpoint)
+                .executeSupplier(Bulkhead.decorateSupplier(bulkhead, call));
+            limiter.onSuccess(System.nanoTime() - start);
+            return result;
+        } catch (final CallNotPermittedException e) {
+            limiter.onIgnored();
+            throw shed("circuit-breaker", String.format("The %s upstream is unavailable", endpoint), e);
+        } catch (final BulkheadFullException e) {
+            limiter.onIgnored();
+            throw shed("bulkhead", String.format(TOO_MANY_REQUESTS, endpoint), e);
+        } catch (final RuntimeException e) {
+            if (isUpstreamFailure(e)) {
+                limiter.onDropped();
+            } else {
+                // a 4xx answer still shows a healthy upstream
+                limiter.onSuccess(System.nanoTime() - start);
+            }
+            throw e;
+        }
+    }
+
+    // A streamed call is only guarded until the upstream has answered: the call runs the Runnable it is given once
+    // the response headers are in, which releases the permits and records the call. The time the body then takes
+    // depends on the consumer it is handed to, so a slow client is not counted as a slow upstream call.
+    public <T> T stream(final String endpoint, final Function<Runnable, T> call) {
+        if (!enabled) {
+            return call.apply(() -> {
+            });
+        }
+        final CircuitBreaker circuitBreaker = admit(endpoint);
+        final long start = System.nanoTime();
+        final AtomicBoolean recorded = new AtomicBoolean();
+        final Runnable answered = () -> {
+            if (recorded.compareAndSet(false, true)) {
+                answered(circuitBreaker, System.nanoTime() - start);
+            }
+        };
+        try {
+            final T result = call.apply(answered);
+            answered.run();
+            return result;
+        } catch (final RestClientException e) {
+            // a failure once the body is being read is the consumer's or the connection's, it is not recorded
+            if (recorded.compareAndSet(false, true)) {
+                failed(circuitBreaker, System.nanoTime() - start, e);
+            }
+            throw e;
+        } finally {
+            // anything else thrown before the headers came in is not the upstream's, the permits are handed back
+            if (recorded.compareAndSet(false, true)) {
+                released(circuitBreaker);
+            }
+        }
+    }
+
+    // A reactive call takes its permits when it is subscribed and is recorded on its first signal: the first
+    // element, the completion or the error. As with stream, the time the rest of the body takes is not counted, and
+    // a subscriber that cancels before the upstream answered hands the permits back. A shed call fails with the
+    // same 503 SystemException, as an error signal.
+    public <T> Flux<T> guard(final String endpoint, final Flux<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        return Flux.defer(() -> {
+            final CircuitBreaker circuitBreaker = admit(endpoint);
+            final long start = System.nanoTime();
+            final AtomicBoolean recorded = new AtomicBoolean();
+            return call
+                .doOnEach(signal -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        final long elapsed = System.nanoTime() - start;
+                        if (signal.isOnError()) {
+                            failed(circuitBreaker, elapsed, signal.getThrowable());
+                        } else {
+                            answered(circuitBreaker, elapsed);
+                        }
+                    }
+                })
+                .doFinally(signal -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        released(circuitBreaker);
+                    }
+                });
+        });
+    }
+
+    public <T> Mono<T> guard(final String endpoint, final Mono<T> call) {
+        return guard(endpoint, call.flux()).singleOrEmpty();
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    private CircuitBreaker admit(final String endpoint) {
+        if (!limiter.tryAcquire()) {
+            throw shed("limiter", String.format(TOO_MANY_REQUESTS, endpoint), null);
+        }
+        final CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(endpoint);
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (final CallNotPermittedException e) {
+            limiter.onIgnored();
+            throw shed("circuit-breaker", String.format("The %s upstream is unavailable", endpoint), e);
+        }
+        try {
+            bulkhead.acquirePermission();
+        } catch (final BulkheadFullException e) {
+            circuitBreaker.releasePermission();
+            limiter.onIgnored();
+            throw shed("bulkhead", String.format(TOO_MANY_REQUESTS, endpoint), e);
+        }
+        return circuitBreaker;
+    }
+
+    private void answered(final CircuitBreaker circuitBreaker, final long elapsed) {
+        bulkhead.onComplete();
+        circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+        limiter.onSuccess(elapsed);
+    }
+
+    private void failed(final CircuitBreaker circuitBreaker, final long elapsed, final Throwable e) {
+        bulkhead.onComplete();
+        circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, e);
+        if (isUpstreamFailure(e)) {
+            limiter.onDropped();
+        } else {
+            limiter.onSuccess(elapsed);
+        }
+    }
+
+    private void released(final CircuitBreaker circuitBreaker) {
+        bulkhead.onComplete();
+        circuitBreaker.releasePermission();
+        limiter.onIgnored();
+    }
+
+    private SystemException shed(final String reason, final String detail, final Exception cause) {
+        Counter.builder("audition.upstream.shed")
+            .description("Upstream calls rejected without being sent")
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+        return new SystemException(detail, SERVICE_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE.value(), cause);
+    }
+
+    // the blocking and the reactive client report a 5xx or an i/o failure with different exceptions
+    public static boolean isUpstreamFailure(final Throwable e) {
+        return e instanceof HttpServerErrorException || e instanceof ResourceAccessException
+            || e instanceof WebClientResponseException response && response.getStatusCode().is5xxServerError()
+            || e instanceof WebClientRequestException;
+    }
+}
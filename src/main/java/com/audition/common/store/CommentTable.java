@@ -0,0 +1,115 @@
+package com.audition.common.store;
+
+import com.audition.model.AuditionComment;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+// Comments stored column-wise like PostTable: post ids and ids in int arrays, name, email and body as references
+// into a StringPool. Rows are materialized as new AuditionComment objects when they are read.
+public final class CommentTable {
+
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private final int[] postIds;
+    private final int[] ids;
+    private final int[] names;
+    private final int[] emails;
+    private final int[] bodies;
+    private final StringPool strings;
+    private final List<AuditionComment> rows = new Rows();
+
+    private CommentTable(final int[] postIds, final int[] ids, final int[] names, final int[] emails,
+        final int[] bodies, final StringPool strings) {
+        this.postIds = postIds;
+        this.ids = ids;
+        this.names = names;
+        this.emails = emails;
+        this.bodies = bodies;
+        this.strings = strings;
+    }
+
+    public static CommentTable of(final List<AuditionComment> comments, final boolean offHeap) {
+        final Builder builder = builder();
+        comments.forEach(builder::add);
+        return builder.build(offHeap);
+    }
+
+    // rows are appended one by one, e.g. while the comments are read from a stream
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public int postId(final int row) {
+        return postIds[row];
+    }
+
+    public AuditionComment get(final int row) {
+        return new AuditionComment(postIds[row], ids[row], strings.get(names[row]), strings.get(emails[row]),
+            strings.get(bodies[row]));
+    }
+
+    // an unmodifiable list view, every get materializes its row again
+    public List<AuditionComment> asList() {
+        return rows;
+    }
+
+    public long estimatedBytes() {
+        return 5 * (ARRAY_HEADER_BYTES + 4L * ids.length) + strings.estimatedBytes();
+    }
+
+    public static final class Builder {
+
+        private final StringPool.Builder strings = StringPool.builder();
+        private int[] postIds = new int[64];
+        private int[] ids = new int[64];
+        private int[] names = new int[64];
+        private int[] emails = new int[64];
+        private int[] bodies = new int[64];
+        private int size;
+
+        private Builder() {
+        }
+
+        public Builder add(final AuditionComment comment) {
+            if (size == ids.length) {
+                postIds = Arrays.copyOf(postIds, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+                names = Arrays.copyOf(names, size * 2);
+                emails = Arrays.copyOf(emails, size * 2);
+                bodies = Arrays.copyOf(bodies, size * 2);
+            }
+            postIds[size] = comment.getPostId();
+            ids[size] = comment.getId();
+            names[size] = strings.add(comment.getName());
+            emails[size] = strings.add(comment.getEmail());
+            bodies[size] = strings.add(comment.getBody());
+            size++;
+            return this;
+        }
+
+        public CommentTable build(final boolean offHeap) {
+            return new CommentTable(Arrays.copyOf(postIds, size), Arrays.copyOf(ids, size),
+                Arrays.copyOf(names, size), Arrays.copyOf(emails, size), Arrays.copyOf(bodies, size),
+                strings.build(offHeap));
+        }
+    }
+
+    private final class Rows extends AbstractList<AuditionComment> implements RandomAccess {
+
+        @Override
+        public AuditionComment get(final int index) {
+            return CommentTable.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return CommentTable.this.size();
+        }
+    }
+}
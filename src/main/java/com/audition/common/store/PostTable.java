@@ -0,0 +1,107 @@
+package com.audition.common.store;
+
+import com.audition.model.AuditionPost;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Posts stored column-wise: ids and user ids in int arrays, titles and bodies as references into a StringPool.
+// Compared to a list of AuditionPost this drops the per-post object, String and reference overhead. A row is
+// materialized as an AuditionPost, without comments, the first time it is read and the same object is returned
+// from then on, so full-list reads such as serializing every post decode each row once per table rather than on
+// every pass. Rows that are never read cost nothing beyond the columns.
+public final class PostTable {
+
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private final int[] userIds;
+    private final int[] ids;
+    private final int[] titles;
+    private final int[] bodies;
+    private final StringPool strings;
+    private final AtomicReferenceArray<AuditionPost> materialized;
+    private final List<AuditionPost> rows = new Rows();
+
+    private PostTable(final int[] userIds, final int[] ids, final int[] titles, final int[] bodies,
+        final StringPool strings) {
+        this.userIds = userIds;
+        this.ids = ids;
+        this.titles = titles;
+        this.bodies = bodies;
+        this.strings = strings;
+        this.materialized = new AtomicReferenceArray<>(ids.length);
+    }
+
+    public static PostTable of(final List<AuditionPost> posts, final boolean offHeap) {
+        final int size = posts.size();
+        final int[] userIds = new int[size];
+        final int[] ids = new int[size];
+        final int[] titles = new int[size];
+        final int[] bodies = new int[size];
+        final StringPool.Builder strings = StringPool.builder();
+        for (int row = 0; row < size; row++) {
+            final AuditionPost post = posts.get(row);
+            userIds[row] = post.getUserId();
+            ids[row] = post.getId();
+            titles[row] = strings.add(post.getTitle());
+            bodies[row] = strings.add(post.getBody());
+        }
+        return new PostTable(userIds, ids, titles, bodies, strings.build(offHeap));
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public int id(final int row) {
+        return ids[row];
+    }
+
+    public int userId(final int row) {
+        return userIds[row];
+    }
+
+    public String title(final int row) {
+        return strings.get(titles[row]);
+    }
+
+    public String body(final int row) {
+        return strings.get(bodies[row]);
+    }
+
+    // callers copy a post before attaching comments to it, the shared instance is never modified
+    public AuditionPost get(final int row) {
+        final AuditionPost known = materialized.get(row);
+        if (known != null) {
+            return known;
+        }
+        final AuditionPost post = new AuditionPost(userIds[row], ids[row], strings.get(titles[row]),
+            strings.get(bodies[row]), null);
+        // two readers may decode the same row at once, both return the instance stored first
+        return materialized.compareAndSet(row, null, post) ? post : materialized.get(row);
+    }
+
+    // an unmodifiable list view over the materialized rows
+    public List<AuditionPost> asList() {
+        return rows;
+    }
+
+    // four int columns and the array of row references, not the rows materialized so far
+    public long estimatedBytes() {
+        return 5 * (ARRAY_HEADER_BYTES + 4L * ids.length) + strings.estimatedBytes();
+    }
+
+    private final class Rows extends AbstractList<AuditionPost> implements RandomAccess {
+
+        @Override
+        public AuditionPost get(final int index) {
+            return PostTable.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return PostTable.this.size();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.audition.common.store;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Deduplicated strings packed as UTF-8 into a single buffer, on or off heap. A string is referenced by an int and
+// decoded only when it is read, so the pool holds no String objects and a repeated value is stored once.
+public final class StringPool {
+
+    public static final int NULL_REF = -1;
+
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int BUFFER_BYTES = 64;
+
+    private final ByteBuffer bytes;
+    private final int[] offsets;
+
+    private StringPool(final ByteBuffer bytes, final int[] offsets) {
+        this.bytes = bytes;
+        this.offsets = offsets;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String get(final int ref) {
+        if (ref == NULL_REF) {
+            return null;
+        }
+        final byte[] value = new byte[offsets[ref + 1] - offsets[ref]];
+        // absolute reads leave the buffer position alone, so concurrent readers need no locking
+        bytes.get(offsets[ref], value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    public boolean isOffHeap() {
+        return bytes.isDirect();
+    }
+
+    // the heap held by the pool, an off-heap buffer only counts with its header
+    public long estimatedBytes() {
+        return BUFFER_BYTES + (isOffHeap() ? 0 : ARRAY_HEADER_BYTES + bytes.capacity())
+            + ARRAY_HEADER_BYTES + 4L * offsets.length;
+    }
+
+    public static final class Builder {
+
+        private final Map<String, Integer> refs = new HashMap<>();
+        private byte[] data = new byte[1024];
+        private int[] offsets = new int[64];
+        private int length;
+
+        private Builder() {
+        }
+
+        public int add(final String value) {
+            if (value == null) {
+                return NULL_REF;
+            }
+            final Integer existing = refs.get(value);
+            if (existing != null) {
+                return existing;
+            }
+            final byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            if (length + encoded.length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + encoded.length));
+            }
+            System.arraycopy(encoded, 0, data, length, encoded.length);
+            length += encoded.length;
+            final int ref = refs.size();
+            if (ref + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[ref + 1] = length;
+            refs.put(value, ref);
+            return ref;
+        }
+
+        public StringPool build(final boolean offHeap) {
+            final ByteBuffer bytes = offHeap
+                ? ByteBuffer.allocateDirect(length).put(data, 0, length).flip()
+                : ByteBuffer.wrap(Arrays.copyOf(data, length));
+            return new StringPool(bytes.asReadOnlyBuffer(), Arrays.copyOf(offsets, refs.size() + 1));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.audition.configuration;
+
+import com.audition.common.cache.CacheInvalidationBus;
+import com.audition.common.cache.CacheNames;
+import com.audition.common.cache.PayloadWeigher;
+import com.audition.common.cache.RespClient;
+import com.audition.common.cache.StaleServingCache;
+import com.audition.common.cache.TieredCache;
+import com.audition.common.logging.AuditionLogger;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfiguration {
+
+    @Bean
+    public CacheManager cacheManager(final CacheProperties properties,
+        final ObjectProvider<CacheInvalidationBus> cacheInvalidationBus, final ObjectProvider<RespClient> respClient,
+        final MeterRegistry meterRegistry,
+        @Qualifier(ExecutorConfiguration.REVALIDATION_EXECUTOR) final Executor revalidationExecutor) {
+        if (!properties.isEnabled()) {
+            return new NoOpCacheManager();
+        }
+        // every cache is bounded by an estimated size in bytes and evicted by caffeine's W-TinyLFU policy,
+        // stats are recorded so that hit/miss/eviction counters are exported through the cache metrics.
+        // With the remote tier the dataset caches share their entries across instances, serialized responses
+        // stay local since they are cheap to rebuild from a shared post collection. The dataset caches keep their
+        // last known good values to serve while they are reloaded and while the upstream is down.
+        final CacheInvalidationBus bus = cacheInvalidationBus.getIfAvailable();
+        final CacheProperties.Stale stale = properties.getStale();
+        final Function<CaffeineCache, Cache> dataset = cache -> {
+            final CacheProperties.CacheSpec spec = specOf(properties, cache.getName());
+            final Cache tiered = bus == null ? cache
+                : new TieredCache(cache, spec.getTtl(), respClient.getObject(), bus, properties.getRemote(),
+                    meterRegistry);
+            return stale.isEnabled() ? new StaleServingCache(tiered, spec.getTtl(),
+                spec.getMaximumWeight().toBytes(), stale, revalidationExecutor, meterRegistry) : tiered;
+        };
+        final SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+            dataset.apply(createCache(CacheNames.POSTS, properties.getPosts())),
+            dataset.apply(createCache(CacheNames.POST, properties.getPost())),
+            dataset.apply(createCache(CacheNames.COMMENTS, properties.getComments())),
+            createCache(CacheNames.RESPONSES, properties.getResponses()),
+            createCache(CacheNames.MISSING_POSTS, properties.getMissingPosts())));
+        return cacheManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "application.cache.remote", name = "enabled", havingValue = "true")
+    public RespClient remoteCacheClient(final CacheProperties properties, final AuditionLogger logger) {
+        final CacheProperties.Remote remote = properties.getRemote();
+        return new RespClient(remote.getHost(), remote.getPort(), remote.getTimeout(), remote.getConnections(),
+            remote.getKeepaliveInterval(), logger);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.cache.remote", name = "enabled", havingValue = "true")
+    public CacheInvalidationBus cacheInvalidationBus(final RespClient remoteCacheClient,
+        final CacheProperties properties, final AuditionLogger logger, final MeterRegistry meterRegistry) {
+        return new CacheInvalidationBus(remoteCacheClient, properties.getRemote().getInvalidationChannel(), logger,
+            meterRegistry);
+    }
+
+    // the hit/miss/eviction metrics of a tiered cache are those of its near cache
+    @Bean
+    public CacheMeterBinderProvider<TieredCache> tieredCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(cache.getNativeCache(), cache.getName(), tags);
+    }
+
+    // likewise those of the cache a stale serving cache wraps, a caffeine cache in both cases
+    @Bean
+    @SuppressWarnings("unchecked")
+    public CacheMeterBinderProvider<StaleServingCache> staleServingCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(
+            (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache(), cache.getName(), tags);
+    }
+
+    private static CacheProperties.CacheSpec specOf(final CacheProperties properties, final String name) {
+        return switch (name) {
+            case CacheNames.POSTS -> properties.getPosts();
+            case CacheNames.POST -> properties.getPost();
+            case CacheNames.COMMENTS -> properties.getComments();
+            default -> properties.getResponses();
+        };
+    }
+
+    private static CaffeineCache createCache(final String name, final CacheProperties.CacheSpec spec) {
+        return new CaffeineCache(name, Caffeine.newBuilder()
+            .expireAfterWrite(spec.getTtl())
+            .maximumWeight(spec.getMaximumWeight().toBytes())
+            .weigher(new PayloadWeigher())
+            .recordStats()
+            .build(), false);
+    }
+}
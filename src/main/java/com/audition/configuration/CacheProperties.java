@@ -0,0 +1,74 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.cache")
+public class CacheProperties {
+
+    private boolean enabled = true;
+    // the whole post collection is a single entry, so it gets a shorter ttl than single posts and comments
+    private CacheSpec posts = new CacheSpec(Duration.ofMinutes(1), DataSize.ofMegabytes(16));
+    private CacheSpec post = new CacheSpec(Duration.ofMinutes(5), DataSize.ofMegabytes(16));
+    private CacheSpec comments = new CacheSpec(Duration.ofMinutes(5), DataSize.ofMegabytes(32));
+    // serialized and compressed response bytes, an entry is replaced as soon as its content changes
+    private CacheSpec responses = new CacheSpec(Duration.ofMinutes(5), DataSize.ofMegabytes(32));
+    // unknown post ids are answered with a 404 without asking the upstream again for a short while
+    private CacheSpec missingPosts = new CacheSpec(Duration.ofSeconds(10), DataSize.ofMegabytes(1));
+    private Remote remote = new Remote();
+    private Stale stale = new Stale();
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class CacheSpec {
+
+        private Duration ttl;
+        private DataSize maximumWeight;
+    }
+
+    // opt-in second tier shared by all instances behind the posts, post and comments caches, see TieredCache
+    @Getter
+    @Setter
+    public static class Remote {
+
+        private boolean enabled;
+        // a server speaking the redis protocol (RESP)
+        private String host = "localhost";
+        private int port = 6379;
+        private Duration timeout = Duration.ofMillis(250);
+        // at most this many connections are open, a command waits up to the timeout for a free one
+        private int connections = 8;
+        // a quiet invalidation channel is probed with a PING after this long, a dead server is then reconnected
+        private Duration keepaliveInterval = Duration.ofSeconds(30);
+        private String keyPrefix = "audition:";
+        // near caches of the other instances drop an entry when it is written or evicted here
+        private String invalidationChannel = "audition:invalidations";
+        // one instance loads a missing entry while the others wait up to this long for it to appear remotely
+        private Duration lockTimeout = Duration.ofSeconds(5);
+        private Duration pollInterval = Duration.ofMillis(50);
+    }
+
+    // last known good values of the posts, post and comments caches, see StaleServingCache
+    @Getter
+    @Setter
+    public static class Stale {
+
+        private boolean enabled = true;
+        // an entry that expired less than this ago is served at once and reloaded in the background
+        private Duration whileRevalidate = Duration.ofMinutes(1);
+        // an entry that expired less than this ago is served while the upstream fails with a 5xx or times out
+        private Duration ifError = Duration.ofHours(1);
+        // the pool background reloads run on, a reload that finds it saturated is skipped and the stale value kept
+        private int revalidationThreads = 2;
+        private int revalidationQueueCapacity = 64;
+    }
+}
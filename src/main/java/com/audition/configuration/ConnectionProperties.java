@@ -0,0 +1,31 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.connection")
+public class ConnectionProperties {
+
+    // the client engine backing the RestTemplate. POOLED keeps connections alive and reuses them across calls,
+    // SIMPLE falls back to a plain HttpURLConnection per request.
+    private Engine engine = Engine.POOLED;
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofSeconds(5);
+    // maximum time to wait for a free connection from the pool before failing the call
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+    private int maxConnectionsTotal = 200;
+    private int maxConnectionsPerRoute = 50;
+    // idle connections are closed after this period so that the pool does not hold stale sockets
+    private Duration idleEvictionTimeout = Duration.ofSeconds(30);
+    private Duration connectionTimeToLive = Duration.ofMinutes(5);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    public enum Engine {
+        SIMPLE,
+        POOLED
+    }
+}
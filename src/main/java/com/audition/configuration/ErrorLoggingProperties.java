@@ -0,0 +1,15 @@
+package com.audition.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.logging.errors")
+public class ErrorLoggingProperties {
+
+    // client errors (4xx) are logged at WARN without a stack trace, at most this many per second. The others are
+    // only counted in audition.errors, so that a flood of bad requests does not flood the log.
+    private int clientErrorsPerSecond = 10;
+}
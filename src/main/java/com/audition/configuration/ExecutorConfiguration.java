@@ -0,0 +1,100 @@
+package com.audition.configuration;
+
+import com.audition.common.logging.MdcTaskDecorator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableConfigurationProperties({UpstreamProperties.class, CacheProperties.class})
+public class ExecutorConfiguration {
+
+    public static final String UPSTREAM_EXECUTOR = "upstreamExecutor";
+    public static final String HEDGE_EXECUTOR = "hedgeExecutor";
+    public static final String BATCH_EXECUTOR = "batchExecutor";
+    public static final String REVALIDATION_EXECUTOR = "revalidationExecutor";
+    private static final String ENABLED = "enabled";
+
+    @Bean(name = UPSTREAM_EXECUTOR)
+    @ConditionalOnProperty(prefix = VirtualThreadConfiguration.PROPERTY_PREFIX, name = ENABLED, havingValue = "false",
+        matchIfMissing = true)
+    public AsyncTaskExecutor upstreamExecutor(final UpstreamProperties properties) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getExecutorThreads());
+        executor.setMaxPoolSize(properties.getExecutorThreads());
+        executor.setQueueCapacity(properties.getExecutorQueueCapacity());
+        executor.setThreadNamePrefix("upstream-");
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        // when the pool is saturated the fetch runs on the calling thread, which degrades to the sequential path
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    // with virtual threads every fetch gets its own thread, concurrency is bounded by the connection pool instead
+    @Bean(name = UPSTREAM_EXECUTOR, destroyMethod = "")
+    @ConditionalOnProperty(prefix = VirtualThreadConfiguration.PROPERTY_PREFIX, name = ENABLED, havingValue = "true")
+    public AsyncTaskExecutor virtualUpstreamExecutor() {
+        final TaskExecutorAdapter executor = new TaskExecutorAdapter(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("upstream-", 0).factory()));
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        return executor;
+    }
+
+    // the lanes of a batch request wait on the fan-out deadline, so a saturated pool rejects them instead of running
+    // them on the request thread past it
+    @Bean(name = BATCH_EXECUTOR)
+    @ConditionalOnProperty(prefix = VirtualThreadConfiguration.PROPERTY_PREFIX, name = ENABLED, havingValue = "false",
+        matchIfMissing = true)
+    public AsyncTaskExecutor batchExecutor(final UpstreamProperties properties) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getBatchExecutorThreads());
+        executor.setMaxPoolSize(properties.getBatchExecutorThreads());
+        executor.setQueueCapacity(properties.getBatchExecutorQueueCapacity());
+        executor.setThreadNamePrefix("batch-");
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    @Bean(name = BATCH_EXECUTOR, destroyMethod = "")
+    @ConditionalOnProperty(prefix = VirtualThreadConfiguration.PROPERTY_PREFIX, name = ENABLED, havingValue = "true")
+    public AsyncTaskExecutor virtualBatchExecutor() {
+        final TaskExecutorAdapter executor = new TaskExecutorAdapter(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("batch-", 0).factory()));
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        return executor;
+    }
+
+    // background reloads of stale cache entries, a saturated pool rejects them rather than running them on the
+    // request thread that was served the stale value; the pool stays bounded with virtual threads as well, so a
+    // burst of expired entries does not become a burst of upstream calls
+    @Bean(name = REVALIDATION_EXECUTOR)
+    public AsyncTaskExecutor revalidationExecutor(final CacheProperties properties) {
+        final CacheProperties.Stale stale = properties.getStale();
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(stale.getRevalidationThreads());
+        executor.setMaxPoolSize(stale.getRevalidationThreads());
+        executor.setQueueCapacity(stale.getRevalidationQueueCapacity());
+        executor.setThreadNamePrefix("revalidation-");
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    // hedged requests run on their own virtual threads, they are also started from upstreamExecutor workers (e.g. a
+    // fan-out), and waiting on that bounded pool from its own workers could exhaust it
+    @Bean(name = HEDGE_EXECUTOR, destroyMethod = "")
+    public AsyncTaskExecutor hedgeExecutor() {
+        final TaskExecutorAdapter executor = new TaskExecutorAdapter(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("hedge-", 0).factory()));
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        return executor;
+    }
+}
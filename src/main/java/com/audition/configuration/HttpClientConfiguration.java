@@ -0,0 +1,88 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+@Configuration
+@EnableConfigurationProperties(ConnectionProperties.class)
+public class HttpClientConfiguration {
+
+    private static final String ENGINE_PROPERTY_PREFIX = "application.connection";
+
+    @Configuration
+    @ConditionalOnProperty(prefix = ENGINE_PROPERTY_PREFIX, name = "engine", havingValue = "pooled", matchIfMissing = true)
+    static class PooledEngineConfiguration {
+
+        @Bean(destroyMethod = "close")
+        PoolingHttpClientConnectionManager pooledConnectionManager(final ConnectionProperties properties) {
+            return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnectionsTotal())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setConnectionTimeToLive(toTimeValue(properties.getConnectionTimeToLive()))
+                .setValidateAfterInactivity(toTimeValue(properties.getValidateAfterInactivity()))
+                .build();
+        }
+
+        @Bean(destroyMethod = "close")
+        CloseableHttpClient pooledHttpClient(final PoolingHttpClientConnectionManager connectionManager,
+            final ConnectionProperties properties) {
+            final RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(toTimeout(properties.getConnectTimeout()))
+                .setResponseTimeout(toTimeout(properties.getReadTimeout()))
+                .setConnectionRequestTimeout(toTimeout(properties.getConnectionRequestTimeout()))
+                .build();
+            // keep-alive is on by default, idle and expired connections are evicted by a background thread
+            return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(toTimeValue(properties.getIdleEvictionTimeout()))
+                .build();
+        }
+
+        @Bean
+        ClientHttpRequestFactory clientHttpRequestFactory(final CloseableHttpClient pooledHttpClient) {
+            return new HttpComponentsClientHttpRequestFactory(pooledHttpClient);
+        }
+
+        @Bean
+        HttpClientPoolMetrics httpClientPoolMetrics(final PoolingHttpClientConnectionManager connectionManager) {
+            return new HttpClientPoolMetrics(connectionManager);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = ENGINE_PROPERTY_PREFIX, name = "engine", havingValue = "simple")
+    static class SimpleEngineConfiguration {
+
+        @Bean
+        ClientHttpRequestFactory clientHttpRequestFactory(final ConnectionProperties properties) {
+            final SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+            requestFactory.setOutputStreaming(false);
+            requestFactory.setConnectTimeout((int) properties.getConnectTimeout().toMillis());
+            requestFactory.setReadTimeout((int) properties.getReadTimeout().toMillis());
+            return requestFactory;
+        }
+    }
+
+    private static Timeout toTimeout(final Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    private static TimeValue toTimeValue(final Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+}
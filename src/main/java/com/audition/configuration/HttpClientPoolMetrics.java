@@ -0,0 +1,32 @@
+package com.audition.configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.core5.pool.ConnPoolControl;
+
+public class HttpClientPoolMetrics implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "audition.http.client.pool.";
+    private final transient ConnPoolControl<?> pool;
+
+    public HttpClientPoolMetrics(final ConnPoolControl<?> pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + "leased", pool, p -> p.getTotalStats().getLeased())
+            .description("Connections currently leased to in-flight requests")
+            .register(registry);
+        Gauge.builder(METRIC_PREFIX + "idle", pool, p -> p.getTotalStats().getAvailable())
+            .description("Idle keep-alive connections available for reuse")
+            .register(registry);
+        Gauge.builder(METRIC_PREFIX + "pending", pool, p -> p.getTotalStats().getPending())
+            .description("Requests waiting for a connection from the pool")
+            .register(registry);
+        Gauge.builder(METRIC_PREFIX + "max", pool, p -> p.getTotalStats().getMax())
+            .description("Maximum number of pooled connections")
+            .register(registry);
+    }
+}
@@ -0,0 +1,28 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.logging.http")
+public class HttpLoggingProperties {
+
+    // FULL logs every upstream request and response with headers and body. SAMPLED logs a summary of a sample of
+    // the calls and the (truncated) bodies of failed or slow calls only.
+    private Mode mode = Mode.FULL;
+    // share of successful calls logged in SAMPLED mode, between 0 and 1
+    private double sampleRate = 0.01;
+    // calls taking at least this long are logged with their bodies in SAMPLED mode
+    private Duration slowThreshold = Duration.ofMillis(500);
+    // bodies are cut after this size in SAMPLED mode
+    private DataSize maxBodySize = DataSize.ofKilobytes(1);
+
+    public enum Mode {
+        FULL,
+        SAMPLED
+    }
+}
@@ -0,0 +1,53 @@
+package com.audition.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+public class ReactiveClientConfiguration {
+
+    @Bean(destroyMethod = "dispose")
+    ConnectionProvider reactiveConnectionProvider(final ConnectionProperties properties) {
+        // same pool limits as the blocking engine, connections are multiplexed over a few event-loop threads
+        return ConnectionProvider.builder("audition-upstream")
+            .maxConnections(properties.getMaxConnectionsTotal())
+            .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+            .maxIdleTime(properties.getIdleEvictionTimeout())
+            .maxLifeTime(properties.getConnectionTimeToLive())
+            .evictInBackground(properties.getIdleEvictionTimeout())
+            .metrics(true)
+            .build();
+    }
+
+    @Bean
+    WebClient auditionWebClient(final WebClient.Builder builder, final ConnectionProvider reactiveConnectionProvider,
+        final ConnectionProperties properties, final ObjectMapper objectMapper) {
+        final HttpClient httpClient = HttpClient.create(reactiveConnectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, toMillis(properties.getConnectTimeout()))
+            .responseTimeout(properties.getReadTimeout());
+        return builder
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            // decode with the same object mapper as the RestTemplate
+            .codecs(configurer -> {
+                configurer.defaultCodecs().jackson2JsonDecoder(
+                    new Jackson2JsonDecoder(objectMapper, MediaType.APPLICATION_JSON));
+                configurer.defaultCodecs().jackson2JsonEncoder(
+                    new Jackson2JsonEncoder(objectMapper, MediaType.APPLICATION_JSON));
+            })
+            .build();
+    }
+
+    private static int toMillis(final Duration duration) {
+        return (int) duration.toMillis();
+    }
+}
@@ -0,0 +1,51 @@
+package com.audition.configuration;
+
+import com.audition.common.resilience.UpstreamGuard;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class ResilienceConfiguration {
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(final ResilienceProperties properties,
+        final MeterRegistry meterRegistry) {
+        final ResilienceProperties.CircuitBreakerSpec spec = properties.getCircuitBreaker();
+        // only upstream faults of either client open a breaker, 4xx responses (e.g. an unknown post id) count as
+        // successful calls
+        final CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+            .failureRateThreshold(spec.getFailureRateThreshold())
+            .slowCallRateThreshold(spec.getSlowCallRateThreshold())
+            .slowCallDurationThreshold(spec.getSlowCallDurationThreshold())
+            .slidingWindowSize(spec.getSlidingWindowSize())
+            .minimumNumberOfCalls(spec.getMinimumNumberOfCalls())
+            .waitDurationInOpenState(spec.getWaitDurationInOpenState())
+            .permittedNumberOfCallsInHalfOpenState(spec.getPermittedNumberOfCallsInHalfOpenState())
+            .recordException(UpstreamGuard::isUpstreamFailure)
+            .build();
+        final CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(final ResilienceProperties properties,
+        final MeterRegistry meterRegistry) {
+        final BulkheadConfig config = BulkheadConfig.custom()
+            .maxConcurrentCalls(properties.getBulkhead().getMaxConcurrentCalls())
+            .maxWaitDuration(properties.getBulkhead().getMaxWaitDuration())
+            .build();
+        final BulkheadRegistry registry = BulkheadRegistry.of(config);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+}
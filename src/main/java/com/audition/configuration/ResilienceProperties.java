@@ -0,0 +1,54 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.resilience")
+public class ResilienceProperties {
+
+    // when disabled the upstream calls are made without circuit breakers, bulkhead or concurrency limit
+    private boolean enabled = true;
+    private CircuitBreakerSpec circuitBreaker = new CircuitBreakerSpec();
+    private BulkheadSpec bulkhead = new BulkheadSpec();
+    private LimiterSpec limiter = new LimiterSpec();
+
+    // one breaker per upstream endpoint type (posts, post, comments), failures are 5xx responses and i/o errors
+    @Getter
+    @Setter
+    public static class CircuitBreakerSpec {
+
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 80;
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(2);
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        // how long an open breaker rejects calls before letting a few probe calls through
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+        private int permittedNumberOfCallsInHalfOpenState = 3;
+    }
+
+    // hard ceiling on concurrent upstream calls, a call over it fails at once unless max-wait-duration is set
+    @Getter
+    @Setter
+    public static class BulkheadSpec {
+
+        private int maxConcurrentCalls = 50;
+        private Duration maxWaitDuration = Duration.ZERO;
+    }
+
+    // adaptive (AIMD) limit on concurrent upstream calls below the bulkhead, see AdaptiveConcurrencyLimiter
+    @Getter
+    @Setter
+    public static class LimiterSpec {
+
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 50;
+        private double backoffRatio = 0.9;
+        private Duration latencyThreshold = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,43 @@
+package com.audition.configuration;
+
+import com.audition.common.logging.AuditionLogger;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.service.SnapshotLoader;
+import com.audition.service.SnapshotStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+@EnableConfigurationProperties(SnapshotProperties.class)
+public class SnapshotConfiguration {
+
+    public static final String SNAPSHOT_SCHEDULER = "snapshotScheduler";
+    private static final String PROPERTY_PREFIX = "application.snapshot";
+
+    // without the loader the snapshot store stays empty and every read takes the cached upstream path
+    @Bean
+    @ConditionalOnProperty(prefix = PROPERTY_PREFIX, name = "enabled", havingValue = "true")
+    SnapshotLoader snapshotLoader(final AuditionIntegrationClient auditionIntegrationClient,
+        final SnapshotStore snapshotStore, @Qualifier(SNAPSHOT_SCHEDULER) final TaskScheduler scheduler,
+        final SnapshotProperties properties, final AuditionLogger logger, final MeterRegistry meterRegistry) {
+        return new SnapshotLoader(auditionIntegrationClient, snapshotStore, scheduler, properties, logger,
+            meterRegistry);
+    }
+
+    // one thread, so that a load never overlaps the previous one
+    @Bean(name = SNAPSHOT_SCHEDULER)
+    @ConditionalOnProperty(prefix = PROPERTY_PREFIX, name = "enabled", havingValue = "true")
+    ThreadPoolTaskScheduler snapshotScheduler() {
+        final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("snapshot-loader-");
+        scheduler.setDaemon(true);
+        return scheduler;
+    }
+}
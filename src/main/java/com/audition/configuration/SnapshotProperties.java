@@ -0,0 +1,23 @@
+package com.audition.configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.snapshot")
+public class SnapshotProperties {
+
+    // keep a snapshot of all posts and comments loaded in the background, see SnapshotLoader
+    private boolean enabled;
+    private Duration refreshInterval = Duration.ofSeconds(30);
+    // a snapshot older than this is not served, reads fall back to the caches and the upstream
+    private Duration maxStaleness = Duration.ofMinutes(5);
+    // keep the text of the snapshot in direct buffers outside the java heap
+    private boolean offHeap;
+    // every loaded snapshot is written to this file and restored from it at startup, unset disables persistence
+    private Path file;
+}
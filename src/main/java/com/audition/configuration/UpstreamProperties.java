@@ -0,0 +1,61 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.upstream")
+public class UpstreamProperties {
+
+    // root of the upstream api, point it at a stand-in (e.g. the load test fake upstream) to run without
+    // jsonplaceholder.typicode.com
+    private String baseUrl = "https://jsonplaceholder.typicode.com";
+
+    // size of the bounded pool that runs parallel upstream fetches, e.g. a post and its comments
+    private int executorThreads = 32;
+    private int executorQueueCapacity = 256;
+    // shared deadline for all fetches of a fan-out, once it passes the request fails with a 504. Fetches still in
+    // flight run to completion, their result may be shared with other callers through SingleFlight.
+    private Duration fanOutTimeout = Duration.ofSeconds(10);
+    // posts of one batch request that are loaded in parallel, and the most distinct ids a batch may ask for
+    private int batchConcurrency = 8;
+    private int batchMaxSize = 100;
+    // the pool the batch lanes run on, a lane that finds it saturated is not run and its posts time out
+    private int batchExecutorThreads = 32;
+    private int batchExecutorQueueCapacity = 64;
+    private Hedging hedging = new Hedging();
+    // memory for the last response of each upstream uri that came with an ETag or Last-Modified, used to revalidate
+    // the uri with a conditional GET. 0 disables conditional requests.
+    private DataSize revalidationCacheSize = DataSize.ofMegabytes(16);
+
+    // the posts resource, the comments of a post are nested below it
+    public String postsUrl() {
+        return StringUtils.removeEnd(baseUrl, "/") + "/posts";
+    }
+
+    // the comments of all posts
+    public String commentsUrl() {
+        return StringUtils.removeEnd(baseUrl, "/") + "/comments";
+    }
+
+    // opt-in hedging of the upstream GETs, see RequestHedger
+    @Getter
+    @Setter
+    public static class Hedging {
+
+        private boolean enabled;
+        // a second request is sent once the first has been outstanding for this percentile of recent latencies
+        private double percentile = 0.95;
+        // delay used until enough latencies of an endpoint have been seen, and the bounds of the computed delay
+        private Duration initialDelay = Duration.ofMillis(100);
+        private Duration minDelay = Duration.ofMillis(10);
+        private Duration maxDelay = Duration.ofSeconds(1);
+        // share of the requests that may be hedged, so a slow upstream gets at most this much extra load
+        private double budgetRatio = 0.05;
+    }
+}
@@ -0,0 +1,30 @@
+package com.audition.configuration;
+
+import com.audition.common.concurrent.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Executors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+@ConditionalOnProperty(prefix = VirtualThreadConfiguration.PROPERTY_PREFIX, name = "enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    static final String PROPERTY_PREFIX = "application.threads.virtual";
+
+    // every servlet request is handled on its own virtual thread instead of the bounded tomcat worker pool
+    @Bean
+    TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean
+    VirtualThreadPinningMonitor virtualThreadPinningMonitor(final MeterRegistry meterRegistry,
+        final VirtualThreadProperties properties) {
+        return new VirtualThreadPinningMonitor(meterRegistry, properties.getPinnedThreshold());
+    }
+}
@@ -0,0 +1,17 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.threads.virtual")
+public class VirtualThreadProperties {
+
+    // runs tomcat request handling and the upstream executor on virtual threads when enabled
+    private boolean enabled;
+    // pinned periods shorter than this are not reported
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+}
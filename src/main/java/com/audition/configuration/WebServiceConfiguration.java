@@ -1,5 +1,6 @@
 package com.audition.configuration;
 
+import com.audition.common.http.ConditionalRequestInterceptor;
 import com.audition.common.logging.LoggingInterceptor;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -13,20 +14,24 @@ import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.client.BufferingClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 
 @Configuration
+@EnableConfigurationProperties({HttpLoggingProperties.class, ErrorLoggingProperties.class})
 public class WebServiceConfiguration implements WebMvcConfigurer {
 
+    public static final String STREAMING_REST_TEMPLATE = "streamingRestTemplate";
     private static final String YEAR_MONTH_DAY_PATTERN = "yyyy-MM-dd";
     private final transient LoggingInterceptor loggingInterceptor;
 
@@ -63,23 +68,29 @@ public class WebServiceConfiguration implements WebMvcConfigurer {
     }
 
     @Bean
-    public RestTemplate restTemplate(final ObjectMapper objectMapper) {
+    @Primary
+    public RestTemplate restTemplate(final ObjectMapper objectMapper,
+        final ClientHttpRequestFactory clientHttpRequestFactory,
+        final ConditionalRequestInterceptor conditionalRequestInterceptor) {
+        // the client engine (pooled or simple) is selected by application.connection.engine, see HttpClientConfiguration
         final RestTemplate restTemplate = new RestTemplate(
-            new BufferingClientHttpRequestFactory(createClientFactory()));
+            new BufferingClientHttpRequestFactory(clientHttpRequestFactory));
         // remove duplicate message converters if any
         restTemplate.getMessageConverters().removeIf(
             converter -> converter instanceof MappingJackson2HttpMessageConverter);
         // use object mapper
         restTemplate.getMessageConverters().add(new MappingJackson2HttpMessageConverter(objectMapper));
-        // create a logging interceptor that logs request/response for rest template calls.
-        restTemplate.setInterceptors(Collections.singletonList(loggingInterceptor));
+        // create a logging interceptor that logs request/response for rest template calls. The conditional request
+        // interceptor runs first, so the logged exchange is the one on the wire (e.g. a 304 Not Modified).
+        restTemplate.setInterceptors(List.of(conditionalRequestInterceptor, loggingInterceptor));
 
         return restTemplate;
     }
 
-    private SimpleClientHttpRequestFactory createClientFactory() {
-        final SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        requestFactory.setOutputStreaming(false);
-        return requestFactory;
+    // A RestTemplate for streamed reads: the response body is handed to the caller as an unbuffered stream,
+    // so it has no BufferingClientHttpRequestFactory and no body-logging interceptor (both copy the whole body).
+    @Bean(name = STREAMING_REST_TEMPLATE)
+    public RestTemplate streamingRestTemplate(final ClientHttpRequestFactory clientHttpRequestFactory) {
+        return new RestTemplate(clientHttpRequestFactory);
     }
 }
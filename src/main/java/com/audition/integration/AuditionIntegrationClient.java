@@ -1,12 +1,33 @@
 package com.audition.integration;
 
+import com.audition.common.concurrent.RequestHedger;
+import com.audition.common.concurrent.SingleFlight;
 import com.audition.common.exception.SystemException;
+import com.audition.common.metrics.UpstreamMetrics;
+import com.audition.common.resilience.UpstreamGuard;
+import com.audition.configuration.ExecutorConfiguration;
+import com.audition.configuration.UpstreamProperties;
+import com.audition.configuration.WebServiceConfiguration;
 import com.audition.model.AuditionComment;
 import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
@@ -15,70 +36,207 @@ import org.springframework.web.util.UriComponentsBuilder;
 @Component
 public class AuditionIntegrationClient {
 
-    private static final String BASE_URL = "https://jsonplaceholder.typicode.com/posts";
+    private static final String INTEGRATION_ERROR = "Integration Error";
+    // upstream endpoint types, each has its own circuit breaker
+    private static final String POSTS_ENDPOINT = "posts";
+    private static final String POST_ENDPOINT = "post";
+    private static final String COMMENTS_ENDPOINT = "comments";
 
     @Autowired
     private transient RestTemplate restTemplate;
 
+    // concurrent identical fetches (keyed by upstream uri) share a single in-flight RestTemplate call
+    @Autowired
+    private transient SingleFlight singleFlight;
+
+    @Autowired
+    @Qualifier(ExecutorConfiguration.UPSTREAM_EXECUTOR)
+    private transient Executor upstreamExecutor;
+
+    @Autowired
+    private transient UpstreamProperties upstreamProperties;
+
+    @Autowired
+    @Qualifier(WebServiceConfiguration.STREAMING_REST_TEMPLATE)
+    private transient RestTemplate streamingRestTemplate;
+
+    @Autowired
+    private transient ObjectMapper objectMapper;
+
+    @Autowired
+    private transient UpstreamMetrics upstreamMetrics;
+
+    // only the leader of a single flight goes through the guard, the callers joining it do not hold a permit
+    @Autowired
+    private transient UpstreamGuard upstreamGuard;
+
+    // slow GETs get a second identical request, each of them goes through the guard. streamPosts is not hedged since
+    // its posts are handed to the sink while they are read.
+    @Autowired
+    private transient RequestHedger requestHedger;
+
     public List<AuditionPost> getPosts() {
+        return upstreamMetrics.record("getPosts", () -> fetchPosts());
+    }
+
+    private List<AuditionPost> fetchPosts() {
         // make RestTemplate call to get Posts from https://jsonplaceholder.typicode.com/posts
         try {
-            final AuditionPost[] posts = restTemplate.getForObject(BASE_URL, AuditionPost[].class);
+            final AuditionPost[] posts = singleFlight.execute(upstreamProperties.postsUrl(),
+                () -> requestHedger.execute(POSTS_ENDPOINT, () -> upstreamGuard.call(POSTS_ENDPOINT,
+                    () -> restTemplate.getForObject(upstreamProperties.postsUrl(), AuditionPost[].class))));
             return posts == null ? List.of() : List.of(posts);
         } catch (final HttpClientErrorException e) {
             throw new SystemException(String.format("Error occurred while fetching posts: %s", e.getMessage()),
-                "Integration Error", e.getStatusCode().value());
+                INTEGRATION_ERROR, e.getStatusCode().value());
+        }
+    }
+
+    // Reads the upstream post array token by token straight from the response stream, materializing one post at a
+    // time and handing the ones matching the filter to the sink. Memory use does not depend on the payload size.
+    public void streamPosts(final Predicate<AuditionPost> filter, final Consumer<AuditionPost> sink) {
+        upstreamMetrics.record("streamPosts", () -> streamFetchedPosts(filter, sink));
+    }
+
+    private void streamFetchedPosts(final Predicate<AuditionPost> filter, final Consumer<AuditionPost> sink) {
+        try {
+            upstreamGuard.stream(POSTS_ENDPOINT,
+                answered -> streamingRestTemplate.execute(upstreamProperties.postsUrl(), HttpMethod.GET, null,
+                    response -> {
+                        answered.run();
+                        readElements(response, AuditionPost.class, post -> {
+                            if (filter.test(post)) {
+                                sink.accept(post);
+                            }
+                        });
+                        return null;
+                    }));
+        } catch (final HttpClientErrorException e) {
+            throw new SystemException(String.format("Error occurred while fetching posts: %s", e.getMessage()),
+                INTEGRATION_ERROR, e.getStatusCode().value());
+        }
+    }
+
+    private <T> void readElements(final ClientHttpResponse response, final Class<T> type, final Consumer<T> sink)
+        throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(response.getBody())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                sink.accept(objectMapper.readValue(parser, type));
+            }
         }
     }
 
     public AuditionPost getPostById(final int id) {
+        return upstreamMetrics.record("getPostById", () -> fetchPostById(id));
+    }
+
+    private AuditionPost fetchPostById(final int id) {
         // get post by post ID call from https://jsonplaceholder.typicode.com/posts/
         try {
-            final URI url = UriComponentsBuilder.fromHttpUrl(BASE_URL + "/{id}").buildAndExpand(id).encode().toUri();
-            final AuditionPost post = restTemplate.getForObject(url, AuditionPost.class);
+            final URI url = UriComponentsBuilder.fromHttpUrl(upstreamProperties.postsUrl() + "/{id}").buildAndExpand(id).encode().toUri();
+            final AuditionPost post = singleFlight.execute(url.toString(),
+                () -> requestHedger.execute(POST_ENDPOINT,
+                    () -> upstreamGuard.call(POST_ENDPOINT, () -> restTemplate.getForObject(url, AuditionPost.class))));
             return post == null ? new AuditionPost() : post;
         } catch (final HttpClientErrorException e) {
             if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                throw new SystemException("Cannot find a Post with id " + id, "Resource Not Found",
-                    404);
+                throw SystemException.clientError("Cannot find a Post with id " + id, "Resource Not Found", 404);
             } else {
                 // Find a better way to handle the exception so that the original error message is not lost.
                 // Feel free to change this function.
                 throw new SystemException(
                     String.format("Error occurred while fetching post with id %d: %s", id, e.getMessage()),
-                    "Integration Error", e.getStatusCode().value());
+                    INTEGRATION_ERROR, e.getStatusCode().value());
             }
         }
     }
 
     // Write a method GET comments for a post from https://jsonplaceholder.typicode.com/posts/{postId}/comments - the comments must be returned as part of the post.
     public AuditionPost getPostWithCommentsByPostId(final int id) {
-        final AuditionPost post = getPostById(id);
-        final List<AuditionComment> comments = getCommentsByPostId(id);
-        post.setComments(comments);
+        return upstreamMetrics.record("getPostWithCommentsByPostId", () -> fetchPostWithComments(id));
+    }
 
-        return post;
+    private AuditionPost fetchPostWithComments(final int id) {
+        // the post and its comments are fetched in parallel and joined with a shared deadline
+        final long deadline = System.nanoTime() + upstreamProperties.getFanOutTimeout().toNanos();
+        final CompletableFuture<AuditionPost> postFuture =
+            CompletableFuture.supplyAsync(() -> getPostById(id), upstreamExecutor);
+        final CompletableFuture<List<AuditionComment>> commentsFuture =
+            CompletableFuture.supplyAsync(() -> getCommentsByPostId(id), upstreamExecutor);
+        // the post is awaited first so that its error wins over a comments error, as in the sequential flow.
+        // The post may be shared with concurrent callers through SingleFlight, so the comments go on a copy.
+        final AuditionPost post = await(postFuture, deadline, id);
+        return new AuditionPost(post.getUserId(), post.getId(), post.getTitle(), post.getBody(),
+            await(commentsFuture, deadline, id));
     }
 
     // write a method. GET comments for a particular Post from https://jsonplaceholder.typicode.com/comments?postId={postId}.
     // The comments are a separate list that needs to be returned to the API consumers. Hint: this is not part of the AuditionPost pojo.
     public List<AuditionComment> getCommentsByPostId(final int id) {
+        return upstreamMetrics.record("getCommentsByPostId", () -> fetchCommentsByPostId(id));
+    }
+
+    private List<AuditionComment> fetchCommentsByPostId(final int id) {
         try {
-            final URI url = UriComponentsBuilder.fromHttpUrl(BASE_URL + "/{id}/comments")
+            final URI url = UriComponentsBuilder.fromHttpUrl(upstreamProperties.postsUrl() + "/{id}/comments")
                 .buildAndExpand(id)
                 .encode()
                 .toUri();
-            final AuditionComment[] comments = restTemplate.getForObject(url, AuditionComment[].class);
+            final AuditionComment[] comments = singleFlight.execute(url.toString(),
+                () -> requestHedger.execute(COMMENTS_ENDPOINT, () -> upstreamGuard.call(COMMENTS_ENDPOINT,
+                    () -> restTemplate.getForObject(url, AuditionComment[].class))));
             return comments == null ? List.of() : List.of(comments);
         } catch (final HttpClientErrorException e) {
             if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                throw new SystemException("Cannot find a Post with id " + id, "Resource Not Found",
-                    404);
+                throw SystemException.clientError("Cannot find a Post with id " + id, "Resource Not Found", 404);
             } else {
                 throw new SystemException(
                     String.format("Error occurred while fetching comments for post with id %d: %s", id, e.getMessage()),
-                    "Integration Error", e.getStatusCode().value());
+                    INTEGRATION_ERROR, e.getStatusCode().value());
+            }
+        }
+    }
+
+    // The comments of all posts in one call, e.g. for a snapshot of the whole dataset. Like streamPosts the array is
+    // read from the response stream one comment at a time, so the collection is never held as a whole.
+    public void streamComments(final Consumer<AuditionComment> sink) {
+        upstreamMetrics.record("streamComments", () -> streamFetchedComments(sink));
+    }
+
+    private void streamFetchedComments(final Consumer<AuditionComment> sink) {
+        try {
+            upstreamGuard.stream(COMMENTS_ENDPOINT,
+                answered -> streamingRestTemplate.execute(upstreamProperties.commentsUrl(), HttpMethod.GET, null,
+                    response -> {
+                        answered.run();
+                        readElements(response, AuditionComment.class, sink);
+                        return null;
+                    }));
+        } catch (final HttpClientErrorException e) {
+            throw new SystemException(String.format("Error occurred while fetching comments: %s", e.getMessage()),
+                INTEGRATION_ERROR, e.getStatusCode().value());
+        }
+    }
+
+    private static <T> T await(final CompletableFuture<T> future, final long deadline, final int id) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            throw new SystemException(String.format("Error occurred while fetching post with id %d", id),
+                INTEGRATION_ERROR, e.getCause());
+        } catch (final TimeoutException e) {
+            throw new SystemException(String.format("Timed out fetching post with id %d and its comments", id),
+                "Gateway Timeout", HttpStatus.GATEWAY_TIMEOUT.value(), e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SystemException(String.format("Interrupted while fetching post with id %d", id),
+                INTEGRATION_ERROR, e);
         }
     }
 }
@@ -0,0 +1,107 @@
+package com.audition.integration;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.metrics.UpstreamMetrics;
+import com.audition.common.resilience.UpstreamGuard;
+import com.audition.configuration.UpstreamProperties;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import java.net.URI;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Non-blocking counterpart of AuditionIntegrationClient. Upstream 4xx responses are mapped to the same
+// SystemException titles and status codes so that ExceptionControllerAdvice renders identical ProblemDetails.
+// Every call goes through the same UpstreamGuard (limiter, circuit breaker per endpoint type and bulkhead) and is
+// timed in UpstreamMetrics under a reactive method name. Unlike the blocking client, concurrent identical calls
+// are not coalesced by SingleFlight and slow calls are not hedged.
+@Component
+public class ReactiveAuditionIntegrationClient {
+
+    private static final String INTEGRATION_ERROR = "Integration Error";
+    // upstream endpoint types, the circuit breakers are shared with AuditionIntegrationClient
+    private static final String POSTS_ENDPOINT = "posts";
+    private static final String POST_ENDPOINT = "post";
+    private static final String COMMENTS_ENDPOINT = "comments";
+
+    private final transient WebClient webClient;
+    private final transient UpstreamProperties upstreamProperties;
+    private final transient UpstreamGuard upstreamGuard;
+    private final transient UpstreamMetrics upstreamMetrics;
+
+    public ReactiveAuditionIntegrationClient(final WebClient auditionWebClient,
+        final UpstreamProperties upstreamProperties, final UpstreamGuard upstreamGuard,
+        final UpstreamMetrics upstreamMetrics) {
+        this.webClient = auditionWebClient;
+        this.upstreamProperties = upstreamProperties;
+        this.upstreamGuard = upstreamGuard;
+        this.upstreamMetrics = upstreamMetrics;
+    }
+
+    public Flux<AuditionPost> getPosts() {
+        // the upstream array is decoded element by element and emitted as soon as each post is parsed
+        return upstreamMetrics.record("reactiveGetPosts", upstreamGuard.guard(POSTS_ENDPOINT,
+                webClient.get().uri(upstreamProperties.postsUrl())
+                    .retrieve()
+                    .bodyToFlux(AuditionPost.class))
+            .onErrorMap(this::isClientError, e -> new SystemException(
+                String.format("Error occurred while fetching posts: %s", e.getMessage()), INTEGRATION_ERROR,
+                statusOf(e), e)));
+    }
+
+    public Mono<AuditionPost> getPostById(final int id) {
+        final URI url = UriComponentsBuilder.fromHttpUrl(upstreamProperties.postsUrl() + "/{id}").buildAndExpand(id).encode().toUri();
+        return upstreamMetrics.record("reactiveGetPostById", upstreamGuard.guard(POST_ENDPOINT,
+                webClient.get().uri(url)
+                    .retrieve()
+                    .bodyToMono(AuditionPost.class))
+            .defaultIfEmpty(new AuditionPost())
+            .onErrorMap(this::isClientError, e -> mapClientError(e, id,
+                String.format("Error occurred while fetching post with id %d: %s", id, e.getMessage()))));
+    }
+
+    public Flux<AuditionComment> getCommentsByPostId(final int id) {
+        final URI url = UriComponentsBuilder.fromHttpUrl(upstreamProperties.postsUrl() + "/{id}/comments")
+            .buildAndExpand(id)
+            .encode()
+            .toUri();
+        return upstreamMetrics.record("reactiveGetCommentsByPostId", upstreamGuard.guard(COMMENTS_ENDPOINT,
+                webClient.get().uri(url)
+                    .retrieve()
+                    .bodyToFlux(AuditionComment.class))
+            .onErrorMap(this::isClientError, e -> mapClientError(e, id,
+                String.format("Error occurred while fetching comments for post with id %d: %s", id,
+                    e.getMessage()))));
+    }
+
+    public Mono<AuditionPost> getPostWithCommentsByPostId(final int id) {
+        // both fetches are subscribed at the same time, an error on either side cancels the other
+        return Mono.zip(getPostById(id), getCommentsByPostId(id).collectList())
+            .map(tuple -> {
+                final AuditionPost post = tuple.getT1();
+                post.setComments(tuple.getT2());
+                return post;
+            });
+    }
+
+    private boolean isClientError(final Throwable throwable) {
+        return throwable instanceof WebClientResponseException e && e.getStatusCode().is4xxClientError();
+    }
+
+    private static SystemException mapClientError(final Throwable throwable, final int id, final String message) {
+        final int status = statusOf(throwable);
+        if (status == HttpStatus.NOT_FOUND.value()) {
+            return SystemException.clientError("Cannot find a Post with id " + id, "Resource Not Found", status);
+        }
+        return new SystemException(message, INTEGRATION_ERROR, status, throwable);
+    }
+
+    private static int statusOf(final Throwable throwable) {
+        return ((WebClientResponseException) throwable).getStatusCode().value();
+    }
+}
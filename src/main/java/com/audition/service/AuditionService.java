@@ -1,32 +1,203 @@
 package com.audition.service;
 
+import com.audition.common.cache.CacheNames;
+import com.audition.common.exception.SystemException;
 import com.audition.integration.AuditionIntegrationClient;
+import com.audition.integration.ReactiveAuditionIntegrationClient;
 import com.audition.model.AuditionComment;
 import com.audition.model.AuditionPost;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Service
 public class AuditionService {
 
+    private static final String SNAPSHOT_STALE = "!@snapshotStore.isFresh()";
+    private static final String SNAPSHOT_MISS = "!@snapshotStore.containsPost(#postId)";
+    private static final int NOT_FOUND = 404;
+
     @Autowired
     private transient AuditionIntegrationClient auditionIntegrationClient;
 
+    @Autowired
+    private transient ReactiveAuditionIntegrationClient reactiveAuditionIntegrationClient;
+
+    @Autowired
+    private transient CacheManager cacheManager;
+
+    @Autowired
+    private transient SnapshotStore snapshotStore;
 
+    // reads are served from the dataset snapshot while it is fresh, and otherwise, as are posts the snapshot does
+    // not contain, through the caches configured in CacheConfiguration. sync = true lets only one caller load a
+    // missing key while concurrent callers for the same key wait for its result.
+    @Cacheable(cacheNames = CacheNames.POSTS, sync = true, condition = SNAPSHOT_STALE)
     public List<AuditionPost> getPosts() {
-        return auditionIntegrationClient.getPosts();
+        return snapshotStore.fresh().map(DatasetSnapshot::posts)
+            .orElseGet(() -> auditionIntegrationClient.getPosts());
     }
 
+    // ids missing from the snapshot are looked up upstream, the post may have been added since the last load.
+    // An id the upstream did not find is answered with a 404 from the missing-posts cache for a while.
+    @Cacheable(cacheNames = CacheNames.POST, sync = true, condition = SNAPSHOT_MISS)
     public AuditionPost getPostById(final int postId) {
-        return auditionIntegrationClient.getPostById(postId);
+        return snapshotStore.fresh().flatMap(snapshot -> snapshot.post(postId))
+            .orElseGet(() -> unlessMissing(postId, () -> auditionIntegrationClient.getPostById(postId)));
     }
 
+    @Cacheable(cacheNames = CacheNames.COMMENTS, sync = true, condition = SNAPSHOT_MISS)
     public List<AuditionComment> getCommentsByPostId(final int postId) {
-        return auditionIntegrationClient.getCommentsByPostId(postId);
+        return snapshotComments(postId).orElseGet(() ->
+            unlessMissing(postId, () -> auditionIntegrationClient.getCommentsByPostId(postId)));
     }
 
     public AuditionPost getPostWithCommentsById(final int postId) {
-        return auditionIntegrationClient.getPostWithCommentsByPostId(postId);
+        return snapshotPostWithComments(postId).orElseGet(() ->
+            unlessMissing(postId, () -> auditionIntegrationClient.getPostWithCommentsByPostId(postId)));
+    }
+
+    // hands matching posts to the sink one by one, from the cache when the collection is already cached
+    // and otherwise streamed from the upstream without holding the whole collection in memory.
+    public void streamPosts(final Predicate<AuditionPost> filter, final Consumer<AuditionPost> sink) {
+        final Optional<List<AuditionPost>> cached = getCachedPosts();
+        if (cached.isEmpty()) {
+            auditionIntegrationClient.streamPosts(filter, sink);
+            return;
+        }
+        for (final AuditionPost post : cached.get()) {
+            if (filter.test(post)) {
+                sink.accept(post);
+            }
+        }
+    }
+
+    // the snapshot or cached post collection, without loading it when it is not cached
+    @SuppressWarnings("unchecked")
+    public Optional<List<AuditionPost>> getCachedPosts() {
+        final Optional<DatasetSnapshot> snapshot = snapshotStore.fresh();
+        if (snapshot.isPresent()) {
+            return Optional.of(snapshot.get().posts());
+        }
+        final Cache cache = cacheManager.getCache(CacheNames.POSTS);
+        return Optional.ofNullable(cache == null ? null : cache.get(SimpleKey.EMPTY, List.class));
+    }
+
+    // the reactive reads share the snapshot and the caches (and cache keys) of the blocking reads above,
+    // a miss is fetched without blocking and stored once the upstream response is complete.
+    public Flux<AuditionPost> getPostsReactive() {
+        return Flux.defer(() -> snapshotStore.fresh().map(snapshot -> Flux.fromIterable(snapshot.posts()))
+            .orElseGet(() -> cachedFlux(CacheNames.POSTS, SimpleKey.EMPTY,
+                reactiveAuditionIntegrationClient::getPosts)));
+    }
+
+    public Mono<AuditionPost> getPostByIdReactive(final int postId) {
+        final Cache cache = cacheManager.getCache(CacheNames.POST);
+        return Mono.defer(() -> {
+            final Optional<AuditionPost> snapshot = snapshotStore.fresh().flatMap(fresh -> fresh.post(postId));
+            if (snapshot.isPresent()) {
+                return Mono.just(snapshot.get());
+            }
+            final AuditionPost cached = cache == null ? null : cache.get(postId, AuditionPost.class);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            if (isKnownMissing(postId)) {
+                return Mono.error(notFound(postId));
+            }
+            final Mono<AuditionPost> upstream = reactiveAuditionIntegrationClient.getPostById(postId)
+                .doOnError(e -> rememberIfMissing(postId, e));
+            return cache == null ? upstream : upstream.doOnNext(post -> cache.put(postId, post));
+        });
+    }
+
+    public Flux<AuditionComment> getCommentsByPostIdReactive(final int postId) {
+        return Flux.defer(() -> snapshotComments(postId).map(Flux::fromIterable)
+            .orElseGet(() -> cachedFlux(CacheNames.COMMENTS, postId, () -> isKnownMissing(postId)
+                ? Flux.error(notFound(postId))
+                : reactiveAuditionIntegrationClient.getCommentsByPostId(postId)
+                    .doOnError(e -> rememberIfMissing(postId, e)))));
+    }
+
+    public Mono<AuditionPost> getPostWithCommentsByIdReactive(final int postId) {
+        return Mono.defer(() -> snapshotPostWithComments(postId).map(Mono::just)
+            .orElseGet(() -> isKnownMissing(postId) ? Mono.error(notFound(postId))
+                : reactiveAuditionIntegrationClient.getPostWithCommentsByPostId(postId)
+                    .doOnError(e -> rememberIfMissing(postId, e))));
+    }
+
+    // the upstream is only asked for an id it did not find once the missing-posts entry expired
+    private <T> T unlessMissing(final int postId, final Supplier<T> upstream) {
+        if (isKnownMissing(postId)) {
+            throw notFound(postId);
+        }
+        try {
+            return upstream.get();
+        } catch (final SystemException e) {
+            rememberIfMissing(postId, e);
+            throw e;
+        }
+    }
+
+    private boolean isKnownMissing(final int postId) {
+        final Cache missing = cacheManager.getCache(CacheNames.MISSING_POSTS);
+        return missing != null && missing.get(postId) != null;
+    }
+
+    private void rememberIfMissing(final int postId, final Throwable failure) {
+        final Cache missing = cacheManager.getCache(CacheNames.MISSING_POSTS);
+        if (missing != null && failure instanceof SystemException e && e.getStatusCode() != null
+            && e.getStatusCode() == NOT_FOUND) {
+            missing.put(postId, Boolean.TRUE);
+        }
+    }
+
+    private static SystemException notFound(final int postId) {
+        return SystemException.clientError("Cannot find a Post with id " + postId, "Resource Not Found", NOT_FOUND);
+    }
+
+    // comments are only taken from the snapshot for posts it knows, an unknown post may be newer than the snapshot
+    private Optional<List<AuditionComment>> snapshotComments(final int postId) {
+        return snapshotStore.fresh()
+            .filter(snapshot -> snapshot.post(postId).isPresent())
+            .map(snapshot -> snapshot.comments(postId));
+    }
+
+    // snapshot posts are shared, so the comments go on a copy
+    private Optional<AuditionPost> snapshotPostWithComments(final int postId) {
+        return snapshotStore.fresh().flatMap(snapshot -> snapshot.post(postId)
+            .map(post -> new AuditionPost(post.getUserId(), post.getId(), post.getTitle(), post.getBody(),
+                snapshot.comments(postId))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Flux<T> cachedFlux(final String cacheName, final Object key,
+        final Supplier<Flux<T>> upstream) {
+        final Cache cache = cacheManager.getCache(cacheName);
+        return Flux.defer(() -> {
+            final List<T> cached = cache == null ? null : cache.get(key, List.class);
+            if (cached != null) {
+                return Flux.fromIterable(cached);
+            }
+            if (cache == null) {
+                return upstream.get();
+            }
+            // elements are streamed to the subscriber as they arrive and cached as a list on completion
+            final List<T> buffer = new ArrayList<>();
+            return upstream.get()
+                .doOnNext(buffer::add)
+                .doOnComplete(() -> cache.put(key, List.copyOf(buffer)));
+        });
     }
 }
@@ -0,0 +1,93 @@
+package com.audition.service;
+
+import com.audition.common.index.IntMultimap;
+import com.audition.common.store.CommentTable;
+import com.audition.common.store.PostTable;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+// An immutable copy of all posts and comments, loaded together by SnapshotLoader. Both are held in compact
+// column-wise tables and materialized on read, so a snapshot of the full dataset costs a fraction of the heap of
+// the equivalent object graph. Posts are looked up by id and comments by post id through int-keyed indexes of
+// their rows. Versions increase with every load.
+public final class DatasetSnapshot {
+
+    private final long version;
+    private final Instant loadedAt;
+    private final PostTable posts;
+    private final CommentTable comments;
+    private final IntMultimap rowsByPostId;
+    private final IntMultimap commentRowsByPostId;
+
+    DatasetSnapshot(final long version, final Instant loadedAt, final List<AuditionPost> posts,
+        final List<AuditionComment> comments, final boolean offHeap) {
+        this(version, loadedAt, PostTable.of(posts, offHeap), CommentTable.of(comments, offHeap));
+    }
+
+    DatasetSnapshot(final long version, final Instant loadedAt, final PostTable posts, final CommentTable comments) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.posts = posts;
+        this.comments = comments;
+        final IntMultimap.Builder postIndex = IntMultimap.builder();
+        for (int row = 0; row < this.posts.size(); row++) {
+            postIndex.put(this.posts.id(row), row);
+        }
+        this.rowsByPostId = postIndex.build();
+        final IntMultimap.Builder commentIndex = IntMultimap.builder();
+        for (int row = 0; row < this.comments.size(); row++) {
+            commentIndex.put(this.comments.postId(row), row);
+        }
+        this.commentRowsByPostId = commentIndex.build();
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    // the same list instance for the lifetime of the snapshot, posts carry no comments
+    public List<AuditionPost> posts() {
+        return posts.asList();
+    }
+
+    // the columns behind posts(), for indexes built without materializing the posts
+    PostTable postTable() {
+        return posts;
+    }
+
+    public boolean containsPost(final int postId) {
+        return rowsByPostId.get(postId).length > 0;
+    }
+
+    public Optional<AuditionPost> post(final int postId) {
+        final int[] rows = rowsByPostId.get(postId);
+        return rows.length == 0 ? Optional.empty() : Optional.of(posts.get(rows[0]));
+    }
+
+    // the comments of a post in upstream order, empty when the post has none or is unknown
+    public List<AuditionComment> comments(final int postId) {
+        final int[] rows = commentRowsByPostId.get(postId);
+        final List<AuditionComment> result = new ArrayList<>(rows.length);
+        for (final int row : rows) {
+            result.add(comments.get(row));
+        }
+        return List.copyOf(result);
+    }
+
+    public List<AuditionComment> allComments() {
+        return comments.asList();
+    }
+
+    public long estimatedBytes() {
+        return posts.estimatedBytes() + comments.estimatedBytes() + rowsByPostId.estimatedBytes()
+            + commentRowsByPostId.estimatedBytes();
+    }
+}
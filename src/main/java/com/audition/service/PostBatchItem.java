@@ -0,0 +1,16 @@
+package com.audition.service;
+
+import com.audition.model.AuditionPost;
+import org.springframework.http.ProblemDetail;
+
+// One entry of a batch response: the post, or the problem that prevented loading it.
+public record PostBatchItem(int id, AuditionPost post, ProblemDetail error) {
+
+    static PostBatchItem of(final int id, final AuditionPost post) {
+        return new PostBatchItem(id, post, null);
+    }
+
+    static PostBatchItem failed(final int id, final ProblemDetail error) {
+        return new PostBatchItem(id, null, error);
+    }
+}
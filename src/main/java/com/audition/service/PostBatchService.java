@@ -0,0 +1,142 @@
+package com.audition.service;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.ExecutorConfiguration;
+import com.audition.configuration.UpstreamProperties;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Service;
+
+// Loads many posts, optionally with their comments, for one batch request. Every post goes through the same
+// snapshot, cache and upstream path as a single read. The posts are loaded by a bounded number of parallel lanes
+// on the batch executor, and all lanes share the fan-out deadline. A post that fails or is not loaded in time
+// gets its own ProblemDetail, while the other posts are still returned.
+@Service
+public class PostBatchService {
+
+    static final String DEFAULT_TITLE = "API Error Occurred";
+    private static final Logger LOG = LoggerFactory.getLogger(PostBatchService.class);
+
+    @Autowired
+    private transient AuditionService auditionService;
+
+    @Autowired
+    private transient PostQueryService postQueryService;
+
+    @Autowired
+    @Qualifier(ExecutorConfiguration.BATCH_EXECUTOR)
+    private transient Executor batchExecutor;
+
+    @Autowired
+    private transient AuditionLogger logger;
+
+    @Autowired
+    private transient UpstreamProperties upstreamProperties;
+
+    // the ids must be distinct, the items are returned in the same order
+    public List<PostBatchItem> getPosts(final List<Integer> postIds, final boolean includeComments) {
+        final int count = postIds.size();
+        final AtomicReferenceArray<PostBatchItem> items = new AtomicReferenceArray<>(count);
+        final AtomicInteger next = new AtomicInteger();
+        final long deadline = System.nanoTime() + upstreamProperties.getFanOutTimeout().toNanos();
+        final int lanes = Math.min(count, upstreamProperties.getBatchConcurrency());
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            futures[lane] = startLane(() -> {
+                for (int index = next.getAndIncrement(); index < count; index = next.getAndIncrement()) {
+                    items.set(index, load(postIds.get(index), includeComments));
+                }
+            });
+        }
+        try {
+            CompletableFuture.allOf(futures).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException | ExecutionException e) {
+            // the items that are still missing are reported as timed out below
+            if (LOG.isDebugEnabled()) {
+                logger.debug(LOG, "Batch of " + count + " posts not complete: " + e);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // lanes stop taking ids, fetches already started finish in the background
+            next.set(count);
+        }
+
+        final List<PostBatchItem> result = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            final PostBatchItem item = items.get(index);
+            result.add(item != null ? item : PostBatchItem.failed(postIds.get(index),
+                problem(HttpStatus.GATEWAY_TIMEOUT, "Gateway Timeout",
+                    String.format("Timed out fetching post with id %d", postIds.get(index)))));
+        }
+        return result;
+    }
+
+    // a lane rejected by the saturated pool leaves its posts to the other lanes, or to time out when none started
+    private CompletableFuture<Void> startLane(final Runnable lane) {
+        try {
+            return CompletableFuture.runAsync(lane, batchExecutor);
+        } catch (final RejectedExecutionException e) {
+            if (LOG.isDebugEnabled()) {
+                logger.debug(LOG, "Batch lane rejected: " + e.getMessage());
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private PostBatchItem load(final int postId, final boolean includeComments) {
+        try {
+            // served from the indexed local copy when the post collection is cached, as for a single post
+            final AuditionPost post = postQueryService.findLoadedPost(postId)
+                .orElseGet(() -> auditionService.getPostById(postId));
+            if (!includeComments) {
+                return PostBatchItem.of(postId, post);
+            }
+            // cached posts are shared, so the comments go on a copy
+            final List<AuditionComment> comments = auditionService.getCommentsByPostId(postId);
+            return PostBatchItem.of(postId, new AuditionPost(post.getUserId(), post.getId(), post.getTitle(),
+                post.getBody(), comments));
+        } catch (final SystemException e) {
+            return PostBatchItem.failed(postId, problem(statusOf(e), e.getTitle(), e.getMessage()));
+        } catch (final RuntimeException e) {
+            return PostBatchItem.failed(postId, problem(HttpStatus.INTERNAL_SERVER_ERROR, DEFAULT_TITLE,
+                e.getMessage()));
+        }
+    }
+
+    // the same mapping as ExceptionControllerAdvice, codes outside the http range become 500
+    private static HttpStatusCode statusOf(final SystemException e) {
+        if (e.getStatusCode() == null) {
+            return HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        try {
+            return HttpStatusCode.valueOf(e.getStatusCode());
+        } catch (final IllegalArgumentException iae) {
+            return HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+    }
+
+    private static ProblemDetail problem(final HttpStatusCode status, final String title, final String detail) {
+        final ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+        problem.setTitle(title == null ? DEFAULT_TITLE : title);
+        return problem;
+    }
+}
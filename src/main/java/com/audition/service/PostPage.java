@@ -0,0 +1,10 @@
+package com.audition.service;
+
+import com.audition.model.AuditionPost;
+import java.util.List;
+
+// One page of a PostQuery result, total is the number of posts matching the query across all pages. contentDigest
+// identifies the content of the collection the page was taken from, see PostsView.
+public record PostPage(List<AuditionPost> items, int total, String contentDigest) {
+
+}
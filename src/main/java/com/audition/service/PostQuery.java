@@ -0,0 +1,10 @@
+package com.audition.service;
+
+// A query over the post collection. A null userId or search matches every post, a null page returns all matching
+// posts. The search matches posts whose title or body contain every word of it.
+public record PostQuery(Integer userId, String search, Integer page, int size, PostSortKey sortKey, boolean descending) {
+
+    public boolean isPaged() {
+        return page != null;
+    }
+}
@@ -0,0 +1,105 @@
+package com.audition.service;
+
+import com.audition.common.store.PostTable;
+import com.audition.model.AuditionPost;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class PostQueryService {
+
+    private static final String METRIC_PREFIX = "audition.index.posts.";
+
+    @Autowired
+    private transient AuditionService auditionService;
+
+    @Autowired
+    private transient SnapshotStore snapshotStore;
+
+    private volatile PostsView view;
+    private final transient Counter fullRebuilds;
+    private final transient Counter incrementalRebuilds;
+    private final transient Counter reusedRebuilds;
+
+    public PostQueryService(final MeterRegistry meterRegistry) {
+        Gauge.builder(METRIC_PREFIX + "memory", this, service -> service.currentIndexBytes())
+            .description("Estimated memory held by the post indexes")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "size", this, service -> service.currentSize())
+            .description("Posts covered by the indexes")
+            .register(meterRegistry);
+        this.fullRebuilds = rebuildCounter(meterRegistry, "full");
+        this.incrementalRebuilds = rebuildCounter(meterRegistry, "incremental");
+        this.reusedRebuilds = rebuildCounter(meterRegistry, "unchanged");
+    }
+
+    public PostPage query(final PostQuery query) {
+        return snapshotStore.fresh().map(snapshot -> viewOf(snapshot.posts(), snapshot.postTable()))
+            .orElseGet(() -> viewOf(auditionService.getPosts(), null))
+            .query(query);
+    }
+
+    // looks the post up in the local copy without loading the collection when it is not cached
+    public Optional<AuditionPost> findLoadedPost(final int postId) {
+        final Optional<DatasetSnapshot> snapshot = snapshotStore.fresh();
+        if (snapshot.isPresent()) {
+            return snapshot.get().post(postId);
+        }
+        return auditionService.getCachedPosts().flatMap(posts -> viewOf(posts, null).findById(postId));
+    }
+
+    // the view is rebuilt only when the post collection is replaced, by a new snapshot or after the cache entry
+    // expired. A snapshot view is built from the snapshot table, a cached collection reuses what it can of the
+    // previous view.
+    private PostsView viewOf(final List<AuditionPost> posts, final PostTable table) {
+        final PostsView current = view;
+        if (current != null && current.isViewOf(posts)) {
+            return current;
+        }
+        synchronized (this) {
+            if (view != null && view.isViewOf(posts)) {
+                return view;
+            }
+            final PostsView rebuilt;
+            if (table != null) {
+                rebuilt = PostsView.ofTable(table);
+                fullRebuilds.increment();
+            } else if (view == null) {
+                rebuilt = new PostsView(posts);
+                fullRebuilds.increment();
+            } else {
+                rebuilt = view.refresh(posts);
+                if (rebuilt.sharesIndexesWith(view)) {
+                    reusedRebuilds.increment();
+                } else {
+                    incrementalRebuilds.increment();
+                }
+            }
+            view = rebuilt;
+            return rebuilt;
+        }
+    }
+
+    private double currentIndexBytes() {
+        final PostsView current = view;
+        return current == null ? 0 : current.estimatedIndexBytes();
+    }
+
+    private double currentSize() {
+        final PostsView current = view;
+        return current == null ? 0 : current.size();
+    }
+
+    private static Counter rebuildCounter(final MeterRegistry meterRegistry, final String mode) {
+        return Counter.builder(METRIC_PREFIX + "rebuilds")
+            .description("Index rebuilds after the post collection was refreshed")
+            .tag("mode", mode)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,34 @@
+package com.audition.service;
+
+import com.audition.model.AuditionPost;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Optional;
+
+public enum PostSortKey {
+
+    ID(Comparator.comparingInt(AuditionPost::getId)),
+    USER_ID(Comparator.comparingInt(AuditionPost::getUserId).thenComparingInt(AuditionPost::getId)),
+    TITLE(Comparator.comparing(AuditionPost::getTitle, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparingInt(AuditionPost::getId));
+
+    private final Comparator<AuditionPost> comparator;
+
+    PostSortKey(final Comparator<AuditionPost> comparator) {
+        this.comparator = comparator;
+    }
+
+    public Comparator<AuditionPost> comparator() {
+        return comparator;
+    }
+
+    // maps the api field names (id, userId, title) to a sort key
+    public static Optional<PostSortKey> fromField(final String field) {
+        return switch (field.toLowerCase(Locale.ROOT)) {
+            case "id" -> Optional.of(ID);
+            case "userid" -> Optional.of(USER_ID);
+            case "title" -> Optional.of(TITLE);
+            default -> Optional.empty();
+        };
+    }
+}
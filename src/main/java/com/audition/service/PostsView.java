@@ -0,0 +1,252 @@
+package com.audition.service;
+
+import com.audition.common.hash.ContentDigest;
+import com.audition.common.index.IntMultimap;
+import com.audition.common.index.TokenIndex;
+import com.audition.common.store.PostTable;
+import com.audition.model.AuditionPost;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+// An immutable, indexed view over one post collection. The sort orders for every PostSortKey, a userId -> post
+// and a postId -> post index and an inverted index over title and body are computed once when the view is built,
+// so a query is a slice of a precomputed order instead of a filter and sort over the whole collection. The view
+// holds positions into the collection only, posts are read from it when a query returns them.
+public class PostsView {
+
+    private final List<AuditionPost> source;
+    private final String[][] tokens;
+    private final boolean fromTable;
+    private final String contentDigest;
+    private final Map<PostSortKey, int[]> orders;
+    private final Map<PostSortKey, int[]> ranks;
+    private final IntMultimap positionsByUserId;
+    private final IntMultimap positionsByPostId;
+    private final TokenIndex tokenIndex;
+
+    public PostsView(final List<AuditionPost> source) {
+        this(source, Columns.fromPosts(source, null), false);
+    }
+
+    private PostsView(final List<AuditionPost> source, final Columns columns, final boolean fromTable) {
+        this.source = source;
+        this.fromTable = fromTable;
+        // the tokens are only kept to be reused by refresh, which does not apply to snapshot tables
+        this.tokens = fromTable ? new String[0][] : columns.tokens();
+        this.contentDigest = columns.contentDigest();
+        this.orders = new EnumMap<>(PostSortKey.class);
+        this.ranks = new EnumMap<>(PostSortKey.class);
+        for (final PostSortKey key : PostSortKey.values()) {
+            final int[] order = IntStream.range(0, columns.ids().length).boxed()
+                .sorted(columns.order(key))
+                .mapToInt(Integer::intValue)
+                .toArray();
+            orders.put(key, order);
+            ranks.put(key, ranks(order));
+        }
+        final IntMultimap.Builder byUserId = IntMultimap.builder();
+        final IntMultimap.Builder byPostId = IntMultimap.builder();
+        for (final int position : orders.get(PostSortKey.ID)) {
+            byUserId.put(columns.userIds()[position], position);
+            byPostId.put(columns.ids()[position], position);
+        }
+        this.positionsByUserId = byUserId.build();
+        this.positionsByPostId = byPostId.build();
+        this.tokenIndex = TokenIndex.of(columns.tokens());
+    }
+
+    // the same content under a new collection instance, every index is shared
+    private PostsView(final PostsView same, final List<AuditionPost> source) {
+        this.source = source;
+        this.tokens = same.tokens;
+        this.fromTable = same.fromTable;
+        this.contentDigest = same.contentDigest;
+        this.orders = same.orders;
+        this.ranks = same.ranks;
+        this.positionsByUserId = same.positionsByUserId;
+        this.positionsByPostId = same.positionsByPostId;
+        this.tokenIndex = same.tokenIndex;
+    }
+
+    // a view over the posts of a snapshot, built from the table columns. Titles and bodies are decoded once to be
+    // indexed, and a post is only materialized when a query returns it.
+    public static PostsView ofTable(final PostTable table) {
+        return new PostsView(table.asList(), Columns.fromTable(table), true);
+    }
+
+    // the view is only valid for the collection instance it was built from
+    public boolean isViewOf(final List<AuditionPost> candidate) {
+        return source == candidate;
+    }
+
+    // builds the view of a refreshed collection. Unchanged content keeps every index, otherwise only the posts
+    // that were added or changed are tokenized again. A snapshot view has nothing to reuse.
+    public PostsView refresh(final List<AuditionPost> refreshed) {
+        if (fromTable) {
+            return new PostsView(refreshed);
+        }
+        if (source.equals(refreshed)) {
+            return new PostsView(this, refreshed);
+        }
+        return new PostsView(refreshed, Columns.fromPosts(refreshed, this), false);
+    }
+
+    public boolean sharesIndexesWith(final PostsView other) {
+        return tokenIndex == other.tokenIndex;
+    }
+
+    // a digest of every post in collection order, computed when the view is built. Equal content gives the same
+    // digest in every instance and changed content a different one, so it can back the entity tags of query
+    // responses.
+    public String contentDigest() {
+        return contentDigest;
+    }
+
+    public Optional<AuditionPost> findById(final int postId) {
+        final int[] positions = positionsByPostId.get(postId);
+        return positions.length == 0 ? Optional.empty() : Optional.of(source.get(positions[0]));
+    }
+
+    public int size() {
+        return source.size();
+    }
+
+    // an estimate of the memory held by the indexes, the posts themselves are shared with the cache or snapshot
+    public long estimatedIndexBytes() {
+        return 4L * source.size() * PostSortKey.values().length * 2
+            + positionsByUserId.estimatedBytes() + positionsByPostId.estimatedBytes() + tokenIndex.estimatedBytes();
+    }
+
+    public PostPage query(final PostQuery query) {
+        final int[] order = matchingPositions(query);
+        final int total = order.length;
+        int from = 0;
+        int to = total;
+        if (query.isPaged()) {
+            from = (int) Math.min(total, (long) query.page() * query.size());
+            to = Math.min(total, from + query.size());
+        }
+
+        final List<AuditionPost> items = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            final int index = query.descending() ? total - 1 - i : i;
+            items.add(source.get(order[index]));
+        }
+        return new PostPage(items, total, contentDigest);
+    }
+
+    private int[] matchingPositions(final PostQuery query) {
+        if (query.userId() == null && query.search() == null) {
+            return orders.get(query.sortKey());
+        }
+        int[] positions = query.userId() == null ? null : positionsByUserId.get(query.userId());
+        if (query.search() != null) {
+            final int[] hits = tokenIndex.search(query.search());
+            positions = positions == null ? hits : retain(positions, hits);
+        } else if (query.sortKey() == PostSortKey.ID) {
+            // the userId index is already in id order
+            return positions;
+        }
+        return sortByRank(positions, ranks.get(query.sortKey()));
+    }
+
+    private static int[] retain(final int[] positions, final int[] allowed) {
+        final BitSet allowedSet = new BitSet();
+        for (final int position : allowed) {
+            allowedSet.set(position);
+        }
+        return Arrays.stream(positions).filter(allowedSet::get).toArray();
+    }
+
+    // orders a subset by its rank in a precomputed order, rank and position are packed into a long to sort
+    // without boxing
+    private static int[] sortByRank(final int[] positions, final int[] rank) {
+        final long[] packed = new long[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            packed[i] = (long) rank[positions[i]] << 32 | positions[i];
+        }
+        Arrays.sort(packed);
+        final int[] sorted = new int[packed.length];
+        for (int i = 0; i < packed.length; i++) {
+            sorted[i] = (int) packed[i];
+        }
+        return sorted;
+    }
+
+    private static int[] ranks(final int[] order) {
+        final int[] rank = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            rank[order[i]] = i;
+        }
+        return rank;
+    }
+
+    // The fields the indexes are built from, by position. They only live while a view is built.
+    private record Columns(int[] ids, int[] userIds, String[] titles, String[][] tokens, String contentDigest) {
+
+        // reuses the tokens of the posts that did not change since the previous view
+        static Columns fromPosts(final List<AuditionPost> posts, final PostsView previous) {
+            final int size = posts.size();
+            final int[] ids = new int[size];
+            final int[] userIds = new int[size];
+            final String[] titles = new String[size];
+            final String[][] tokens = new String[size][];
+            final ContentDigest digest = new ContentDigest().add(size);
+            for (int row = 0; row < size; row++) {
+                final AuditionPost post = posts.get(row);
+                ids[row] = post.getId();
+                userIds[row] = post.getUserId();
+                titles[row] = post.getTitle();
+                tokens[row] = tokensOf(post, previous);
+                digest.add(post.getUserId()).add(post.getId()).add(post.getTitle()).add(post.getBody());
+            }
+            return new Columns(ids, userIds, titles, tokens, digest.toHex());
+        }
+
+        static Columns fromTable(final PostTable table) {
+            final int size = table.size();
+            final int[] ids = new int[size];
+            final int[] userIds = new int[size];
+            final String[] titles = new String[size];
+            final String[][] tokens = new String[size][];
+            final ContentDigest digest = new ContentDigest().add(size);
+            for (int row = 0; row < size; row++) {
+                ids[row] = table.id(row);
+                userIds[row] = table.userId(row);
+                titles[row] = table.title(row);
+                final String body = table.body(row);
+                tokens[row] = TokenIndex.tokenize(titles[row], body);
+                digest.add(userIds[row]).add(ids[row]).add(titles[row]).add(body);
+            }
+            return new Columns(ids, userIds, titles, tokens, digest.toHex());
+        }
+
+        // the positions in the order of a sort key, as PostSortKey orders the posts themselves
+        Comparator<Integer> order(final PostSortKey key) {
+            final Comparator<Integer> byId = Comparator.comparingInt(position -> ids[position]);
+            return switch (key) {
+                case ID -> byId;
+                case USER_ID -> Comparator.<Integer>comparingInt(position -> userIds[position]).thenComparing(byId);
+                case TITLE -> Comparator.<Integer, String>comparing(position -> titles[position],
+                    Comparator.nullsFirst(Comparator.naturalOrder())).thenComparing(byId);
+            };
+        }
+
+        private static String[] tokensOf(final AuditionPost post, final PostsView previous) {
+            if (previous != null && !previous.fromTable) {
+                final int[] positions = previous.positionsByPostId.get(post.getId());
+                if (positions.length > 0 && previous.source.get(positions[0]).equals(post)) {
+                    return previous.tokens[positions[0]];
+                }
+            }
+            return TokenIndex.tokenize(post.getTitle(), post.getBody());
+        }
+    }
+}
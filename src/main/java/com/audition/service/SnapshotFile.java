@@ -0,0 +1,174 @@
+package com.audition.service;
+
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+// A dataset snapshot persisted in a binary file, so that a restarted instance serves warm from the first request.
+// The file starts with a fixed header: magic, format version, snapshot version, load time, payload length and a
+// CRC32C of the payload. The payload holds the post rows and then the comment rows. A file is written to a
+// temporary sibling and moved over the previous one, and read through a read-only memory mapping.
+final class SnapshotFile {
+
+    static final int MAGIC = 0x41554453;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8 + 8;
+
+    private static final int NULL_LENGTH = -1;
+
+    private final Path path;
+
+    SnapshotFile(final Path path) {
+        this.path = path;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    void write(final DatasetSnapshot snapshot) throws IOException {
+        final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(payload)) {
+            final List<AuditionPost> posts = snapshot.posts();
+            out.writeInt(posts.size());
+            for (final AuditionPost post : posts) {
+                out.writeInt(post.getUserId());
+                out.writeInt(post.getId());
+                writeString(out, post.getTitle());
+                writeString(out, post.getBody());
+            }
+            final List<AuditionComment> comments = snapshot.allComments();
+            out.writeInt(comments.size());
+            for (final AuditionComment comment : comments) {
+                out.writeInt(comment.getPostId());
+                out.writeInt(comment.getId());
+                writeString(out, comment.getName());
+                writeString(out, comment.getEmail());
+                writeString(out, comment.getBody());
+            }
+        }
+        final byte[] body = payload.toByteArray();
+        final CRC32C crc = new CRC32C();
+        crc.update(body);
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+            .putInt(MAGIC)
+            .putInt(FORMAT_VERSION)
+            .putLong(snapshot.version())
+            .putLong(snapshot.loadedAt().toEpochMilli())
+            .putLong(body.length)
+            .putLong(crc.getValue())
+            .flip();
+
+        final Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final Path temporary = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                writeFully(channel, header);
+                writeFully(channel, ByteBuffer.wrap(body));
+                channel.force(true);
+            }
+            // readers never observe a partially written file
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    // fails with an IOException when the file is truncated, corrupt or written in another format
+    Contents read() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Snapshot file is truncated: " + path);
+            }
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a snapshot file: " + path);
+            }
+            final int format = buffer.getInt();
+            if (format != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format " + format + ": " + path);
+            }
+            final long version = buffer.getLong();
+            final Instant loadedAt = Instant.ofEpochMilli(buffer.getLong());
+            final long length = buffer.getLong();
+            final long checksum = buffer.getLong();
+            if (length != channel.size() - HEADER_BYTES) {
+                throw new IOException("Snapshot file is truncated: " + path);
+            }
+            final CRC32C crc = new CRC32C();
+            crc.update(buffer.slice());
+            if (crc.getValue() != checksum) {
+                throw new IOException("Snapshot file checksum mismatch: " + path);
+            }
+            try {
+                return new Contents(version, loadedAt, readPosts(buffer), readComments(buffer));
+            } catch (RuntimeException e) {
+                throw new IOException("Snapshot file is malformed: " + path, e);
+            }
+        }
+    }
+
+    private static List<AuditionPost> readPosts(final ByteBuffer buffer) {
+        final int count = buffer.getInt();
+        final List<AuditionPost> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            posts.add(new AuditionPost(buffer.getInt(), buffer.getInt(), readString(buffer), readString(buffer),
+                null));
+        }
+        return posts;
+    }
+
+    private static List<AuditionComment> readComments(final ByteBuffer buffer) {
+        final int count = buffer.getInt();
+        final List<AuditionComment> comments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            comments.add(new AuditionComment(buffer.getInt(), buffer.getInt(), readString(buffer),
+                readString(buffer), readString(buffer)));
+        }
+        return comments;
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    record Contents(long version, Instant loadedAt, List<AuditionPost> posts, List<AuditionComment> comments) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.audition.service;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.logging.AuditionLogger;
+import com.audition.common.store.CommentTable;
+import com.audition.configuration.SnapshotProperties;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.AuditionPost;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.client.RestClientException;
+
+// Loads all posts and comments ahead of the reads: once at start and then every refresh interval, on a background
+// thread of the snapshot scheduler. Each load is published as a new snapshot. A failed load keeps the previous snapshot, which is served
+// until it exceeds max-staleness. With a snapshot file configured, every load is also written to disk and the
+// last written snapshot is restored at start, before the web server accepts requests.
+public class SnapshotLoader implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SnapshotLoader.class);
+    private static final String METRIC_NAME = "audition.snapshot.loads";
+
+    private final transient AuditionIntegrationClient auditionIntegrationClient;
+    private final transient SnapshotStore snapshotStore;
+    private final transient TaskScheduler scheduler;
+    private final transient Duration refreshInterval;
+    private final transient SnapshotFile snapshotFile;
+    private final transient AuditionLogger logger;
+    private final transient Counter successfulLoads;
+    private final transient Counter failedLoads;
+    private final transient Object lifecycleLock = new Object();
+    private final AtomicReference<ScheduledFuture<?>> scheduled = new AtomicReference<>();
+
+    public SnapshotLoader(final AuditionIntegrationClient auditionIntegrationClient,
+        final SnapshotStore snapshotStore, final TaskScheduler scheduler, final SnapshotProperties properties,
+        final AuditionLogger logger, final MeterRegistry meterRegistry) {
+        this.auditionIntegrationClient = auditionIntegrationClient;
+        this.snapshotStore = snapshotStore;
+        this.scheduler = scheduler;
+        this.refreshInterval = properties.getRefreshInterval();
+        this.snapshotFile = properties.getFile() == null ? null : new SnapshotFile(properties.getFile());
+        this.logger = logger;
+        this.successfulLoads = Counter.builder(METRIC_NAME)
+            .description("Loads of the dataset snapshot")
+            .tag("result", "success")
+            .register(meterRegistry);
+        this.failedLoads = Counter.builder(METRIC_NAME)
+            .description("Loads of the dataset snapshot")
+            .tag("result", "failure")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        synchronized (lifecycleLock) {
+            if (scheduled.get() != null) {
+                return;
+            }
+            restore();
+            scheduled.set(scheduler.scheduleWithFixedDelay(this::load, refreshInterval));
+        }
+    }
+
+    @Override
+    public void stop() {
+        final ScheduledFuture<?> task = scheduled.getAndSet(null);
+        if (task != null) {
+            task.cancel(true);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduled.get() != null;
+    }
+
+    // the web server is started in a later phase, so a restored snapshot serves the very first request
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 2048;
+    }
+
+    // an unexpected exception is logged by the scheduler, which keeps the task scheduled
+    void load() {
+        try {
+            final List<AuditionPost> posts = auditionIntegrationClient.getPosts();
+            // all comments in one streamed pass, grouped by post id in the snapshot instead of a call per post
+            final CommentTable.Builder comments = CommentTable.builder();
+            auditionIntegrationClient.streamComments(comments::add);
+            final DatasetSnapshot snapshot = snapshotStore.publish(posts, comments);
+            successfulLoads.increment();
+            if (LOG.isDebugEnabled()) {
+                logger.debug(LOG, "Loaded dataset snapshot " + snapshot.version());
+            }
+            persist(snapshot);
+        } catch (final SystemException | RestClientException | UncheckedIOException e) {
+            failedLoads.increment();
+            if (LOG.isWarnEnabled()) {
+                logger.warn(LOG, "Failed to refresh the dataset snapshot: {}", e.getMessage());
+            }
+        }
+    }
+
+    void restore() {
+        if (snapshotFile == null || !Files.exists(snapshotFile.path())) {
+            return;
+        }
+        try {
+            final SnapshotFile.Contents contents = snapshotFile.read();
+            if (snapshotStore.restore(contents) && LOG.isInfoEnabled()) {
+                logger.info(LOG, "Restored dataset snapshot {} loaded at {}", contents.version(),
+                    contents.loadedAt());
+            }
+        } catch (final IOException e) {
+            // an unreadable file only costs the warm start, the next load overwrites it
+            if (LOG.isWarnEnabled()) {
+                logger.warn(LOG, "Failed to restore the dataset snapshot: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void persist(final DatasetSnapshot snapshot) {
+        if (snapshotFile == null) {
+            return;
+        }
+        try {
+            snapshotFile.write(snapshot);
+        } catch (final IOException e) {
+            if (LOG.isWarnEnabled()) {
+                logger.warn(LOG, "Failed to write the dataset snapshot to {}: {}", snapshotFile.path(),
+                    e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.audition.service;
+
+import com.audition.common.store.CommentTable;
+import com.audition.common.store.PostTable;
+import com.audition.configuration.SnapshotProperties;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Holds the current DatasetSnapshot. SnapshotLoader swaps in a new snapshot atomically, readers only get it while it
+// is younger than max-staleness and fall back to the caches and the upstream otherwise.
+@Component
+public class SnapshotStore {
+
+    private static final String METRIC_PREFIX = "audition.snapshot.";
+
+    private final AtomicReference<DatasetSnapshot> current = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final transient Duration maxStaleness;
+    private final transient boolean offHeap;
+    private final transient Clock clock;
+
+    @Autowired
+    public SnapshotStore(final SnapshotProperties properties, final MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    SnapshotStore(final SnapshotProperties properties, final MeterRegistry meterRegistry, final Clock clock) {
+        this.maxStaleness = properties.getMaxStaleness();
+        this.offHeap = properties.isOffHeap();
+        this.clock = clock;
+        Gauge.builder(METRIC_PREFIX + "age", this, SnapshotStore::ageSeconds)
+            .description("Age of the dataset snapshot, NaN before the first load")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "version", versions, AtomicLong::get)
+            .description("Version of the latest dataset snapshot")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "heap", current,
+                reference -> reference.get() == null ? 0 : reference.get().estimatedBytes())
+            .description("Estimated heap held by the dataset snapshot")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    public Optional<DatasetSnapshot> fresh() {
+        final DatasetSnapshot snapshot = current.get();
+        if (snapshot == null || snapshot.loadedAt().plus(maxStaleness).isBefore(clock.instant())) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot);
+    }
+
+    // used by the cache conditions of AuditionService: reads answered by a fresh snapshot bypass the caches, the
+    // others, such as a post the snapshot does not contain, go through them
+    public boolean isFresh() {
+        return fresh().isPresent();
+    }
+
+    public boolean containsPost(final int postId) {
+        return fresh().filter(snapshot -> snapshot.containsPost(postId)).isPresent();
+    }
+
+    public DatasetSnapshot publish(final List<AuditionPost> posts, final List<AuditionComment> comments) {
+        final CommentTable.Builder table = CommentTable.builder();
+        comments.forEach(table::add);
+        return publish(posts, table);
+    }
+
+    // the comments are handed over as rows that were appended while they were streamed from the upstream
+    public DatasetSnapshot publish(final List<AuditionPost> posts, final CommentTable.Builder comments) {
+        final DatasetSnapshot snapshot = new DatasetSnapshot(versions.incrementAndGet(), clock.instant(),
+            PostTable.of(posts, offHeap), comments.build(offHeap));
+        current.set(snapshot);
+        return snapshot;
+    }
+
+    // publishes a snapshot restored from disk, unless a newer one was loaded meanwhile. The restored snapshot keeps
+    // its version and load time, so it is only served while it is fresh.
+    boolean restore(final SnapshotFile.Contents contents) {
+        final DatasetSnapshot snapshot = new DatasetSnapshot(contents.version(), contents.loadedAt(), contents.posts(),
+            contents.comments(), offHeap);
+        if (!current.compareAndSet(null, snapshot)) {
+            return false;
+        }
+        versions.accumulateAndGet(contents.version(), Math::max);
+        return true;
+    }
+
+    private double ageSeconds() {
+        final DatasetSnapshot snapshot = current.get();
+        return snapshot == null ? Double.NaN
+            : Duration.between(snapshot.loadedAt(), Instant.now(clock)).toMillis() / 1000.0;
+    }
+}
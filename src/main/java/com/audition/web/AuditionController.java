@@ -1,80 +1,329 @@
 package com.audition.web;
 
 import com.audition.common.exception.SystemException;
+import com.audition.common.index.TokenIndex;
+import com.audition.configuration.UpstreamProperties;
 import com.audition.model.AuditionComment;
 import com.audition.model.AuditionPost;
 import com.audition.service.AuditionService;
+import com.audition.service.PostBatchItem;
+import com.audition.service.PostBatchService;
+import com.audition.service.PostPage;
+import com.audition.service.PostQuery;
+import com.audition.service.PostQueryService;
+import com.audition.service.PostSortKey;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @RestController
 public class AuditionController {
 
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String POSTS_KEY = "/posts";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    // the magnitude of Integer.MIN_VALUE, the largest a parsed id may reach
+    private static final long MAX_MAGNITUDE = -(long) Integer.MIN_VALUE;
+
     @Autowired
     transient AuditionService auditionService;
 
+    @Autowired
+    transient PostQueryService postQueryService;
+
+    @Autowired
+    transient ObjectMapper objectMapper;
+
+    @Autowired
+    transient SerializedResponseCache serializedResponseCache;
+
+    @Autowired
+    transient PostBatchService postBatchService;
+
+    @Autowired
+    transient UpstreamProperties upstreamProperties;
+
+    private final transient AtomicReference<TaggedPosts> allPostsTag = new AtomicReference<>();
+
     // Add a query param that allows data filtering. The intent of the filter is at developers discretion.
+    // Supported: userId filter, q=<words> search over title and body, page/size pagination,
+    // sort=<id|userId|title>[,asc|desc] and fields=<field,...> projection. Without any of them the full post list
+    // is returned as before. Responses are served from the serialized response cache, keyed by the parsed
+    // parameters, so query strings that only differ in their order or spelling share one entry.
     @RequestMapping(value = "/posts", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
-    public @ResponseBody List<AuditionPost> getPosts(
-        @RequestParam(value = "userId", required = false) final String userId) {
-        // Add logic that filters response data based on the query param.
-        // Currently, the userId filter has been added.
-        // More filters like title/body filtering can be added as needed later.
-        // Paging and sorting can also be added as needed later.
-        final List<AuditionPost> auditionPosts = auditionService.getPosts();
+    public @ResponseBody ResponseEntity<byte[]> getSerializedPosts(
+        @RequestParam(value = "userId", required = false) final String userId,
+        @RequestParam(value = "q", required = false) final String search,
+        @RequestParam(value = "page", required = false) final String page,
+        @RequestParam(value = "size", required = false) final String size,
+        @RequestParam(value = "sort", required = false) final String sort,
+        @RequestParam(value = "fields", required = false) final String fields,
+        final HttpServletRequest request) {
+        if (StringUtils.isAllEmpty(userId, search, page, size, sort, fields)) {
+            return serializedResponseCache.render(POSTS_KEY, getAllPosts(), request);
+        }
 
         // input validation
-        if (StringUtils.isEmpty(userId)) {
-            return auditionPosts;
+        final PostQuery query = getPostQuery(userId, search, page, size, sort);
+        final PostProjection projection = getProjection(fields);
+        return serializedResponseCache.render(getPostsKey(query, projection), queryPosts(query, projection),
+            request);
+    }
+
+    // the tag of the full collection is computed once per collection instance, a snapshot or a cache entry
+    private ResponseEntity<List<?>> getAllPosts() {
+        final List<AuditionPost> posts = auditionService.getPosts();
+        TaggedPosts tagged = allPostsTag.get();
+        if (tagged == null || !tagged.isTagOf(posts)) {
+            tagged = new TaggedPosts(posts, ETags.forContent(posts));
+            allPostsTag.set(tagged);
         }
-        final int userIdInt;
-        try {
-            userIdInt = Integer.parseInt(userId);
-        } catch (NumberFormatException e) {
-            throw new SystemException(String.format("Invalid userId parameter %s", userId), "Bad Request",
-                HttpStatus.BAD_REQUEST.value());
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache())
+            .eTag(tagged.tag())
+            .body(posts);
+    }
+
+    // a page is fully determined by the collection and the query, so its tag is derived from the content hash of
+    // the collection and the normalized query instead of the posts on the page
+    private ResponseEntity<List<?>> queryPosts(final PostQuery query, final PostProjection projection) {
+        final PostPage result = postQueryService.query(query);
+        final List<?> body = projection == null ? result.items() : projection.apply(result.items());
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache())
+            .eTag(ETags.forSelection(getPostsKey(query, projection), result.contentDigest()))
+            .header(TOTAL_COUNT_HEADER, String.valueOf(result.total()))
+            .body(body);
+    }
+
+    // Streams the (optionally userId filtered) posts straight from the upstream response to the client. Posts are
+    // parsed and written one at a time, so memory use stays constant regardless of the collection size.
+    @RequestMapping(value = "/posts/stream", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPosts(
+        @RequestParam(value = "userId", required = false) final String userId) {
+        final Predicate<AuditionPost> filter;
+        if (StringUtils.isEmpty(userId)) {
+            filter = post -> true;
+        } else {
+            final int userIdInt = getIntegerUserId(userId);
+            filter = post -> post.getUserId() == userIdInt;
         }
 
-        return auditionPosts.stream().filter(post -> post.getUserId() == userIdInt).toList();
+        final StreamingResponseBody body = outputStream -> {
+            final JsonArrayWriter writer = new JsonArrayWriter(objectMapper.getFactory().createGenerator(outputStream));
+            auditionService.streamPosts(filter, writer::write);
+            writer.finish();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @RequestMapping(value = "/posts/{id}", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
-    public @ResponseBody AuditionPost getPostById(@PathVariable("id") final String postId) {
+    public @ResponseBody ResponseEntity<AuditionPost> getPostById(@PathVariable("id") final String postId) {
         // input validation
         final int postIdInt = getIntegerId(postId);
 
-        return auditionService.getPostById(postIdInt);
+        // served from the indexed local copy when the post collection is cached
+        final AuditionPost post = postQueryService.findLoadedPost(postIdInt)
+            .orElseGet(() -> auditionService.getPostById(postIdInt));
+        return conditional(post).body(post);
+    }
+
+    // Many posts, optionally with their comments, in one call. Duplicate ids are served once and the items follow
+    // the order of the first occurrence of each id. Every item holds either its post or a ProblemDetail, so one
+    // missing post does not fail the whole batch.
+    @RequestMapping(value = "/posts/batch", method = RequestMethod.POST, consumes = MediaType.APPLICATION_JSON_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE)
+    public @ResponseBody List<PostBatchItem> getPostsBatch(@RequestBody final PostBatchRequest request) {
+        // input validation
+        final List<Integer> postIds = getDistinctIds(request.ids());
+
+        return postBatchService.getPosts(postIds, request.includeComments());
     }
 
     // Add additional methods to return comments for each post. Hint: Check https://jsonplaceholder.typicode.com/
     @RequestMapping(value = "/posts/{id}/comments", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
-    public @ResponseBody List<AuditionComment> getCommentsForPost(@PathVariable("id") final String postId) {
+    public @ResponseBody ResponseEntity<List<AuditionComment>> getCommentsForPost(
+        @PathVariable("id") final String postId) {
         // input validation
         final int postIdInt = getIntegerId(postId);
 
         // assume the comments are returned separately from posts
         // alternatively, comments can be part of the AuditionPost object,
         // using auditionService.getPostWithCommentsById(postIdInt);
-        return auditionService.getCommentsByPostId(postIdInt);
+        final List<AuditionComment> comments = auditionService.getCommentsByPostId(postIdInt);
+        return conditional(comments).body(comments);
+    }
+
+    // Reactive variants of the endpoints above. They are served without blocking a request thread while waiting
+    // for the upstream. With "Accept: application/x-ndjson" the posts are streamed one per line as they are
+    // decoded, honouring backpressure from the client, otherwise the result is rendered as a JSON array.
+    @RequestMapping(value = "/reactive/posts", method = RequestMethod.GET,
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public @ResponseBody Flux<AuditionPost> getPostsReactive(
+        @RequestParam(value = "userId", required = false) final String userId) {
+        final Flux<AuditionPost> auditionPosts = auditionService.getPostsReactive();
+        if (StringUtils.isEmpty(userId)) {
+            return auditionPosts;
+        }
+        final int userIdInt = getIntegerUserId(userId);
+
+        return auditionPosts.filter(post -> post.getUserId() == userIdInt);
+    }
+
+    @RequestMapping(value = "/reactive/posts/{id}", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public @ResponseBody Mono<AuditionPost> getPostByIdReactive(@PathVariable("id") final String postId) {
+        return auditionService.getPostByIdReactive(getIntegerId(postId));
+    }
+
+    @RequestMapping(value = "/reactive/posts/{id}/comments", method = RequestMethod.GET,
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public @ResponseBody Flux<AuditionComment> getCommentsForPostReactive(@PathVariable("id") final String postId) {
+        return auditionService.getCommentsByPostIdReactive(getIntegerId(postId));
+    }
+
+    // A 200 response with a strong ETag of its content. Spring answers a GET whose If-None-Match matches the tag with
+    // 304 Not Modified before the body is serialized. no-cache lets clients and proxies store the response as long as
+    // they revalidate it.
+    private static ResponseEntity.BodyBuilder conditional(final Object content) {
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache())
+            .eTag(ETags.forContent(content));
+    }
+
+    private static PostProjection getProjection(final String fields) {
+        return StringUtils.isEmpty(fields) ? null : PostProjection.of(fields);
+    }
+
+    // every parameter in a fixed order and in its parsed form: the search as its sorted distinct words, the
+    // defaults spelled out and the projected fields in the order they are rendered
+    static String getPostsKey(final PostQuery query, final PostProjection projection) {
+        final String[] words = TokenIndex.tokenize(query.search());
+        Arrays.sort(words);
+        return POSTS_KEY + "?userId=" + StringUtils.defaultString(Objects.toString(query.userId(), null))
+            + (query.search() == null ? "" : "&q=" + String.join(" ", words))
+            + "&page=" + StringUtils.defaultString(Objects.toString(query.page(), null))
+            + "&size=" + query.size()
+            + "&sort=" + query.sortKey() + (query.descending() ? ",desc" : ",asc")
+            + "&fields=" + (projection == null ? "" : projection.fieldNames());
+    }
+
+    private static PostQuery getPostQuery(final String userId, final String search, final String page,
+        final String size, final String sort) {
+        final Integer userIdInt = StringUtils.isEmpty(userId) ? null : getIntegerUserId(userId);
+        Integer pageInt = null;
+        int sizeInt = DEFAULT_PAGE_SIZE;
+        if (StringUtils.isNotEmpty(page) || StringUtils.isNotEmpty(size)) {
+            pageInt = StringUtils.isEmpty(page) ? 0 : getIntegerParam("page", page, 0, Integer.MAX_VALUE);
+            sizeInt = StringUtils.isEmpty(size) ? DEFAULT_PAGE_SIZE : getIntegerParam("size", size, 1, MAX_PAGE_SIZE);
+        }
+
+        PostSortKey sortKey = PostSortKey.ID;
+        boolean descending = false;
+        if (StringUtils.isNotEmpty(sort)) {
+            final String[] parts = sort.split(",", 2);
+            final String direction = parts.length > 1 ? parts[1].trim() : "asc";
+            sortKey = PostSortKey.fromField(parts[0].trim())
+                .filter(key -> "asc".equalsIgnoreCase(direction) || "desc".equalsIgnoreCase(direction))
+                .orElseThrow(() -> badRequest("Invalid sort parameter " + sort));
+            descending = "desc".equalsIgnoreCase(direction);
+        }
+        return new PostQuery(userIdInt, StringUtils.isBlank(search) ? null : search, pageInt, sizeInt, sortKey, descending);
+    }
+
+    private List<Integer> getDistinctIds(final List<Integer> ids) {
+        if (ids == null || ids.isEmpty() || ids.stream().anyMatch(Objects::isNull)) {
+            throw badRequest("Invalid ids parameter, expected a list of post ids");
+        }
+        final List<Integer> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        if (distinct.size() > upstreamProperties.getBatchMaxSize()) {
+            throw badRequest("Invalid ids parameter, at most " + upstreamProperties.getBatchMaxSize()
+                + " distinct ids are allowed");
+        }
+        return distinct;
+    }
+
+    private static int getIntegerParam(final String name, final String value, final int min, final int max) {
+        final Integer parsed = parseInteger(value);
+        if (parsed == null || parsed < min || parsed > max) {
+            throw badRequest("Invalid " + name + " parameter " + value);
+        }
+        return parsed;
+    }
+
+    private static int getIntegerUserId(final String userId) {
+        final Integer parsed = parseInteger(userId);
+        if (parsed == null) {
+            throw badRequest("Invalid userId parameter " + userId);
+        }
+        return parsed;
     }
 
     private static int getIntegerId(final String postId) {
-        final int idInt;
-        try {
-            idInt = Integer.parseInt(postId);
-        } catch (NumberFormatException e) {
-            throw new SystemException(String.format("Invalid postId parameter %s", postId), "Bad Request",
-                HttpStatus.BAD_REQUEST.value());
+        final Integer parsed = parseInteger(postId);
+        if (parsed == null) {
+            throw badRequest("Invalid postId parameter " + postId);
+        }
+        return parsed;
+    }
+
+    // the values Integer.parseInt accepts, without the NumberFormatException (and its stack trace) it throws for
+    // every malformed id
+    static Integer parseInteger(final String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        final boolean negative = value.charAt(0) == '-';
+        final int start = negative || value.charAt(0) == '+' ? 1 : 0;
+        if (value.length() == start) {
+            return null;
+        }
+        // leading zeros are allowed, so the length says nothing about the range; the value is checked as it grows
+        // and stops before the long could overflow
+        long result = 0;
+        for (int i = start; i < value.length(); i++) {
+            final char digit = value.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return null;
+            }
+            result = result * 10 + digit - '0';
+            if (result > MAX_MAGNITUDE) {
+                return null;
+            }
+        }
+        result = negative ? -result : result;
+        return result < Integer.MIN_VALUE || result > Integer.MAX_VALUE ? null : (int) result;
+    }
+
+    private static SystemException badRequest(final String detail) {
+        return SystemException.clientError(detail, "Bad Request", HttpStatus.BAD_REQUEST.value());
+    }
+
+    private record TaggedPosts(List<AuditionPost> posts, String tag) {
+
+        boolean isTagOf(final List<AuditionPost> candidate) {
+            return posts == candidate;
         }
-        return idInt;
     }
 }
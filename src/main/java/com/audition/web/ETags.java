@@ -0,0 +1,28 @@
+package com.audition.web;
+
+import com.audition.common.hash.ContentDigest;
+
+// Strong entity tags computed from a SHA-256 digest of the response content instead of its serialized bytes, so an
+// unchanged response is answered with 304 Not Modified without being serialized, and changed content always gets a
+// new tag. Digesting a post list still reads every post, so the /posts tags are computed once per collection, see
+// AuditionController.
+final class ETags {
+
+    private ETags() {
+    }
+
+    // posts, comments or collections of them
+    static String forContent(final Object content) {
+        return quote(new ContentDigest().addContent(content).toHex());
+    }
+
+    // a tag for content identified by a digest taken earlier, together with what selected it from that content,
+    // e.g. a page of a post collection and its normalized query
+    static String forSelection(final String selection, final String contentDigest) {
+        return quote(new ContentDigest().add(selection).add(contentDigest).toHex());
+    }
+
+    private static String quote(final String digest) {
+        return "\"" + digest + "\"";
+    }
+}
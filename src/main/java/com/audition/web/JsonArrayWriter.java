@@ -0,0 +1,39 @@
+package com.audition.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// Writes elements of a JSON array as they are produced. The opening bracket is only written with the first
+// element, so a failure before any element leaves the response untouched and it can still carry a ProblemDetail.
+class JsonArrayWriter {
+
+    private final transient JsonGenerator generator;
+    private boolean started;
+
+    JsonArrayWriter(final JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    void write(final Object element) {
+        try {
+            start();
+            generator.writeObject(element);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void finish() throws IOException {
+        start();
+        generator.writeEndArray();
+        generator.close();
+    }
+
+    private void start() throws IOException {
+        if (!started) {
+            generator.writeStartArray();
+            started = true;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.audition.web;
+
+import java.util.List;
+
+// body of POST /posts/batch, e.g. {"ids": [1, 2, 3], "includeComments": true}
+public record PostBatchRequest(List<Integer> ids, boolean includeComments) {
+
+}
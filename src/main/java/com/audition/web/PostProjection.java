@@ -0,0 +1,53 @@
+package com.audition.web;
+
+import com.audition.common.exception.SystemException;
+import com.audition.model.AuditionPost;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.http.HttpStatus;
+
+// Projects posts onto the subset of fields requested through the "fields" query parameter, e.g. fields=id,title,
+// so list views do not have to download the post bodies.
+final class PostProjection {
+
+    private static final Map<String, Function<AuditionPost, Object>> ACCESSORS = Map.of(
+        "userId", AuditionPost::getUserId,
+        "id", AuditionPost::getId,
+        "title", AuditionPost::getTitle,
+        "body", AuditionPost::getBody);
+
+    private final List<String> fields;
+
+    private PostProjection(final List<String> fields) {
+        this.fields = fields;
+    }
+
+    static PostProjection of(final String fields) {
+        final List<String> names = List.of(fields.split(",")).stream().map(String::trim)
+            .filter(name -> !name.isEmpty()).distinct().toList();
+        if (names.isEmpty() || !ACCESSORS.keySet().containsAll(names)) {
+            throw SystemException.clientError("Invalid fields parameter " + fields, "Bad Request",
+                HttpStatus.BAD_REQUEST.value());
+        }
+        return new PostProjection(names);
+    }
+
+    // the distinct requested fields, in the order they are rendered
+    String fieldNames() {
+        return String.join(",", fields);
+    }
+
+    List<Map<String, Object>> apply(final List<AuditionPost> posts) {
+        return posts.stream().map(this::project).toList();
+    }
+
+    private Map<String, Object> project(final AuditionPost post) {
+        final Map<String, Object> projected = new LinkedHashMap<>();
+        for (final String field : fields) {
+            projected.put(field, ACCESSORS.get(field).apply(post));
+        }
+        return projected;
+    }
+}
@@ -0,0 +1,117 @@
+package com.audition.web;
+
+import com.audition.common.cache.CacheNames;
+import com.audition.common.cache.SerializedPayload;
+import com.audition.common.exception.SystemException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+// Keeps the serialized json of hot responses, and its gzip encoding once a client accepted it, in the "responses"
+// cache keyed by endpoint and normalized query. An entry is only used while the ETag of the response content matches
+// the one it was serialized from, so a refresh of the underlying data replaces it on the next request. The tags are
+// content digests (see ETags), so changed content never matches the tag of an entry. The cached bytes are handed to
+// the servlet output stream as they are.
+@Component
+public class SerializedResponseCache {
+
+    // smaller responses are not worth compressing
+    static final int MIN_GZIP_SIZE = 1024;
+    private static final String GZIP = "gzip";
+
+    private final transient Cache cache;
+    private final transient ObjectMapper objectMapper;
+
+    public SerializedResponseCache(final CacheManager cacheManager, final ObjectMapper objectMapper) {
+        this.cache = cacheManager.getCache(CacheNames.RESPONSES);
+        this.objectMapper = objectMapper;
+    }
+
+    public ResponseEntity<byte[]> render(final String key, final ResponseEntity<?> entity,
+        final HttpServletRequest request) {
+        final String eTag = entity.getHeaders().getETag();
+        SerializedPayload payload = cache == null || eTag == null ? null : cache.get(key, SerializedPayload.class);
+        if (payload == null || !payload.entityTag().equals(eTag)) {
+            payload = new SerializedPayload(eTag, serialize(entity.getBody()), null);
+            put(key, payload);
+        }
+
+        final HttpHeaders headers = new HttpHeaders();
+        headers.putAll(entity.getHeaders());
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (payload.json().length < MIN_GZIP_SIZE || !acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return new ResponseEntity<>(payload.json(), headers, entity.getStatusCode());
+        }
+        if (payload.gzip() == null) {
+            payload = payload.withGzip(gzip(payload.json()));
+            put(key, payload);
+        }
+        // each encoding is a different representation, so it gets its own strong tag
+        if (eTag != null) {
+            headers.setETag(eTag.substring(0, eTag.length() - 1) + "-" + GZIP + "\"");
+        }
+        headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+        return new ResponseEntity<>(payload.gzip(), headers, entity.getStatusCode());
+    }
+
+    // true when gzip (or any coding) is listed without q=0
+    static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (final String coding : acceptEncoding.split(",")) {
+            final String[] parts = coding.split(";");
+            final String name = parts[0].trim();
+            if (GZIP.equalsIgnoreCase(name) || "*".equals(name)) {
+                return parts.length < 2 || hasPositiveQuality(parts[1].trim());
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasPositiveQuality(final String parameter) {
+        if (!parameter.startsWith("q=")) {
+            return true;
+        }
+        try {
+            return Double.parseDouble(parameter.substring(2)) > 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private void put(final String key, final SerializedPayload payload) {
+        if (cache != null && payload.entityTag() != null) {
+            cache.put(key, payload);
+        }
+    }
+
+    private byte[] serialize(final Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new SystemException("Error occurred while serializing the response", "API Error Occurred", e);
+        }
+    }
+
+    private static byte[] gzip(final byte[] json) {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
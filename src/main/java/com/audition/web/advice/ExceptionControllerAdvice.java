@@ -6,6 +6,10 @@ import static org.springframework.http.HttpStatus.METHOD_NOT_ALLOWED;
 import com.audition.common.exception.SystemException;
 import com.audition.common.logging.AuditionLogger;
 import io.micrometer.common.util.StringUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +26,7 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
 
     public static final String DEFAULT_TITLE = "API Error Occurred";
+    public static final String ERROR_METRIC_NAME = "audition.errors";
     private static final Logger LOG = LoggerFactory.getLogger(ExceptionControllerAdvice.class);
     private static final String ERROR_MESSAGE = " Error Code from Exception could not be mapped to a valid HttpStatus Code - ";
     private static final String DEFAULT_MESSAGE = "API Error occurred. Please contact support or administrator.";
@@ -29,6 +34,12 @@ public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
     @Autowired
     private transient AuditionLogger logger;
 
+    @Autowired
+    private transient MeterRegistry meterRegistry;
+
+    // the counters are looked up once per distinct error rather than registered again on every response
+    private final transient Map<ErrorKey, Counter> errorCounters = new ConcurrentHashMap<>();
+
     @ExceptionHandler(HttpClientErrorException.class)
     ProblemDetail handleHttpClientException(final HttpClientErrorException e) {
         return createProblemDetail(e, e.getStatusCode());
@@ -40,7 +51,7 @@ public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
         // Add handling for Exception
         final HttpStatusCode status = getHttpStatusCodeFromException(e);
         final ProblemDetail detail = createProblemDetail(e, status);
-        logger.logStandardProblemDetail(LOG, detail, e);
+        logProblemDetail(detail, e);
 
         return detail;
     }
@@ -50,14 +61,24 @@ public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
         // Add Handling for SystemException
         final HttpStatusCode status = getHttpStatusCodeFromSystemException(e);
         final ProblemDetail detail = createProblemDetail(e, status);
-        logger.logStandardProblemDetail(LOG, detail, e);
+        logProblemDetail(detail, e);
 
         return detail;
     }
 
+    // client errors are logged without their stack trace and rate limited, see AuditionLogger
+    private void logProblemDetail(final ProblemDetail detail, final Exception e) {
+        if (HttpStatusCode.valueOf(detail.getStatus()).is4xxClientError()) {
+            logger.logClientProblemDetail(LOG, detail);
+        } else {
+            logger.logStandardProblemDetail(LOG, detail, e);
+        }
+    }
+
 
     private ProblemDetail createProblemDetail(final Exception exception,
         final HttpStatusCode statusCode) {
+        countError(exception, statusCode);
         final ProblemDetail problemDetail = ProblemDetail.forStatus(statusCode);
         problemDetail.setDetail(getMessageFromException(exception));
         if (exception instanceof SystemException) {
@@ -68,6 +89,20 @@ public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
         return problemDetail;
     }
 
+    // SystemExceptions are counted by their title (e.g. Resource Not Found), other exceptions by their class
+    private void countError(final Exception exception, final HttpStatusCode statusCode) {
+        final String type = exception instanceof SystemException systemException && systemException.getTitle() != null
+            ? systemException.getTitle() : exception.getClass().getSimpleName();
+        errorCounters.computeIfAbsent(new ErrorKey(exception.getClass(), type, statusCode.value()),
+            key -> Counter.builder(ERROR_METRIC_NAME)
+                .description("Exceptions rendered as ProblemDetail responses")
+                .tag("exception", key.exception().getSimpleName())
+                .tag("type", key.type())
+                .tag("status", String.valueOf(key.status()))
+                .register(meterRegistry))
+            .increment();
+    }
+
     private String getMessageFromException(final Exception exception) {
         if (StringUtils.isNotBlank(exception.getMessage())) {
             return exception.getMessage();
@@ -92,6 +127,9 @@ public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
         }
         return INTERNAL_SERVER_ERROR;
     }
+
+    private record ErrorKey(Class<?> exception, String type, int status) {
+    }
 }
 
 
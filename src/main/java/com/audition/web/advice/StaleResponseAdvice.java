@@ -0,0 +1,34 @@
+package com.audition.web.advice;
+
+import com.audition.common.cache.StaleResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// adds Age and Warning headers to responses built from stale cache entries, see StaleServingCache
+@ControllerAdvice
+public class StaleResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(final MethodParameter returnType,
+        final Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(final Object body, final MethodParameter returnType,
+        final MediaType selectedContentType, final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+        final ServerHttpRequest request, final ServerHttpResponse response) {
+        StaleResponse.current().ifPresent(stale -> {
+            final HttpHeaders headers = response.getHeaders();
+            headers.set(HttpHeaders.AGE, String.valueOf(stale.age().toSeconds()));
+            headers.add(HttpHeaders.WARNING, stale.warning());
+        });
+        return body;
+    }
+}
@@ -0,0 +1,57 @@
+package com.audition.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.audition.common.cache.PayloadCodec;
+import com.audition.common.cache.PayloadWeigher;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class PayloadCodecTest {
+
+    private final List<AuditionComment> comments = List.of(new AuditionComment(1, 1, "Name 1", "Email 1", "Body 1"),
+        new AuditionComment(1, 300, null, "Émail 2", ""));
+
+    @Test
+    void decode_encodedValues_roundTripped() {
+        final AuditionPost post = new AuditionPost(1, 1, "Title 1", null, null);
+        final AuditionPost withComments = new AuditionPost(2, 70_000, "Title 2", "Body 2", comments);
+        final List<AuditionPost> posts = List.of(post, withComments);
+
+        assertThat(PayloadCodec.decode(PayloadCodec.encode(post))).isEqualTo(post);
+        assertThat(PayloadCodec.decode(PayloadCodec.encode(withComments))).isEqualTo(withComments);
+        assertThat(PayloadCodec.decode(PayloadCodec.encode(posts))).isEqualTo(posts);
+        assertThat(PayloadCodec.decode(PayloadCodec.encode(comments))).isEqualTo(comments);
+        assertThat(PayloadCodec.decode(PayloadCodec.encode(List.of()))).isEqualTo(List.of());
+    }
+
+    @Test
+    void encode_otherTypes_notEncoded() {
+        assertThat(PayloadCodec.encode("text")).isNull();
+        assertThat(PayloadCodec.encode(List.of("text"))).isNull();
+    }
+
+    @Test
+    void decode_otherFormatOrTruncated_null() {
+        final byte[] encoded = PayloadCodec.encode(comments);
+        final byte[] otherVersion = encoded.clone();
+        otherVersion[0] = 2;
+
+        assertThat(PayloadCodec.decode(otherVersion)).isNull();
+        assertThat(PayloadCodec.decode(Arrays.copyOf(encoded, encoded.length - 3))).isNull();
+    }
+
+    @Test
+    void encode_postCollection_smallerThanHeapEstimate() {
+        final List<AuditionPost> posts = new ArrayList<>();
+        for (int id = 1; id <= 100; id++) {
+            posts.add(new AuditionPost(id / 10 + 1, id, "Title " + id, "Body " + id, null));
+        }
+
+        assertThat((long) PayloadCodec.encode(posts).length * 5).isLessThan(PayloadWeigher.estimate(posts));
+    }
+}
@@ -0,0 +1,44 @@
+package com.audition.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.audition.common.cache.PayloadWeigher;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class PayloadWeigherTest {
+
+    private final PayloadWeigher weigher = new PayloadWeigher();
+
+    @Test
+    void weigh_largerBody_heavier() {
+        final AuditionPost small = new AuditionPost(1, 1, "Title", "Body", null);
+        final AuditionPost large = new AuditionPost(1, 1, "Title", "Body".repeat(100), null);
+
+        assertThat(weigher.weigh(1, large)).isGreaterThan(weigher.weigh(1, small));
+    }
+
+    @Test
+    void weigh_list_sumOfElements() {
+        final AuditionComment comment = new AuditionComment(1, 1, "Name", "Email", "Body");
+        final long single = PayloadWeigher.estimate(comment);
+
+        assertThat(PayloadWeigher.estimate(List.of(comment, comment))).isGreaterThan(2 * single);
+    }
+
+    @Test
+    void weigh_postWithComments_includesComments() {
+        final AuditionComment comment = new AuditionComment(1, 1, "Name", "Email", "Body");
+        final AuditionPost withoutComments = new AuditionPost(1, 1, "Title", "Body", List.of());
+        final AuditionPost withComments = new AuditionPost(1, 1, "Title", "Body", List.of(comment));
+
+        assertThat(PayloadWeigher.estimate(withComments)).isGreaterThan(PayloadWeigher.estimate(withoutComments));
+    }
+
+    @Test
+    void weigh_null_minimumWeight() {
+        assertThat(weigher.weigh(1, null)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,146 @@
+package com.audition.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.audition.common.cache.RespClient;
+import com.audition.common.logging.AuditionLogger;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RespClientTest {
+
+    private RespStandIn server;
+    private RespClient client;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = new RespStandIn();
+        client = new RespClient("localhost", server.port(), Duration.ofSeconds(1), 2, Duration.ofMillis(100),
+            new AuditionLogger());
+    }
+
+    @AfterEach
+    void teardown() throws IOException {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    void get_setValue_returned() throws IOException {
+        final byte[] value = {0, '\r', '\n', (byte) 0xFF};
+        client.set("key", value, Duration.ofMinutes(1));
+
+        assertThat(client.get("key")).isEqualTo(value);
+        assertThat(client.get("missing")).isNull();
+    }
+
+    @Test
+    void get_expiredValue_null() throws IOException, InterruptedException {
+        client.set("key", new byte[] {1}, Duration.ofMillis(20));
+        Thread.sleep(50);
+
+        assertThat(client.get("key")).isNull();
+    }
+
+    @Test
+    void setIfAbsent_existingKey_notSet() throws IOException {
+        assertThat(client.setIfAbsent("lock", new byte[] {1}, Duration.ofMinutes(1))).isTrue();
+        assertThat(client.setIfAbsent("lock", new byte[] {2}, Duration.ofMinutes(1))).isFalse();
+
+        client.delete("lock");
+
+        assertThat(client.setIfAbsent("lock", new byte[] {3}, Duration.ofMinutes(1))).isTrue();
+    }
+
+    @Test
+    void subscribe_published_received() throws Exception {
+        final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        try (Closeable subscription = client.subscribe("channel",
+            (channel, message) -> received.add(new String(message, StandardCharsets.UTF_8)))) {
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            // the subscription is established asynchronously, publish until it is
+            while (received.isEmpty() && System.nanoTime() < deadline) {
+                client.publish("channel", "hello".getBytes(StandardCharsets.UTF_8));
+                Thread.sleep(10);
+            }
+
+            assertThat(received.poll()).isEqualTo("hello");
+        }
+    }
+
+    @Test
+    void get_moreCallersThanConnections_connectionsBounded() throws Exception {
+        server.delayReplies(100);
+        client.set("key", new byte[] {1}, Duration.ofMinutes(1));
+        final List<CompletableFuture<byte[]>> reads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            reads.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return client.get("key");
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+
+        for (final CompletableFuture<byte[]> read : reads) {
+            assertThat(read.get(5, TimeUnit.SECONDS)).containsExactly(1);
+        }
+        assertThat(server.peakConnections()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void subscribe_listenerFailed_laterMessagesReceived() throws Exception {
+        final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        try (Closeable subscription = client.subscribe("channel", (channel, message) -> {
+            final String text = new String(message, StandardCharsets.UTF_8);
+            if ("boom".equals(text)) {
+                throw new IllegalStateException(text);
+            }
+            received.add(text);
+        })) {
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (server.subscribes() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(50);
+            client.publish("channel", "boom".getBytes(StandardCharsets.UTF_8));
+            client.publish("channel", "hello".getBytes(StandardCharsets.UTF_8));
+
+            assertThat(received.poll(5, TimeUnit.SECONDS)).isEqualTo("hello");
+        }
+    }
+
+    @Test
+    void subscribe_serverStoppedAnswering_resubscribed() throws Exception {
+        try (Closeable subscription = client.subscribe("channel", (channel, message) -> { })) {
+            server.ignorePings();
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (server.subscribes() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertThat(server.subscribes()).isGreaterThanOrEqualTo(2);
+        }
+    }
+
+    @Test
+    void get_serverDown_failed() throws IOException {
+        server.close();
+
+        assertThrows(IOException.class, () -> client.get("key"));
+    }
+}
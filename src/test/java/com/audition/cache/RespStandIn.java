@@ -0,0 +1,250 @@
+package com.audition.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// An in-memory stand-in for a redis server, speaking just enough RESP for RespClient: GET, SET [NX] [PX ms], DEL,
+// PUBLISH, SUBSCRIBE and PING. Every connection is served by its own virtual thread.
+final class RespStandIn implements AutoCloseable {
+
+    private final ServerSocket server;
+    private final Map<String, Entry> data = new ConcurrentHashMap<>();
+    private final Map<String, Set<OutputStream>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Socket> sockets = new CopyOnWriteArraySet<>();
+    private final AtomicInteger commands = new AtomicInteger();
+    private final AtomicInteger subscribes = new AtomicInteger();
+    private final AtomicInteger peakConnections = new AtomicInteger();
+    private volatile long replyDelayMillis;
+    private volatile boolean answeringPings = true;
+
+    RespStandIn() throws IOException {
+        server = new ServerSocket(0, 64, InetAddress.getLoopbackAddress());
+        Thread.ofVirtual().start(this::accept);
+    }
+
+    int port() {
+        return server.getLocalPort();
+    }
+
+    int commands() {
+        return commands.get();
+    }
+
+    int subscribes() {
+        return subscribes.get();
+    }
+
+    int peakConnections() {
+        return peakConnections.get();
+    }
+
+    // every reply is held back this long, to keep connections busy
+    void delayReplies(final long millis) {
+        replyDelayMillis = millis;
+    }
+
+    // a server that stopped answering without closing its connections
+    void ignorePings() {
+        answeringPings = false;
+    }
+
+    boolean contains(final String key) {
+        final Entry entry = data.get(key);
+        return entry != null && !entry.expired();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        for (final Socket socket : sockets) {
+            socket.close();
+        }
+    }
+
+    private void accept() {
+        while (!server.isClosed()) {
+            try {
+                final Socket socket = server.accept();
+                sockets.add(socket);
+                peakConnections.accumulateAndGet(sockets.size(), Math::max);
+                // a connection accepted while close() runs may have been missed by it
+                if (server.isClosed()) {
+                    socket.close();
+                    return;
+                }
+                Thread.ofVirtual().start(() -> serve(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(final Socket socket) {
+        try (socket) {
+            final InputStream in = new BufferedInputStream(socket.getInputStream());
+            final OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            while (true) {
+                final List<byte[]> args = readCommand(in);
+                if (args == null) {
+                    return;
+                }
+                commands.incrementAndGet();
+                if (replyDelayMillis > 0) {
+                    Thread.sleep(replyDelayMillis);
+                }
+                synchronized (out) {
+                    execute(args, out);
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // connection closed by the client
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sockets.remove(socket);
+        }
+    }
+
+    private void execute(final List<byte[]> args, final OutputStream out) throws IOException {
+        final String name = text(args.get(0)).toUpperCase(Locale.ROOT);
+        switch (name) {
+            case "GET" -> {
+                final Entry entry = data.get(text(args.get(1)));
+                bulk(out, entry == null || entry.expired() ? null : entry.value());
+            }
+            case "SET" -> {
+                final String key = text(args.get(1));
+                boolean nx = false;
+                long expiresAt = Long.MAX_VALUE;
+                for (int i = 3; i < args.size(); i++) {
+                    final String option = text(args.get(i)).toUpperCase(Locale.ROOT);
+                    if ("NX".equals(option)) {
+                        nx = true;
+                    } else if ("PX".equals(option)) {
+                        expiresAt = System.currentTimeMillis() + Long.parseLong(text(args.get(++i)));
+                    }
+                }
+                final Entry entry = new Entry(args.get(2), expiresAt);
+                if (nx) {
+                    final boolean[] set = {false};
+                    data.compute(key, (k, existing) -> {
+                        if (existing == null || existing.expired()) {
+                            set[0] = true;
+                            return entry;
+                        }
+                        return existing;
+                    });
+                    if (!set[0]) {
+                        bulk(out, null);
+                        return;
+                    }
+                } else {
+                    data.put(key, entry);
+                }
+                out.write("+OK\r\n".getBytes(StandardCharsets.UTF_8));
+            }
+            case "DEL" -> integer(out, data.remove(text(args.get(1))) == null ? 0 : 1);
+            case "PUBLISH" -> {
+                final Set<OutputStream> receivers = subscribers.getOrDefault(text(args.get(1)), Set.of());
+                for (final OutputStream receiver : receivers) {
+                    synchronized (receiver) {
+                        receiver.write("*3\r\n".getBytes(StandardCharsets.UTF_8));
+                        bulk(receiver, "message".getBytes(StandardCharsets.UTF_8));
+                        bulk(receiver, args.get(1));
+                        bulk(receiver, args.get(2));
+                        receiver.flush();
+                    }
+                }
+                integer(out, receivers.size());
+            }
+            case "SUBSCRIBE" -> {
+                subscribes.incrementAndGet();
+                subscribers.computeIfAbsent(text(args.get(1)), channel -> new CopyOnWriteArraySet<>()).add(out);
+                out.write("*3\r\n".getBytes(StandardCharsets.UTF_8));
+                bulk(out, "subscribe".getBytes(StandardCharsets.UTF_8));
+                bulk(out, args.get(1));
+                integer(out, 1);
+            }
+            case "PING" -> {
+                // a subscribed connection is answered with a pong message
+                if (answeringPings) {
+                    out.write("*2\r\n".getBytes(StandardCharsets.UTF_8));
+                    bulk(out, "pong".getBytes(StandardCharsets.UTF_8));
+                    bulk(out, new byte[0]);
+                }
+            }
+            default -> out.write(("-ERR unknown command " + name + "\r\n").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static List<byte[]> readCommand(final InputStream in) throws IOException {
+        final int type = in.read();
+        if (type < 0) {
+            return null;
+        }
+        final int count = Integer.parseInt(readLine(in));
+        final List<byte[]> args = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            in.read();
+            final int length = Integer.parseInt(readLine(in));
+            args.add(in.readNBytes(length));
+            in.read();
+            in.read();
+        }
+        return args;
+    }
+
+    private static String readLine(final InputStream in) throws IOException {
+        final StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\r') {
+            if (c < 0) {
+                throw new IOException("Connection closed");
+            }
+            line.append((char) c);
+        }
+        in.read();
+        return line.toString();
+    }
+
+    private static void bulk(final OutputStream out, final byte[] value) throws IOException {
+        if (value == null) {
+            out.write("$-1\r\n".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        out.write(("$" + value.length + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.write(value);
+        out.write("\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void integer(final OutputStream out, final long value) throws IOException {
+        out.write((":" + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String text(final byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private record Entry(byte[] value, long expiresAt) {
+
+        boolean expired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
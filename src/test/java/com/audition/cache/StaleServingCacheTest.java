@@ -0,0 +1,183 @@
+package com.audition.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import com.audition.common.cache.StaleResponse;
+import com.audition.common.cache.StaleServingCache;
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.CacheProperties;
+import com.audition.model.AuditionPost;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class StaleServingCacheTest {
+
+    private final AuditionPost post = new AuditionPost(1, 1, "Title 1", "Body 1", null);
+    private final AuditionPost updated = new AuditionPost(1, 1, "Title 1", "Body 2", null);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CacheProperties.Stale settings = new CacheProperties.Stale();
+    private final CaffeineCache delegate = new CaffeineCache("post", Caffeine.newBuilder().build(), false);
+
+    @BeforeEach
+    void setup() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void teardown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void get_expiredWithinWhileRevalidate_staleServedAndReloaded() {
+        settings.setWhileRevalidate(Duration.ofHours(1));
+        final StaleServingCache cache = cache();
+        cache.get(1, () -> post);
+        delegate.evict(1);
+
+        assertThat(cache.get(1, () -> updated)).isEqualTo(post);
+
+        assertThat(delegate.get(1, AuditionPost.class)).isEqualTo(updated);
+        assertThat(cache.get(1, () -> post)).isEqualTo(updated);
+        assertThat(StaleResponse.current()).hasValueSatisfying(stale ->
+            assertThat(stale.warning()).isEqualTo("110 - \"Response is Stale\""));
+        assertThat(meterRegistry.get("audition.cache.stale.revalidations").tag("result", "success").counter()
+            .count()).isEqualTo(1);
+    }
+
+    @Test
+    void get_expiredWithinWhileRevalidate_reloadedThroughLoadNotPut() {
+        settings.setWhileRevalidate(Duration.ofHours(1));
+        final Cache wrapped = spy(delegate);
+        final StaleServingCache cache = new StaleServingCache(wrapped, Duration.ZERO, Long.MAX_VALUE, settings,
+            Runnable::run, meterRegistry);
+        cache.get(1, () -> post);
+        delegate.evict(1);
+
+        assertThat(cache.get(1, () -> updated)).isEqualTo(post);
+
+        verify(wrapped, never()).put(any(), any());
+        assertThat(delegate.get(1, AuditionPost.class)).isEqualTo(updated);
+    }
+
+    @Test
+    void get_revalidationExecutorSaturated_staleServedAndReloadSkipped() {
+        settings.setWhileRevalidate(Duration.ofHours(1));
+        final AtomicInteger loads = new AtomicInteger();
+        final StaleServingCache cache = new StaleServingCache(delegate, Duration.ZERO, Long.MAX_VALUE, settings,
+            task -> {
+                throw new RejectedExecutionException("saturated");
+            }, meterRegistry);
+        cache.get(1, () -> post);
+        delegate.evict(1);
+
+        assertThat(cache.get(1, () -> updated(loads))).isEqualTo(post);
+        assertThat(cache.get(1, () -> updated(loads))).isEqualTo(post);
+
+        assertThat(loads).hasValue(0);
+        assertThat(delegate.get(1)).isNull();
+        assertThat(meterRegistry.get("audition.cache.stale.revalidations").tag("result", "skipped").counter()
+            .count()).isEqualTo(2);
+    }
+
+    @Test
+    void get_valueCachedWithoutLoader_servedStaleOnError() {
+        settings.setWhileRevalidate(Duration.ZERO);
+        final StaleServingCache cache = cache();
+        delegate.put(1, post);
+        assertThat(cache.get(1, () -> updated)).isEqualTo(post);
+        delegate.evict(1);
+
+        assertThat(cache.get(1, failing(new ResourceAccessException("Read timed out")))).isEqualTo(post);
+    }
+
+    @Test
+    void get_upstreamDownWithinIfError_staleServedAndNotCached() {
+        settings.setWhileRevalidate(Duration.ZERO);
+        final StaleServingCache cache = cache();
+        cache.get(1, () -> post);
+        delegate.evict(1);
+
+        assertThat(cache.get(1, failing(new SystemException("The posts upstream is unavailable",
+            "Service Unavailable", 503)))).isEqualTo(post);
+        assertThat(cache.get(1, failing(new ResourceAccessException("Read timed out")))).isEqualTo(post);
+
+        assertThat(delegate.get(1)).isNull();
+        assertThat(StaleResponse.current()).hasValueSatisfying(stale ->
+            assertThat(stale.warning()).isEqualTo("111 - \"Revalidation Failed\""));
+        assertThat(meterRegistry.get("audition.cache.stale.served").tag("reason", "upstream-error").counter()
+            .count()).isEqualTo(2);
+    }
+
+    @Test
+    void get_clientError_rethrown() {
+        settings.setWhileRevalidate(Duration.ZERO);
+        final StaleServingCache cache = cache();
+        cache.get(1, () -> post);
+        delegate.evict(1);
+
+        assertThatThrownBy(() -> cache.get(1, failing(new SystemException("Cannot find a Post with id 1",
+            "Resource Not Found", 404))))
+            .isInstanceOf(Cache.ValueRetrievalException.class)
+            .hasCauseInstanceOf(SystemException.class);
+        assertThat(StaleResponse.current()).isEmpty();
+    }
+
+    @Test
+    void get_outsideWindows_rethrown() {
+        settings.setWhileRevalidate(Duration.ZERO);
+        settings.setIfError(Duration.ZERO);
+        final StaleServingCache cache = cache();
+        cache.get(1, () -> post);
+        delegate.evict(1);
+
+        assertThatThrownBy(() -> cache.get(1, failing(new ResourceAccessException("Read timed out"))))
+            .isInstanceOf(Cache.ValueRetrievalException.class);
+    }
+
+    @Test
+    void evict_lastKnownGoodDropped() {
+        settings.setWhileRevalidate(Duration.ZERO);
+        final StaleServingCache cache = cache();
+        cache.get(1, () -> post);
+        cache.evict(1);
+
+        assertThatThrownBy(() -> cache.get(1, failing(new ResourceAccessException("Read timed out"))))
+            .isInstanceOf(Cache.ValueRetrievalException.class);
+    }
+
+    private AuditionPost updated(final AtomicInteger loads) {
+        loads.incrementAndGet();
+        return updated;
+    }
+
+    private static Callable<AuditionPost> failing(final RuntimeException e) {
+        return () -> {
+            throw e;
+        };
+    }
+
+    // a zero ttl makes every entry of the wrapped cache expired as soon as it is dropped there
+    private StaleServingCache cache() {
+        return new StaleServingCache(delegate, Duration.ZERO, Long.MAX_VALUE, settings, Runnable::run,
+            meterRegistry);
+    }
+}
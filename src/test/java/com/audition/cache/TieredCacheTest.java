@@ -0,0 +1,164 @@
+package com.audition.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.audition.common.cache.CacheInvalidationBus;
+import com.audition.common.cache.RespClient;
+import com.audition.common.cache.TieredCache;
+import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.CacheProperties;
+import com.audition.model.AuditionPost;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+public class TieredCacheTest {
+
+    private final AuditionPost post = new AuditionPost(1, 1, "Title 1", "Body 1", null);
+    private final List<RespClient> clients = new ArrayList<>();
+    private final List<CacheInvalidationBus> buses = new ArrayList<>();
+    private final CacheProperties.Remote settings = new CacheProperties.Remote();
+    private RespStandIn server;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = new RespStandIn();
+        settings.setPollInterval(Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    void teardown() throws IOException {
+        buses.forEach(CacheInvalidationBus::stop);
+        clients.forEach(RespClient::close);
+        server.close();
+    }
+
+    @Test
+    void get_loadedByOtherInstance_servedFromRemote() {
+        final TieredCache first = instance();
+        final TieredCache second = instance();
+        final AtomicInteger loads = new AtomicInteger();
+
+        assertThat(first.get(1, () -> load(loads))).isEqualTo(post);
+        assertThat(second.get(1, () -> load(loads))).isEqualTo(post);
+        assertThat(second.get(1, AuditionPost.class)).isEqualTo(post);
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(server.contains("audition:post:1")).isTrue();
+        assertThat(server.contains("audition:post:1:lock")).isFalse();
+    }
+
+    @Test
+    void get_concurrentMissesAcrossInstances_loadedOnce() {
+        final List<TieredCache> fleet = List.of(instance(), instance(), instance(), instance());
+        final AtomicInteger loads = new AtomicInteger();
+
+        final List<CompletableFuture<AuditionPost>> reads = fleet.stream()
+            .map(cache -> CompletableFuture.supplyAsync(() -> cache.get(1, () -> {
+                Thread.sleep(100);
+                return load(loads);
+            })))
+            .toList();
+
+        assertThat(reads).allSatisfy(read -> assertThat(read.join()).isEqualTo(post));
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void get_concurrentMissesOfOneInstance_loadedOnce() {
+        final TieredCache cache = instance();
+        final AtomicInteger loads = new AtomicInteger();
+
+        final List<CompletableFuture<AuditionPost>> reads = IntStream.range(0, 4)
+            .mapToObj(i -> CompletableFuture.supplyAsync(() -> cache.get(1, () -> {
+                Thread.sleep(100);
+                return load(loads);
+            })))
+            .toList();
+
+        assertThat(reads).allSatisfy(read -> assertThat(read.join()).isEqualTo(post));
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.getNativeCache().getIfPresent("1")).isEqualTo(post);
+    }
+
+    @Test
+    void get_ownerLoadFailed_lockTakenOverAtOnce() throws InterruptedException {
+        final TieredCache first = instance();
+        final TieredCache second = instance();
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CompletableFuture<AuditionPost> failed = CompletableFuture.supplyAsync(() -> first.get(1, () -> {
+            locked.countDown();
+            Thread.sleep(100);
+            throw new IllegalStateException("Upstream failed");
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        final long start = System.nanoTime();
+        assertThat(second.get(1, () -> post)).isEqualTo(post);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(settings.getLockTimeout());
+        assertThatThrownBy(failed::join).hasRootCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void put_otherInstance_nearCopyInvalidated() throws InterruptedException {
+        final TieredCache first = instance();
+        final TieredCache second = instance();
+        second.put(1, post);
+        assertThat(first.get(1, AuditionPost.class)).isEqualTo(post);
+
+        final AuditionPost changed = new AuditionPost(1, 1, "Title 1", "Changed", null);
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        second.put(1, changed);
+        while (!changed.equals(first.get(1, AuditionPost.class)) && System.nanoTime() < deadline) {
+            // the near copy of the first instance is dropped once the invalidation arrives
+            Thread.sleep(10);
+            second.put(1, changed);
+        }
+
+        assertThat(first.get(1, AuditionPost.class)).isEqualTo(changed);
+    }
+
+    @Test
+    void get_remoteDown_loadedLocally() throws IOException {
+        final TieredCache cache = instance();
+        final AtomicInteger loads = new AtomicInteger();
+        server.close();
+
+        assertThat(cache.get(1, () -> load(loads))).isEqualTo(post);
+        assertThat(cache.get(1, () -> load(loads))).isEqualTo(post);
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    private AuditionPost load(final AtomicInteger loads) {
+        loads.incrementAndGet();
+        return post;
+    }
+
+    private TieredCache instance() {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final RespClient client = new RespClient("localhost", server.port(), Duration.ofSeconds(1), 4,
+            Duration.ofSeconds(30), new AuditionLogger());
+        final CacheInvalidationBus bus = new CacheInvalidationBus(client, settings.getInvalidationChannel(),
+            new AuditionLogger(), meterRegistry);
+        bus.start();
+        clients.add(client);
+        buses.add(bus);
+        return new TieredCache(new CaffeineCache("post", Caffeine.newBuilder().build(), false),
+            Duration.ofMinutes(1), client, bus, settings, meterRegistry);
+    }
+}
@@ -0,0 +1,67 @@
+package com.audition.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import com.audition.common.concurrent.AdaptiveConcurrencyLimiter;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+    @Test
+    void tryAcquire_limitReached_rejected() {
+        final AdaptiveConcurrencyLimiter limiter = limiter(2);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        limiter.onIgnored();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void onSuccess_fastCalls_limitIncreasedAdditively() {
+        final AdaptiveConcurrencyLimiter limiter = limiter(4);
+
+        // 4 + 1/4 + 1/4.25 + ... reaches 5 after the fifth call
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(FAST);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void onDroppedAndSlowCalls_limitDecreasedToMinimum() {
+        final AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        limiter.tryAcquire();
+        limiter.onDropped();
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(SLOW);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void constructor_invalidLimits_rejected() {
+        assertThatIllegalArgumentException().isThrownBy(
+            () -> new AdaptiveConcurrencyLimiter(10, 0, 20, 0.5, Duration.ofSeconds(1)));
+        assertThatIllegalArgumentException().isThrownBy(
+            () -> new AdaptiveConcurrencyLimiter(10, 2, 20, 1.5, Duration.ofSeconds(1)));
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(final int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 2, 20, 0.5, Duration.ofSeconds(1));
+    }
+}
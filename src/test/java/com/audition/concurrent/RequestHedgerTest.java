@@ -0,0 +1,117 @@
+package com.audition.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.audition.common.concurrent.RequestHedger;
+import com.audition.configuration.UpstreamProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+public class RequestHedgerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger attempts = new AtomicInteger();
+    private UpstreamProperties properties;
+
+    @BeforeEach
+    void setup() {
+        properties = new UpstreamProperties();
+        properties.getHedging().setEnabled(true);
+        properties.getHedging().setInitialDelay(Duration.ofMillis(20));
+        properties.getHedging().setBudgetRatio(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_disabled_callerThread() {
+        properties.getHedging().setEnabled(false);
+        final Thread caller = Thread.currentThread();
+
+        assertThat(hedger().execute("post", () -> Thread.currentThread() == caller)).isTrue();
+    }
+
+    @Test
+    void execute_fastCall_notHedged() {
+        assertThat(hedger().execute("post", () -> attempts.incrementAndGet())).isEqualTo(1);
+        assertThat(meterRegistry.find("audition.upstream.hedges.sent").counter()).isNull();
+    }
+
+    @Test
+    void execute_slowFirstCall_hedgeWins() {
+        final long start = System.nanoTime();
+
+        assertThat(hedger().execute("post", slowFirstAttempt())).isEqualTo(2);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(meterRegistry.get("audition.upstream.hedges.sent").tag("endpoint", "post").counter().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("audition.upstream.hedges.won").tag("endpoint", "post").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void execute_budgetExhausted_firstCallAwaited() {
+        properties.getHedging().setBudgetRatio(0);
+        properties.getHedging().setMaxDelay(Duration.ofMillis(20));
+
+        assertThat(hedger().execute("post", slowFirstAttempt())).isEqualTo(1);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void execute_bothCallsFail_callExceptionRethrown() {
+        assertThatExceptionOfType(HttpServerErrorException.class).isThrownBy(() -> hedger().execute("post", () -> {
+            sleep(attempts.incrementAndGet() == 1 ? 200 : 0);
+            throw HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", HttpHeaders.EMPTY, null,
+                null);
+        }));
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void execute_fastFailure_notHedged() {
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> hedger().execute("post", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("failed");
+        }));
+        assertThat(attempts).hasValue(1);
+    }
+
+    private RequestHedger hedger() {
+        return new RequestHedger(properties, executor, meterRegistry);
+    }
+
+    // the first attempt answers after 2 seconds, later attempts at once
+    private Supplier<Integer> slowFirstAttempt() {
+        return () -> {
+            final int attempt = attempts.incrementAndGet();
+            if (attempt == 1) {
+                sleep(2000);
+            }
+            return attempt;
+        };
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.audition.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.audition.common.concurrent.SingleFlight;
+import com.audition.common.exception.SystemException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight = new SingleFlight(registry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_concurrentSameKey_loadedOnce() throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "value";
+            })));
+        }
+        waitUntilCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (final Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(registry.get("audition.upstream.singleflight.executions").counter().count()).isEqualTo(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void execute_leaderFails_errorSharedWithWaiters() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final SystemException error = new SystemException("Cannot find a Post with id 1", "Resource Not Found", 404);
+
+        final List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                await(release);
+                throw error;
+            })));
+        }
+        waitUntilCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (final Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCause(error);
+        }
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void execute_sequentialCalls_notCoalesced() {
+        final AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("key", loads::incrementAndGet);
+        singleFlight.execute("key", loads::incrementAndGet);
+        singleFlight.execute("other", loads::incrementAndGet);
+
+        assertThat(loads.get()).isEqualTo(3);
+        assertThat(registry.get("audition.upstream.singleflight.coalesced").counter().count()).isZero();
+    }
+
+    private void waitUntilCoalesced(final int expected) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("audition.upstream.singleflight.coalesced").counter().count() < expected
+            && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
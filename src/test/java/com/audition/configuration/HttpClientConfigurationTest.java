@@ -0,0 +1,70 @@
+package com.audition.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+public class HttpClientConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class))
+        .withUserConfiguration(HttpClientConfiguration.class);
+
+    @Test
+    void clientHttpRequestFactory_defaultEngine_pooled() {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(PoolingHttpClientConnectionManager.class);
+            assertThat(context.getBean(ClientHttpRequestFactory.class))
+                .isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+        });
+    }
+
+    @Test
+    void clientHttpRequestFactory_simpleEngine_noPool() {
+        contextRunner.withPropertyValues("application.connection.engine=simple").run(context -> {
+            assertThat(context).doesNotHaveBean(PoolingHttpClientConnectionManager.class);
+            assertThat(context.getBean(ClientHttpRequestFactory.class))
+                .isInstanceOf(SimpleClientHttpRequestFactory.class);
+        });
+    }
+
+    @Test
+    void pooledConnectionManager_customLimits_applied() {
+        contextRunner.withPropertyValues("application.connection.max-connections-total=20",
+            "application.connection.max-connections-per-route=5").run(context -> {
+                final PoolingHttpClientConnectionManager manager = context.getBean(
+                    PoolingHttpClientConnectionManager.class);
+                assertThat(manager.getMaxTotal()).isEqualTo(20);
+                assertThat(manager.getDefaultMaxPerRoute()).isEqualTo(5);
+            });
+    }
+
+    @Test
+    void connectionProperties_millisecondValues_boundAsDuration() {
+        contextRunner.withPropertyValues("application.connection.read-timeout=2500").run(context ->
+            assertThat(context.getBean(ConnectionProperties.class).getReadTimeout())
+                .isEqualTo(Duration.ofMillis(2500)));
+    }
+
+    @Test
+    void httpClientPoolMetrics_bound_gaugesRegistered() {
+        contextRunner.run(context -> {
+            final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            context.getBean(HttpClientPoolMetrics.class).bindTo(registry);
+
+            assertThat(registry.get("audition.http.client.pool.leased").gauge().value()).isZero();
+            assertThat(registry.get("audition.http.client.pool.idle").gauge().value()).isZero();
+            assertThat(registry.get("audition.http.client.pool.pending").gauge().value()).isZero();
+            assertThat(registry.get("audition.http.client.pool.max").gauge().value()).isEqualTo(200);
+        });
+    }
+}
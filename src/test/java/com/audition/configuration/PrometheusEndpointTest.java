@@ -0,0 +1,47 @@
+package com.audition.configuration;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = {"management.endpoints.web.exposure.include=health,prometheus",
+    "management.metrics.distribution.percentiles-histogram.http.server.requests=true"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class PrometheusEndpointTest {
+
+    private static final String ACTUATOR_CREDENTIALS = "Basic "
+        + Base64.getEncoder().encodeToString("actuator:actuator".getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    transient MockMvc mockMvc;
+
+    @Test
+    void prometheus_anonymous_unauthorized() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void prometheus_actuatorRole_errorCountersAndHistograms() throws Exception {
+        mockMvc.perform(get("/posts/abc"))
+            .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, ACTUATOR_CREDENTIALS))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString(
+                "audition_errors_total{exception=\"SystemException\",status=\"400\",type=\"Bad Request\"")))
+            .andExpect(content().string(containsString("http_server_requests_seconds_bucket")));
+    }
+}
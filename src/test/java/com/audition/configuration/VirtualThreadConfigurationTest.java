@@ -0,0 +1,78 @@
+package com.audition.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.audition.common.concurrent.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+public class VirtualThreadConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class))
+        .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+        .withUserConfiguration(ExecutorConfiguration.class, VirtualThreadConfiguration.class);
+
+    @Test
+    void upstreamExecutor_disabled_platformThreads() {
+        contextRunner.run(context -> {
+            assertThat(context).doesNotHaveBean(VirtualThreadPinningMonitor.class);
+            assertThat(runsOnVirtualThread(context.getBean(ExecutorConfiguration.UPSTREAM_EXECUTOR, AsyncTaskExecutor.class))).isFalse();
+        });
+    }
+
+    @Test
+    void upstreamExecutor_enabled_virtualThreads() {
+        contextRunner.withPropertyValues("application.threads.virtual.enabled=true").run(context -> {
+            assertThat(context).hasSingleBean(VirtualThreadPinningMonitor.class);
+            assertThat(runsOnVirtualThread(context.getBean(ExecutorConfiguration.UPSTREAM_EXECUTOR, AsyncTaskExecutor.class))).isTrue();
+        });
+    }
+
+    @Test
+    void pinningMonitor_synchronizedBlocking_recorded() throws Exception {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(registry,
+            Duration.ofMillis(1));
+        monitor.start();
+        try {
+            final Object lock = new Object();
+            Thread.ofVirtual().start(() -> {
+                synchronized (lock) {
+                    sleep(50);
+                }
+            }).join();
+
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (registry.get("audition.threads.virtual.pinned").timer().count() == 0
+                && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(50);
+            }
+            assertThat(registry.get("audition.threads.virtual.pinned").timer().count()).isPositive();
+        } finally {
+            monitor.stop();
+        }
+        assertThat(monitor.isRunning()).isFalse();
+    }
+
+    private static boolean runsOnVirtualThread(final AsyncTaskExecutor executor) throws Exception {
+        return CompletableFuture.supplyAsync(() -> Thread.currentThread().isVirtual(), executor)
+            .get(5, TimeUnit.SECONDS);
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
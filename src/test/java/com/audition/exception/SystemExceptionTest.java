@@ -0,0 +1,26 @@
+package com.audition.exception;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.audition.common.exception.SystemException;
+import org.junit.jupiter.api.Test;
+
+public class SystemExceptionTest {
+
+    @Test
+    void clientError_validArguments_stacklessWithStatus() {
+        final SystemException exception = SystemException.clientError("Invalid postId parameter abc", "Bad Request",
+            400);
+
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(exception.getDetail()).isEqualTo("Invalid postId parameter abc");
+        assertThat(exception.getMessage()).isEqualTo("Invalid postId parameter abc");
+        assertThat(exception.getTitle()).isEqualTo("Bad Request");
+        assertThat(exception.getStatusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void constructor_serverError_stackTraceFilled() {
+        assertThat(new SystemException("Integration Error", 500).getStackTrace()).isNotEmpty();
+    }
+}
@@ -0,0 +1,43 @@
+package com.audition.hash;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.audition.common.hash.ContentDigest;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ContentDigestTest {
+
+    @Test
+    void addContent_equalContent_sameDigest() {
+        final List<AuditionPost> posts = List.of(new AuditionPost(1, 1, "Title 1", "Body 1", null),
+            new AuditionPost(1, 2, "Title 2", "Body 2", List.of(new AuditionComment(2, 1, "Name", "Email", "Body"))));
+        final List<AuditionPost> copy = List.of(new AuditionPost(1, 1, "Title 1", "Body 1", null),
+            new AuditionPost(1, 2, "Title 2", "Body 2", List.of(new AuditionComment(2, 1, "Name", "Email", "Body"))));
+
+        assertThat(digest(posts)).isEqualTo(digest(copy)).hasSize(32);
+    }
+
+    @Test
+    void addContent_equalHashCodes_differentDigests() {
+        // "Aa" and "BB" share a String hashCode
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+
+        assertThat(digest(new AuditionPost(1, 1, "Aa", "Body", null)))
+            .isNotEqualTo(digest(new AuditionPost(1, 1, "BB", "Body", null)));
+    }
+
+    @Test
+    void addContent_fieldBoundaryMoved_differentDigests() {
+        assertThat(digest(new AuditionPost(1, 1, "Title", "Body", null)))
+            .isNotEqualTo(digest(new AuditionPost(1, 1, "TitleB", "ody", null)));
+        assertThat(digest(new AuditionPost(1, 1, null, "Body", null)))
+            .isNotEqualTo(digest(new AuditionPost(1, 1, "", "Body", null)));
+    }
+
+    private static String digest(final Object content) {
+        return new ContentDigest().addContent(content).toHex();
+    }
+}
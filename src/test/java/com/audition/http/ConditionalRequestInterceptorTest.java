@@ -0,0 +1,103 @@
+package com.audition.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.audition.common.http.ConditionalRequestInterceptor;
+import com.audition.configuration.UpstreamProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+
+public class ConditionalRequestInterceptorTest {
+
+    private static final String URL = "https://jsonplaceholder.typicode.com/posts/1";
+    private static final String POST_JSON = "{\"userId\":1,\"id\":1,\"title\":\"Title 1\",\"body\":\"Body 1\"}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UpstreamProperties properties;
+
+    @BeforeEach
+    void setup() {
+        properties = new UpstreamProperties();
+    }
+
+    @Test
+    void intercept_notModified_storedBodyReplayed() {
+        final RestTemplate restTemplate = restTemplate();
+        final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo(URL))
+            .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+            .andRespond(withSuccess(POST_JSON, MediaType.APPLICATION_JSON).headers(entityTag("W/\"v1\"")));
+        server.expect(ExpectedCount.twice(), requestTo(URL))
+            .andExpect(header(HttpHeaders.IF_NONE_MATCH, "W/\"v1\""))
+            .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        assertThat(restTemplate.getForObject(URL, String.class)).isEqualTo(POST_JSON);
+        assertThat(restTemplate.getForObject(URL, String.class)).isEqualTo(POST_JSON);
+        assertThat(restTemplate.getForObject(URL, String.class)).isEqualTo(POST_JSON);
+        server.verify();
+        assertThat(meterRegistry.get("audition.upstream.revalidations").tag("result", "not-modified").counter()
+            .count()).isEqualTo(2);
+    }
+
+    @Test
+    void intercept_modified_newBodyStored() {
+        final String changed = POST_JSON.replace("Body 1", "Body 2");
+        final RestTemplate restTemplate = restTemplate();
+        final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo(URL))
+            .andRespond(withSuccess(POST_JSON, MediaType.APPLICATION_JSON).headers(entityTag("\"v1\"")));
+        server.expect(requestTo(URL))
+            .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+            .andRespond(withSuccess(changed, MediaType.APPLICATION_JSON).headers(entityTag("\"v2\"")));
+        server.expect(requestTo(URL))
+            .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v2\""))
+            .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        assertThat(restTemplate.getForObject(URL, String.class)).isEqualTo(POST_JSON);
+        assertThat(restTemplate.getForObject(URL, String.class)).isEqualTo(changed);
+        assertThat(restTemplate.getForObject(URL, String.class)).isEqualTo(changed);
+        server.verify();
+        assertThat(meterRegistry.get("audition.upstream.revalidations").tag("result", "modified").counter()
+            .count()).isEqualTo(1);
+    }
+
+    @Test
+    void intercept_disabled_unconditional() {
+        properties.setRevalidationCacheSize(DataSize.ofBytes(0));
+        final RestTemplate restTemplate = restTemplate();
+        final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(ExpectedCount.twice(), requestTo(URL))
+            .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+            .andRespond(withSuccess(POST_JSON, MediaType.APPLICATION_JSON).headers(entityTag("\"v1\"")));
+
+        restTemplate.getForObject(URL, String.class);
+        restTemplate.getForObject(URL, String.class);
+        server.verify();
+    }
+
+    private RestTemplate restTemplate() {
+        final RestTemplate restTemplate = new RestTemplate();
+        restTemplate.setInterceptors(List.of(new ConditionalRequestInterceptor(properties, meterRegistry)));
+        return restTemplate;
+    }
+
+    private static HttpHeaders entityTag(final String value) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setETag(value);
+        return headers;
+    }
+}
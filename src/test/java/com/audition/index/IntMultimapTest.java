@@ -0,0 +1,42 @@
+package com.audition.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.audition.common.index.IntMultimap;
+import org.junit.jupiter.api.Test;
+
+public class IntMultimapTest {
+
+    @Test
+    public void get_multipleValues_insertionOrder() {
+        IntMultimap map = IntMultimap.builder().put(7, 1).put(-3, 2).put(7, 3).put(Integer.MIN_VALUE, 4).build();
+
+        assertThat(map.get(7)).containsExactly(1, 3);
+        assertThat(map.get(-3)).containsExactly(2);
+        assertThat(map.get(Integer.MIN_VALUE)).containsExactly(4);
+        assertThat(map.get(8)).isEmpty();
+        assertThat(map.keyCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void get_manyKeys_allFound() {
+        IntMultimap.Builder builder = IntMultimap.builder();
+        for (int key = 0; key < 10_000; key++) {
+            builder.put(key * 16, key);
+        }
+        IntMultimap map = builder.build();
+
+        for (int key = 0; key < 10_000; key++) {
+            assertThat(map.get(key * 16)).containsExactly(key);
+        }
+        assertThat(map.get(1)).isEmpty();
+    }
+
+    @Test
+    public void get_emptyMap_noValues() {
+        IntMultimap map = IntMultimap.builder().build();
+
+        assertThat(map.get(0)).isEmpty();
+        assertThat(map.estimatedBytes()).isPositive();
+    }
+}
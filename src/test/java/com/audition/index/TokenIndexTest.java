@@ -0,0 +1,31 @@
+package com.audition.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.audition.common.index.TokenIndex;
+import org.junit.jupiter.api.Test;
+
+public class TokenIndexTest {
+
+    private final TokenIndex index = TokenIndex.of(new String[][] {
+        TokenIndex.tokenize("Quia et suscipit", "recusandae consequuntur"),
+        TokenIndex.tokenize("qui est esse", null),
+        TokenIndex.tokenize("et, QUIA!", "est")});
+
+    @Test
+    public void tokenize_mixedCaseAndPunctuation_distinctLowerCase() {
+        assertThat(TokenIndex.tokenize("Et, et QUIA!", "quia\nest")).containsExactly("et", "quia", "est");
+    }
+
+    @Test
+    public void search_allWords_intersection() {
+        assertThat(index.search("quia et")).containsExactly(0, 2);
+        assertThat(index.search("EST quia")).containsExactly(2);
+    }
+
+    @Test
+    public void search_unknownOrBlank_empty() {
+        assertThat(index.search("quia unknown")).isEmpty();
+        assertThat(index.search(" ,")).isEmpty();
+    }
+}
@@ -5,27 +5,38 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
 
+import com.audition.common.concurrent.SingleFlight;
 import com.audition.common.exception.SystemException;
+import com.audition.configuration.WebServiceConfiguration;
 import com.audition.model.AuditionComment;
 import com.audition.model.AuditionPost;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.match.MockRestRequestMatchers;
+import org.springframework.test.web.client.response.MockRestResponseCreators;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
-@SpringBootTest
+@SpringBootTest(properties = "application.upstream.fan-out-timeout=500ms")
 public class AuditionIntegrationClientTest {
 
     private static final String BASE_URL = "https://jsonplaceholder.typicode.com/posts";
@@ -36,6 +47,13 @@ public class AuditionIntegrationClientTest {
     @MockBean
     transient RestTemplate restTemplate;
 
+    @Autowired
+    transient SingleFlight singleFlight;
+
+    @Autowired
+    @Qualifier(WebServiceConfiguration.STREAMING_REST_TEMPLATE)
+    transient RestTemplate streamingRestTemplate;
+
     @BeforeEach
     public void setup() {
         openMocks(this);
@@ -174,5 +192,86 @@ public class AuditionIntegrationClientTest {
 
         AuditionPost actual = client.getPostWithCommentsByPostId(1);
         assertThat(actual).isEqualTo(expect);
+        // the fetched post may be shared with other callers, it is left without comments
+        assertThat(expectPost.getComments()).isEmpty();
+    }
+
+    @Test
+    public void getPostWithCommentsByPostId_postNotFound_failed() {
+        HttpClientErrorException exception = HttpClientErrorException.create("Not Found", HttpStatusCode.valueOf(404),
+            "Not Found", HttpHeaders.EMPTY, null, null);
+        final URI postUrl = UriComponentsBuilder.fromHttpUrl(BASE_URL + "/{id}")
+            .buildAndExpand(1)
+            .encode()
+            .toUri();
+        when(restTemplate.getForObject(eq(postUrl), any())).thenThrow(exception);
+        when(restTemplate.getForObject(any(URI.class), eq(AuditionComment[].class))).thenReturn(new AuditionComment[0]);
+
+        Assertions.assertThatExceptionOfType(SystemException.class)
+            .isThrownBy(() -> client.getPostWithCommentsByPostId(1))
+            .withMessage("Cannot find a Post with id 1")
+            .satisfies(e -> assertThat(e.getStatusCode()).isEqualTo(404));
+    }
+
+    @Test
+    public void getPostWithCommentsByPostId_slowUpstream_timeout() throws InterruptedException {
+        final AuditionPost expectPost = new AuditionPost(1, 1, "Title 1", "Body 1", List.of());
+        when(restTemplate.getForObject(any(URI.class), eq(AuditionPost.class))).thenReturn(expectPost);
+        doAnswer(invocation -> {
+            Thread.sleep(2000);
+            return new AuditionComment[0];
+        }).when(restTemplate).getForObject(any(URI.class), eq(AuditionComment[].class));
+
+        Assertions.assertThatExceptionOfType(SystemException.class)
+            .isThrownBy(() -> client.getPostWithCommentsByPostId(1))
+            .withMessage("Timed out fetching post with id 1 and its comments")
+            .satisfies(e -> assertThat(e.getStatusCode()).isEqualTo(504));
+
+        // the abandoned comments fetch is still in flight, let it drain so later tests do not join it
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.inFlightCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void streamPosts_filteredPosts_successful() {
+        final MockRestServiceServer server = MockRestServiceServer.bindTo(streamingRestTemplate).build();
+        server.expect(MockRestRequestMatchers.requestTo(BASE_URL))
+            .andRespond(MockRestResponseCreators.withSuccess("[{\"userId\":1,\"id\":1,\"title\":\"Title 1\","
+                + "\"body\":\"Body 1\",\"extra\":[1,2]},{\"userId\":2,\"id\":2,\"title\":\"Title 2\"}]",
+                MediaType.APPLICATION_JSON));
+
+        final List<AuditionPost> actual = new ArrayList<>();
+        client.streamPosts(post -> post.getUserId() == 1, actual::add);
+
+        assertThat(actual).containsExactly(new AuditionPost(1, 1, "Title 1", "Body 1", null));
+        server.verify();
+    }
+
+    @Test
+    public void streamPosts_exception_failed() {
+        final MockRestServiceServer server = MockRestServiceServer.bindTo(streamingRestTemplate).build();
+        server.expect(MockRestRequestMatchers.requestTo(BASE_URL))
+            .andRespond(MockRestResponseCreators.withStatus(HttpStatus.BAD_REQUEST));
+
+        assertThrows(SystemException.class, () -> client.streamPosts(post -> true, post -> {
+        }));
+    }
+
+    @Test
+    public void streamComments_allComments_successful() {
+        final MockRestServiceServer server = MockRestServiceServer.bindTo(streamingRestTemplate).build();
+        server.expect(MockRestRequestMatchers.requestTo("https://jsonplaceholder.typicode.com/comments"))
+            .andRespond(MockRestResponseCreators.withSuccess("[{\"postId\":1,\"id\":1,\"name\":\"Name 1\","
+                + "\"email\":\"Email 1\",\"body\":\"Body 1\"},{\"postId\":2,\"id\":2,\"name\":\"Name 2\"}]",
+                MediaType.APPLICATION_JSON));
+
+        final List<AuditionComment> actual = new ArrayList<>();
+        client.streamComments(actual::add);
+
+        assertThat(actual).containsExactly(new AuditionComment(1, 1, "Name 1", "Email 1", "Body 1"),
+            new AuditionComment(2, 2, "Name 2", null, null));
+        server.verify();
     }
 }
@@ -0,0 +1,192 @@
+package com.audition.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.metrics.UpstreamMetrics;
+import com.audition.common.resilience.UpstreamGuard;
+import com.audition.configuration.ResilienceConfiguration;
+import com.audition.configuration.ResilienceProperties;
+import com.audition.configuration.UpstreamProperties;
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class ReactiveAuditionIntegrationClientTest {
+
+    private static final String POSTS_JSON = "[{\"userId\":1,\"id\":1,\"title\":\"Title 1\",\"body\":\"Body 1\"},"
+        + "{\"userId\":2,\"id\":2,\"title\":\"Title 2\",\"body\":\"Body 2\"}]";
+    private static final String POST_JSON = "{\"userId\":1,\"id\":1,\"title\":\"Title 1\",\"body\":\"Body 1\"}";
+    private static final String COMMENTS_JSON = "[{\"postId\":1,\"id\":1,\"name\":\"Name 1\",\"email\":\"Email 1\","
+        + "\"body\":\"Body 1\"}]";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Map<String, ClientResponse> responses;
+    private ReactiveAuditionIntegrationClient client;
+    private UpstreamGuard upstreamGuard;
+
+    @BeforeEach
+    void setup() {
+        final ObjectMapper objectMapper = new WebServiceConfiguration(null).objectMapper();
+        final ExchangeStrategies strategies = ExchangeStrategies.builder()
+            .codecs(configurer -> configurer.defaultCodecs().jackson2JsonDecoder(
+                new Jackson2JsonDecoder(objectMapper, MediaType.APPLICATION_JSON)))
+            .build();
+        responses = Map.of();
+        final WebClient webClient = WebClient.builder()
+            .exchangeStrategies(strategies)
+            .exchangeFunction(request -> Mono.justOrEmpty(responses.get(request.url().getPath()))
+                .switchIfEmpty(Mono.just(response(HttpStatus.NOT_FOUND, "{}"))))
+            .build();
+        final ResilienceProperties resilience = new ResilienceProperties();
+        resilience.getCircuitBreaker().setSlidingWindowSize(4);
+        resilience.getCircuitBreaker().setMinimumNumberOfCalls(4);
+        resilience.getCircuitBreaker().setWaitDurationInOpenState(Duration.ofMinutes(1));
+        final ResilienceConfiguration configuration = new ResilienceConfiguration();
+        upstreamGuard = new UpstreamGuard(resilience, configuration.circuitBreakerRegistry(resilience, meterRegistry),
+            configuration.bulkheadRegistry(resilience, meterRegistry), meterRegistry);
+        client = client(webClient, new UpstreamProperties());
+    }
+
+    @Test
+    void getPosts_validPosts_successful() {
+        responses = Map.of("/posts", response(HttpStatus.OK, POSTS_JSON));
+
+        StepVerifier.create(client.getPosts())
+            .expectNext(new AuditionPost(1, 1, "Title 1", "Body 1", null))
+            .expectNext(new AuditionPost(2, 2, "Title 2", "Body 2", null))
+            .verifyComplete();
+    }
+
+    @Test
+    void getPosts_clientError_failed() {
+        responses = Map.of("/posts", response(HttpStatus.BAD_REQUEST, "{}"));
+
+        StepVerifier.create(client.getPosts())
+            .expectErrorSatisfies(e -> {
+                assertThat(e).isInstanceOf(SystemException.class);
+                assertThat(((SystemException) e).getTitle()).isEqualTo("Integration Error");
+                assertThat(((SystemException) e).getStatusCode()).isEqualTo(400);
+            })
+            .verify();
+    }
+
+    @Test
+    void getPostById_customBaseUrl_requested() {
+        final UpstreamProperties properties = new UpstreamProperties();
+        properties.setBaseUrl("http://localhost:8089/");
+        final List<URI> requested = new ArrayList<>();
+        final WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> {
+                requested.add(request.url());
+                return Mono.just(response(HttpStatus.OK, POST_JSON));
+            })
+            .build();
+
+        StepVerifier.create(client(webClient, properties).getPostById(1))
+            .expectNext(new AuditionPost(1, 1, "Title 1", "Body 1", null))
+            .verifyComplete();
+        assertThat(requested).containsExactly(URI.create("http://localhost:8089/posts/1"));
+    }
+
+    @Test
+    void getPostById_notFound_failed() {
+        StepVerifier.create(client.getPostById(1000))
+            .expectErrorSatisfies(e -> {
+                assertThat(e).isInstanceOf(SystemException.class).hasMessage("Cannot find a Post with id 1000");
+                assertThat(((SystemException) e).getTitle()).isEqualTo("Resource Not Found");
+                assertThat(((SystemException) e).getStatusCode()).isEqualTo(404);
+            })
+            .verify();
+    }
+
+    @Test
+    void getPostById_serverErrors_circuitOpenedAndTimed() {
+        final AtomicInteger requests = new AtomicInteger();
+        final WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> {
+                requests.incrementAndGet();
+                return Mono.just(response(HttpStatus.SERVICE_UNAVAILABLE, "{}"));
+            })
+            .build();
+        final ReactiveAuditionIntegrationClient failing = client(webClient, new UpstreamProperties());
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(failing.getPostById(1)).expectError(WebClientResponseException.class).verify();
+        }
+
+        StepVerifier.create(failing.getPostById(1))
+            .expectErrorSatisfies(e -> assertThat(e).isInstanceOf(SystemException.class)
+                .hasCauseInstanceOf(CallNotPermittedException.class))
+            .verify();
+        assertThat(requests).hasValue(4);
+        assertThat(upstreamGuard.getLimiter().getInFlight()).isZero();
+        assertThat(meterRegistry.get(UpstreamMetrics.METRIC_NAME).tag("method", "reactiveGetPostById")
+            .tag("status", "503").timer().count()).isEqualTo(5);
+    }
+
+    @Test
+    void getPosts_cancelledBeforeAnswer_permitsReleased() {
+        final WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> Mono.never())
+            .build();
+
+        StepVerifier.create(client(webClient, new UpstreamProperties()).getPosts())
+            .thenCancel()
+            .verify();
+
+        assertThat(upstreamGuard.getLimiter().getInFlight()).isZero();
+    }
+
+    @Test
+    void getCommentsByPostId_validPost_successful() {
+        responses = Map.of("/posts/1/comments", response(HttpStatus.OK, COMMENTS_JSON));
+
+        StepVerifier.create(client.getCommentsByPostId(1))
+            .expectNext(new AuditionComment(1, 1, "Name 1", "Email 1", "Body 1"))
+            .verifyComplete();
+    }
+
+    @Test
+    void getPostWithCommentsByPostId_validPost_successful() {
+        responses = Map.of("/posts/1", response(HttpStatus.OK, POST_JSON),
+            "/posts/1/comments", response(HttpStatus.OK, COMMENTS_JSON));
+
+        StepVerifier.create(client.getPostWithCommentsByPostId(1))
+            .expectNext(new AuditionPost(1, 1, "Title 1", "Body 1",
+                List.of(new AuditionComment(1, 1, "Name 1", "Email 1", "Body 1"))))
+            .verifyComplete();
+    }
+
+    private ReactiveAuditionIntegrationClient client(final WebClient webClient, final UpstreamProperties properties) {
+        return new ReactiveAuditionIntegrationClient(webClient, properties, upstreamGuard,
+            new UpstreamMetrics(meterRegistry));
+    }
+
+    private static ClientResponse response(final HttpStatus status, final String body) {
+        return ClientResponse.create(status)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body(body)
+            .build();
+    }
+}
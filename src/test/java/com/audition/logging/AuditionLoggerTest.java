@@ -1,6 +1,8 @@
 package com.audition.logging;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -8,6 +10,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.ErrorLoggingProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -97,6 +100,23 @@ public class AuditionLoggerTest {
         assertThat(logged).contains("Bad Request").contains("bad detail");
     }
 
+    @Test
+    void logClientProblemDetail_overRate_suppressedAndReported() {
+        final ErrorLoggingProperties properties = new ErrorLoggingProperties();
+        properties.setClientErrorsPerSecond(1);
+        final AuditionLogger limited = new AuditionLogger(properties);
+        final ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+        pd.setDetail("Invalid postId parameter abc");
+
+        limited.logClientProblemDetail(logger, pd);
+        limited.logClientProblemDetail(logger, pd);
+
+        final ArgumentCaptor<String> msgCaptor = ArgumentCaptor.forClass(String.class);
+        verify(logger).warn(msgCaptor.capture());
+        assertThat(msgCaptor.getValue()).contains("Invalid postId parameter abc");
+        verify(logger, never()).error(anyString(), any(Throwable.class));
+    }
+
     @Test
     void logHttpStatusCodeError_formatsMessage_andAppendsNewline_whenErrorEnabled() {
         auditionLogger.logHttpStatusCodeError(logger, "server error", 500);
@@ -0,0 +1,34 @@
+package com.audition.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.audition.common.logging.LogRateLimiter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class LogRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final LogRateLimiter limiter = new LogRateLimiter(2, nanos::get);
+
+    @Test
+    void tryAcquire_withinRate_permitted() {
+        assertThat(limiter.tryAcquire()).isZero();
+        assertThat(limiter.tryAcquire()).isZero();
+    }
+
+    @Test
+    void tryAcquire_overRate_suppressedAndReportedInNextSecond() {
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        assertThat(limiter.tryAcquire()).isEqualTo(LogRateLimiter.SUPPRESSED);
+        assertThat(limiter.tryAcquire()).isEqualTo(LogRateLimiter.SUPPRESSED);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(limiter.tryAcquire()).isEqualTo(2);
+        assertThat(limiter.tryAcquire()).isZero();
+        assertThat(limiter.tryAcquire()).isEqualTo(LogRateLimiter.SUPPRESSED);
+    }
+}
@@ -1,23 +1,29 @@
 package com.audition.logging;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.audition.common.logging.AuditionLogger;
 import com.audition.common.logging.LoggingInterceptor;
+import com.audition.configuration.HttpLoggingProperties;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.MDC;
 import org.springframework.http.HttpHeaders;
@@ -26,7 +32,9 @@ import org.springframework.http.HttpRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
 import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.unit.DataSize;
 
 @ExtendWith(MockitoExtension.class)
 public class LoggingInterceptorTest {
@@ -80,7 +88,7 @@ public class LoggingInterceptorTest {
         assertThat(response.getHeaders().getFirst("X-Span-Id")).isEqualTo("span-id-456");
 
         // verify that logging occurred for both request and response
-        verify(auditionLogger, atLeast(2)).info(any(), anyString());
+        verify(auditionLogger, atLeast(2)).info(any(), anyString(), any(Object[].class));
         verify(execution).execute(any(), any());
     }
 
@@ -189,4 +197,88 @@ public class LoggingInterceptorTest {
         verify(auditionLogger).logErrorWithException(any(), eq("Failed to log response"), any());
         verify(execution).execute(any(), any());
     }
+
+    @Test
+    void intercept_sampledModeFastSuccessNotSampled_noLogging() throws Exception {
+        final AuditionLogger auditionLogger = mock(AuditionLogger.class);
+        final LoggingInterceptor interceptor = new LoggingInterceptor(auditionLogger, sampledProperties(0));
+        final MockClientHttpResponse response = new MockClientHttpResponse(
+            "response-body".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+
+        interceptor.intercept(getRequest(), new byte[0], (req, body) -> response);
+
+        verifyNoInteractions(auditionLogger);
+    }
+
+    @Test
+    void intercept_sampledModeSampled_summaryWithoutBody() throws Exception {
+        final AuditionLogger auditionLogger = mock(AuditionLogger.class);
+        final LoggingInterceptor interceptor = new LoggingInterceptor(auditionLogger, sampledProperties(1));
+        final MockClientHttpResponse response = new MockClientHttpResponse(
+            "response-body".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+
+        interceptor.intercept(getRequest(), new byte[0], (req, body) -> response);
+
+        final ArgumentCaptor<Object[]> arguments = ArgumentCaptor.forClass(Object[].class);
+        verify(auditionLogger).info(any(), eq("Upstream {} {} returned {} in {} ms"), arguments.capture());
+        assertThat(arguments.getValue()).contains(HttpMethod.GET, URI.create(TEST_REQ_URL), 200);
+        verify(auditionLogger, never()).warn(any(), anyString(), any(Object[].class));
+    }
+
+    @Test
+    void intercept_sampledModeErrorResponse_truncatedBodyLogged() throws Exception {
+        final AuditionLogger auditionLogger = mock(AuditionLogger.class);
+        final HttpLoggingProperties properties = sampledProperties(0);
+        properties.setMaxBodySize(DataSize.ofBytes(5));
+        final LoggingInterceptor interceptor = new LoggingInterceptor(auditionLogger, properties);
+        final MockClientHttpResponse response = new MockClientHttpResponse(
+            "response-body".getBytes(StandardCharsets.UTF_8), HttpStatus.SERVICE_UNAVAILABLE);
+
+        interceptor.intercept(getRequest(), new byte[0], (req, body) -> response);
+
+        final ArgumentCaptor<Object[]> arguments = ArgumentCaptor.forClass(Object[].class);
+        verify(auditionLogger).warn(any(), anyString(), arguments.capture());
+        assertThat(arguments.getValue()).contains(503);
+        assertThat(arguments.getValue()[arguments.getValue().length - 1])
+            .hasToString("respo...(truncated)");
+    }
+
+    @Test
+    void intercept_sampledModeSlowCall_bodyLogged() throws Exception {
+        final AuditionLogger auditionLogger = mock(AuditionLogger.class);
+        final HttpLoggingProperties properties = sampledProperties(0);
+        properties.setSlowThreshold(Duration.ZERO);
+        final LoggingInterceptor interceptor = new LoggingInterceptor(auditionLogger, properties);
+        final MockClientHttpResponse response = new MockClientHttpResponse(
+            "response-body".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+
+        interceptor.intercept(getRequest(), new byte[0], (req, body) -> response);
+
+        final ArgumentCaptor<Object[]> arguments = ArgumentCaptor.forClass(Object[].class);
+        verify(auditionLogger).warn(any(), anyString(), arguments.capture());
+        assertThat(arguments.getValue()[arguments.getValue().length - 1]).hasToString("response-body");
+    }
+
+    @Test
+    void intercept_sampledModeIoFailure_loggedAndRethrown() {
+        final AuditionLogger auditionLogger = mock(AuditionLogger.class);
+        final LoggingInterceptor interceptor = new LoggingInterceptor(auditionLogger, sampledProperties(0));
+
+        assertThatThrownBy(() -> interceptor.intercept(getRequest(), new byte[0], (req, body) -> {
+            throw new IOException("connection reset");
+        })).isInstanceOf(IOException.class);
+
+        verify(auditionLogger).warn(any(), eq("Upstream {} {} failed after {} ms: {}"), any(Object[].class));
+    }
+
+    private static HttpLoggingProperties sampledProperties(final double sampleRate) {
+        final HttpLoggingProperties properties = new HttpLoggingProperties();
+        properties.setMode(HttpLoggingProperties.Mode.SAMPLED);
+        properties.setSampleRate(sampleRate);
+        return properties;
+    }
+
+    private static HttpRequest getRequest() {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create(TEST_REQ_URL));
+    }
 }
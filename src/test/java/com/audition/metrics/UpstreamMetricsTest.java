@@ -0,0 +1,76 @@
+package com.audition.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.metrics.UpstreamMetrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class UpstreamMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UpstreamMetrics upstreamMetrics = new UpstreamMetrics(registry);
+
+    @Test
+    void record_success_successTagged() {
+        final String result = upstreamMetrics.record("getPosts", () -> "posts");
+
+        assertThat(result).isEqualTo("posts");
+        assertThat(timer("getPosts", "SUCCESS", "2xx").count()).isEqualTo(1);
+    }
+
+    @Test
+    void record_systemException_statusTagged() {
+        assertThatThrownBy(() -> upstreamMetrics.record("getPostById", () -> {
+            throw new SystemException("Cannot find a Post with id 1000", "Resource Not Found", 404);
+        })).isInstanceOf(SystemException.class);
+
+        assertThat(timer("getPostById", "CLIENT_ERROR", "404").count()).isEqualTo(1);
+    }
+
+    @Test
+    void record_serverErrorAndIoError_tagged() {
+        assertThatThrownBy(() -> upstreamMetrics.record("getPosts", () -> {
+            throw HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", HttpHeaders.EMPTY, null,
+                null);
+        })).isInstanceOf(HttpServerErrorException.class);
+        assertThatThrownBy(() -> upstreamMetrics.record("streamPosts", () -> {
+            throw new ResourceAccessException("connection refused");
+        })).isInstanceOf(ResourceAccessException.class);
+
+        assertThat(timer("getPosts", "SERVER_ERROR", "502").count()).isEqualTo(1);
+        assertThat(timer("streamPosts", "UNKNOWN", "NONE").count()).isEqualTo(1);
+    }
+
+    @Test
+    void record_reactiveCalls_completionAndErrorTagged() {
+        StepVerifier.create(upstreamMetrics.record("reactiveGetPosts", Flux.just("1", "2"))).expectNextCount(2)
+            .verifyComplete();
+        StepVerifier.create(upstreamMetrics.record("reactiveGetPostById", Mono.error(
+                WebClientResponseException.create(502, "Bad Gateway", HttpHeaders.EMPTY, null, null))))
+            .expectError(WebClientResponseException.class)
+            .verify();
+
+        assertThat(timer("reactiveGetPosts", "SUCCESS", "2xx").count()).isEqualTo(1);
+        assertThat(timer("reactiveGetPostById", "SERVER_ERROR", "502").count()).isEqualTo(1);
+    }
+
+    private Timer timer(final String method, final String outcome, final String status) {
+        return registry.get(UpstreamMetrics.METRIC_NAME)
+            .tag("method", method)
+            .tag("outcome", outcome)
+            .tag("status", status)
+            .timer();
+    }
+}
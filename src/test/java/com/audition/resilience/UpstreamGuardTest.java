@@ -0,0 +1,146 @@
+package com.audition.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.resilience.UpstreamGuard;
+import com.audition.configuration.ResilienceConfiguration;
+import com.audition.configuration.ResilienceProperties;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+public class UpstreamGuardTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ResilienceProperties properties;
+
+    @BeforeEach
+    void setup() {
+        properties = new ResilienceProperties();
+        properties.getCircuitBreaker().setSlidingWindowSize(4);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(4);
+        properties.getCircuitBreaker().setWaitDurationInOpenState(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void call_serverErrors_circuitOpenedPerEndpoint() {
+        final UpstreamGuard guard = guard();
+        for (int i = 0; i < 4; i++) {
+            assertThatExceptionOfType(HttpServerErrorException.class)
+                .isThrownBy(() -> guard.call("posts", UpstreamGuardTest::serverError));
+        }
+        final AtomicInteger calls = new AtomicInteger();
+
+        assertThatExceptionOfType(SystemException.class)
+            .isThrownBy(() -> guard.call("posts", calls::incrementAndGet))
+            .withCauseInstanceOf(CallNotPermittedException.class)
+            .satisfies(e -> assertThat(e.getStatusCode()).isEqualTo(503))
+            .satisfies(e -> assertThat(e.getTitle()).isEqualTo(UpstreamGuard.SERVICE_UNAVAILABLE));
+        assertThat(calls).hasValue(0);
+        assertThat(guard.call("comments", calls::incrementAndGet)).isEqualTo(1);
+        assertThat(meterRegistry.get("audition.upstream.shed").tag("reason", "circuit-breaker").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void call_clientErrors_circuitKeptClosed() {
+        final UpstreamGuard guard = guard();
+        for (int i = 0; i < 4; i++) {
+            assertThatExceptionOfType(HttpClientErrorException.class).isThrownBy(() -> guard.call("post", () -> {
+                throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null);
+            }));
+        }
+
+        assertThat(guard.call("post", () -> "post")).isEqualTo("post");
+        assertThat(guard.getLimiter().getInFlight()).isZero();
+    }
+
+    @Test
+    void call_bulkheadFull_shed() {
+        properties.getBulkhead().setMaxConcurrentCalls(1);
+        final UpstreamGuard guard = guard();
+
+        assertThatExceptionOfType(SystemException.class)
+            .isThrownBy(() -> guard.call("post", () -> guard.call("comments", () -> "comments")))
+            .satisfies(e -> assertThat(e.getStatusCode()).isEqualTo(503));
+        assertThat(meterRegistry.get("audition.upstream.shed").tag("reason", "bulkhead").counter().count())
+            .isEqualTo(1);
+        assertThat(guard.getLimiter().getInFlight()).isZero();
+    }
+
+    @Test
+    void call_limitReached_shed() {
+        properties.getLimiter().setInitialLimit(1);
+        properties.getLimiter().setMinLimit(1);
+        final UpstreamGuard guard = guard();
+
+        assertThatExceptionOfType(SystemException.class)
+            .isThrownBy(() -> guard.call("post", () -> guard.call("comments", () -> "comments")))
+            .withMessage("Too many concurrent requests to the comments upstream");
+        assertThat(meterRegistry.get("audition.upstream.shed").tag("reason", "limiter").counter().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("audition.upstream.limiter.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void call_disabled_passedThrough() {
+        properties.setEnabled(false);
+        properties.getLimiter().setInitialLimit(1);
+        properties.getLimiter().setMinLimit(1);
+        final UpstreamGuard guard = guard();
+
+        assertThat(guard.call("post", () -> guard.call("comments", () -> "comments"))).isEqualTo("comments");
+    }
+
+    @Test
+    void stream_slowBodyAfterHeaders_notCountedAgainstCircuit() {
+        properties.getCircuitBreaker().setSlowCallDurationThreshold(Duration.ofMillis(10));
+        final UpstreamGuard guard = guard();
+        for (int i = 0; i < 4; i++) {
+            assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> guard.stream("posts", answered -> {
+                answered.run();
+                LockSupport.parkNanos(Duration.ofMillis(20).toNanos());
+                throw new IllegalStateException("The client went away");
+            }));
+        }
+        final String posts = guard.stream("posts", answered -> "posts");
+
+        assertThat(posts).isEqualTo("posts");
+        assertThat(guard.getLimiter().getInFlight()).isZero();
+    }
+
+    @Test
+    void stream_serverErrorsBeforeHeaders_circuitOpened() {
+        final UpstreamGuard guard = guard();
+        for (int i = 0; i < 4; i++) {
+            assertThatExceptionOfType(HttpServerErrorException.class)
+                .isThrownBy(() -> guard.stream("posts", answered -> serverError()));
+        }
+
+        assertThatExceptionOfType(SystemException.class)
+            .isThrownBy(() -> guard.stream("posts", answered -> "posts"))
+            .withCauseInstanceOf(CallNotPermittedException.class);
+        assertThat(guard.getLimiter().getInFlight()).isZero();
+    }
+
+    private UpstreamGuard guard() {
+        final ResilienceConfiguration configuration = new ResilienceConfiguration();
+        return new UpstreamGuard(properties, configuration.circuitBreakerRegistry(properties, meterRegistry),
+            configuration.bulkheadRegistry(properties, meterRegistry), meterRegistry);
+    }
+
+    private static String serverError() {
+        throw HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable",
+            HttpHeaders.EMPTY, null, null);
+    }
+}
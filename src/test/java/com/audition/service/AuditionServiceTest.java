@@ -0,0 +1,144 @@
+package com.audition.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.audition.common.cache.CacheNames;
+import com.audition.common.exception.SystemException;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+
+@SpringBootTest
+public class AuditionServiceTest {
+
+    private final List<AuditionPost> allPosts = List.of(new AuditionPost(1, 1, "Title 1", "Body 1", List.of()),
+        new AuditionPost(2, 2, "Title 2", "Body 2", List.of()));
+    private final List<AuditionComment> comments = List.of(new AuditionComment(1, 1, "Name 1", "Email 1", "Body 1"));
+
+    @Autowired
+    transient AuditionService auditionService;
+
+    @Autowired
+    transient CacheManager cacheManager;
+
+    @MockBean
+    transient AuditionIntegrationClient auditionIntegrationClient;
+
+    @MockBean
+    transient SnapshotStore snapshotStore;
+
+    @BeforeEach
+    public void setup() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        when(auditionIntegrationClient.getPosts()).thenReturn(allPosts);
+        when(auditionIntegrationClient.getPostById(1)).thenReturn(allPosts.get(0));
+        when(auditionIntegrationClient.getCommentsByPostId(1)).thenReturn(comments);
+    }
+
+    @Test
+    public void getPosts_repeatedCalls_servedFromCache() {
+        assertThat(auditionService.getPosts()).isEqualTo(allPosts);
+        assertThat(auditionService.getPosts()).isEqualTo(allPosts);
+
+        verify(auditionIntegrationClient, times(1)).getPosts();
+    }
+
+    @Test
+    public void getPostById_repeatedCalls_servedFromCache() {
+        assertThat(auditionService.getPostById(1)).isEqualTo(allPosts.get(0));
+        assertThat(auditionService.getPostById(1)).isEqualTo(allPosts.get(0));
+
+        verify(auditionIntegrationClient, times(1)).getPostById(1);
+        assertThat(cacheManager.getCache(CacheNames.POST).get(1)).isNotNull();
+    }
+
+    @Test
+    public void getCommentsByPostId_repeatedCalls_servedFromCache() {
+        assertThat(auditionService.getCommentsByPostId(1)).isEqualTo(comments);
+        assertThat(auditionService.getCommentsByPostId(1)).isEqualTo(comments);
+
+        verify(auditionIntegrationClient, times(1)).getCommentsByPostId(1);
+    }
+
+    @Test
+    public void getPostById_exception_notCached() {
+        when(auditionIntegrationClient.getPostById(2)).thenThrow(
+            new SystemException("The posts upstream is unavailable", "Service Unavailable", 503));
+
+        assertThrows(SystemException.class, () -> auditionService.getPostById(2));
+        assertThrows(SystemException.class, () -> auditionService.getPostById(2));
+
+        verify(auditionIntegrationClient, times(2)).getPostById(2);
+    }
+
+    @Test
+    public void getPostById_notFound_upstreamAskedOnce() {
+        when(auditionIntegrationClient.getPostById(99_999)).thenThrow(
+            SystemException.clientError("Cannot find a Post with id 99999", "Resource Not Found", 404));
+        when(snapshotStore.fresh()).thenReturn(Optional.of(new DatasetSnapshot(1, Instant.now(), allPosts,
+            List.of(), false)));
+
+        assertThrows(SystemException.class, () -> auditionService.getPostById(99_999));
+        final SystemException repeated = assertThrows(SystemException.class,
+            () -> auditionService.getPostById(99_999));
+        assertThrows(SystemException.class, () -> auditionService.getPostWithCommentsById(99_999));
+
+        assertThat(repeated.getStatusCode()).isEqualTo(404);
+        verify(auditionIntegrationClient, times(1)).getPostById(99_999);
+        verify(auditionIntegrationClient, never()).getPostWithCommentsByPostId(anyInt());
+    }
+
+    @Test
+    public void getPosts_freshSnapshot_servedFromSnapshot() {
+        final List<AuditionPost> snapshotPosts = List.of(new AuditionPost(1, 1, "Title 1", "Body 1", null),
+            new AuditionPost(2, 2, "Title 2", "Body 2", null));
+        final DatasetSnapshot snapshot = new DatasetSnapshot(1, Instant.now(), snapshotPosts, comments, false);
+        when(snapshotStore.isFresh()).thenReturn(true);
+        when(snapshotStore.fresh()).thenReturn(Optional.of(snapshot));
+        when(snapshotStore.containsPost(anyInt())).thenReturn(true);
+
+        assertThat(auditionService.getPosts()).isEqualTo(snapshotPosts);
+        assertThat(auditionService.getPostById(2)).isEqualTo(snapshotPosts.get(1));
+        assertThat(auditionService.getCommentsByPostId(1)).isEqualTo(comments);
+        assertThat(auditionService.getPostWithCommentsById(1).getComments()).isEqualTo(comments);
+
+        verify(auditionIntegrationClient, never()).getPosts();
+        verify(auditionIntegrationClient, never()).getPostById(anyInt());
+        verify(auditionIntegrationClient, never()).getCommentsByPostId(anyInt());
+        verify(auditionIntegrationClient, never()).getPostWithCommentsByPostId(anyInt());
+        assertThat(cacheManager.getCache(CacheNames.POSTS).get(SimpleKey.EMPTY)).isNull();
+        assertThat(cacheManager.getCache(CacheNames.POST).get(2)).isNull();
+    }
+
+    @Test
+    public void getPostById_unknownToSnapshot_servedFromUpstreamAndCached() {
+        final DatasetSnapshot snapshot = new DatasetSnapshot(1, Instant.now(), allPosts.subList(1, 2), List.of(),
+            false);
+        when(snapshotStore.isFresh()).thenReturn(true);
+        when(snapshotStore.fresh()).thenReturn(Optional.of(snapshot));
+
+        assertThat(auditionService.getPostById(1)).isEqualTo(allPosts.get(0));
+        assertThat(auditionService.getPostById(1)).isEqualTo(allPosts.get(0));
+        assertThat(auditionService.getCommentsByPostId(1)).isEqualTo(comments);
+        assertThat(auditionService.getCommentsByPostId(1)).isEqualTo(comments);
+
+        verify(auditionIntegrationClient, times(1)).getPostById(1);
+        verify(auditionIntegrationClient, times(1)).getCommentsByPostId(1);
+    }
+}
@@ -0,0 +1,129 @@
+package com.audition.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.ExecutorConfiguration;
+import com.audition.configuration.UpstreamProperties;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.AuditionPost;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+
+@SpringBootTest
+public class PostBatchServiceTest {
+
+    @Autowired
+    transient PostBatchService postBatchService;
+
+    @Autowired
+    transient UpstreamProperties upstreamProperties;
+
+    @Autowired
+    transient CacheManager cacheManager;
+
+    @Autowired
+    @Qualifier(ExecutorConfiguration.BATCH_EXECUTOR)
+    transient Executor batchExecutor;
+
+    @MockBean
+    transient AuditionIntegrationClient auditionIntegrationClient;
+
+    private Duration fanOutTimeout;
+
+    @BeforeEach
+    public void setup() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        fanOutTimeout = upstreamProperties.getFanOutTimeout();
+    }
+
+    @AfterEach
+    public void restore() {
+        upstreamProperties.setFanOutTimeout(fanOutTimeout);
+    }
+
+    @Test
+    public void getPosts_manyIds_concurrencyBounded() {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final List<Integer> ids = List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20);
+        for (final int id : ids) {
+            when(auditionIntegrationClient.getPostById(id)).thenAnswer(invocation -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                inFlight.decrementAndGet();
+                return new AuditionPost(1, id, "Title " + id, "Body " + id, null);
+            });
+        }
+
+        final List<PostBatchItem> items = postBatchService.getPosts(ids, false);
+
+        assertThat(items).extracting(PostBatchItem::id).containsExactlyElementsOf(ids);
+        assertThat(items).allSatisfy(item -> assertThat(item.post().getId()).isEqualTo(item.id()));
+        assertThat(maxInFlight.get()).isBetween(1, upstreamProperties.getBatchConcurrency());
+    }
+
+    @Test
+    public void getPosts_slowPost_timedOutItemOnly() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        upstreamProperties.setFanOutTimeout(Duration.ofMillis(200));
+        when(auditionIntegrationClient.getPostById(1)).thenReturn(new AuditionPost(1, 1, "Title 1", "Body 1", null));
+        when(auditionIntegrationClient.getPostById(2)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new AuditionPost(1, 2, "Title 2", "Body 2", null);
+        });
+        when(auditionIntegrationClient.getPostById(3)).thenThrow(
+            new SystemException("Service Unavailable", "Service Unavailable", 503));
+
+        try {
+            final List<PostBatchItem> items = postBatchService.getPosts(List.of(1, 2, 3), false);
+
+            assertThat(items.get(0).post().getTitle()).isEqualTo("Title 1");
+            assertThat(items.get(1).error().getStatus()).isEqualTo(504);
+            assertThat(items.get(2).error().getStatus()).isEqualTo(503);
+            assertThat(items.get(2).error().getTitle()).isEqualTo("Service Unavailable");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void getPosts_executorSaturated_timedOutWithoutBlocking() {
+        final CountDownLatch release = new CountDownLatch(1);
+        final int capacity = upstreamProperties.getBatchExecutorThreads()
+            + upstreamProperties.getBatchExecutorQueueCapacity();
+        try {
+            for (int i = 0; i < capacity; i++) {
+                batchExecutor.execute(() -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            upstreamProperties.setFanOutTimeout(Duration.ofMillis(200));
+
+            final List<PostBatchItem> items = postBatchService.getPosts(List.of(1, 2), false);
+
+            assertThat(items).allSatisfy(item -> assertThat(item.error().getStatus()).isEqualTo(504));
+            verifyNoInteractions(auditionIntegrationClient);
+        } finally {
+            release.countDown();
+        }
+    }
+}
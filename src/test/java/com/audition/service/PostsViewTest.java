@@ -0,0 +1,117 @@
+package com.audition.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.audition.common.store.PostTable;
+import com.audition.model.AuditionPost;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class PostsViewTest {
+
+    private final List<AuditionPost> allPosts = List.of(new AuditionPost(2, 3, "b", "Body 3", List.of()),
+        new AuditionPost(1, 1, "c", "Body 1", List.of()), new AuditionPost(1, 2, "a", "Body 2", List.of()),
+        new AuditionPost(2, 4, "a", "Body 4", List.of()));
+    private final PostsView view = new PostsView(allPosts);
+
+    @Test
+    public void query_unpaged_allSortedById() {
+        PostPage actual = view.query(new PostQuery(null, null, null, 20, PostSortKey.ID, false));
+
+        assertThat(actual.items()).extracting(AuditionPost::getId).containsExactly(1, 2, 3, 4);
+        assertThat(actual.total()).isEqualTo(4);
+    }
+
+    @Test
+    public void query_sortByTitle_idTiebreak() {
+        PostPage actual = view.query(new PostQuery(null, null, null, 20, PostSortKey.TITLE, false));
+
+        assertThat(actual.items()).extracting(AuditionPost::getId).containsExactly(2, 4, 3, 1);
+    }
+
+    @Test
+    public void query_userIdSortedDescendingPaged_slice() {
+        PostPage actual = view.query(new PostQuery(2, null, 0, 1, PostSortKey.TITLE, true));
+
+        assertThat(actual.items()).extracting(AuditionPost::getId).containsExactly(3);
+        assertThat(actual.total()).isEqualTo(2);
+    }
+
+    @Test
+    public void query_unknownUserId_empty() {
+        PostPage actual = view.query(new PostQuery(9, null, 0, 10, PostSortKey.ID, false));
+
+        assertThat(actual.items()).isEmpty();
+        assertThat(actual.total()).isZero();
+    }
+
+    @Test
+    public void isViewOf_otherInstance_false() {
+        assertThat(view.isViewOf(allPosts)).isTrue();
+        assertThat(view.isViewOf(new ArrayList<>(allPosts))).isFalse();
+    }
+
+    @Test
+    public void query_searchTitleAndBody_allWordsMatched() {
+        PostPage actual = view.query(new PostQuery(null, "BODY 4 a", null, 20, PostSortKey.ID, false));
+
+        assertThat(actual.items()).extracting(AuditionPost::getId).containsExactly(4);
+    }
+
+    @Test
+    public void query_searchWithUserId_intersected() {
+        PostPage actual = view.query(new PostQuery(1, "body", null, 20, PostSortKey.TITLE, false));
+
+        assertThat(actual.items()).extracting(AuditionPost::getId).containsExactly(2, 1);
+    }
+
+    @Test
+    public void findById_knownAndUnknownId_found() {
+        assertThat(view.findById(3)).contains(allPosts.get(0));
+        assertThat(view.findById(5)).isEmpty();
+    }
+
+    @Test
+    public void refresh_unchangedContent_indexesShared() {
+        PostsView refreshed = view.refresh(new ArrayList<>(allPosts));
+
+        assertThat(refreshed.sharesIndexesWith(view)).isTrue();
+        assertThat(refreshed.estimatedIndexBytes()).isEqualTo(view.estimatedIndexBytes()).isPositive();
+    }
+
+    @Test
+    public void refresh_changedPost_reindexed() {
+        List<AuditionPost> changed = new ArrayList<>(allPosts);
+        changed.set(1, new AuditionPost(1, 1, "c", "updated", List.of()));
+        PostsView refreshed = view.refresh(changed);
+
+        assertThat(refreshed.sharesIndexesWith(view)).isFalse();
+        assertThat(refreshed.query(new PostQuery(null, "updated", null, 20, PostSortKey.ID, false)).items())
+            .extracting(AuditionPost::getId).containsExactly(1);
+        assertThat(refreshed.query(new PostQuery(null, "body 1", null, 20, PostSortKey.ID, false)).items()).isEmpty();
+    }
+
+    @Test
+    public void ofTable_sameContent_sameResultsAndDigest() {
+        PostsView tableView = PostsView.ofTable(PostTable.of(allPosts, false));
+        PostQuery query = new PostQuery(null, "body", 0, 3, PostSortKey.TITLE, true);
+
+        assertThat(tableView.query(query).items()).extracting(AuditionPost::getId)
+            .containsExactlyElementsOf(view.query(query).items().stream().map(AuditionPost::getId).toList());
+        assertThat(tableView.findById(4)).hasValueSatisfying(post -> assertThat(post.getTitle()).isEqualTo("a"));
+        assertThat(tableView.contentDigest()).isEqualTo(view.contentDigest());
+        assertThat(view.refresh(new ArrayList<>(allPosts)).contentDigest()).isEqualTo(view.contentDigest());
+    }
+
+    @Test
+    public void contentDigest_titleWithEqualHashCode_changed() {
+        List<AuditionPost> changed = new ArrayList<>(allPosts);
+        AuditionPost post = allPosts.get(0);
+        changed.set(0, new AuditionPost(post.getUserId(), post.getId(), "Aa", post.getBody(), List.of()));
+        List<AuditionPost> collision = new ArrayList<>(allPosts);
+        collision.set(0, new AuditionPost(post.getUserId(), post.getId(), "BB", post.getBody(), List.of()));
+
+        assertThat(new PostsView(changed).contentDigest()).isNotEqualTo(new PostsView(collision).contentDigest());
+    }
+}
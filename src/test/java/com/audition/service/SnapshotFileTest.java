@@ -0,0 +1,77 @@
+package com.audition.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SnapshotFileTest {
+
+    private static final Instant LOADED_AT = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final List<AuditionPost> posts = List.of(new AuditionPost(1, 1, "Title 1", "Body 1", null),
+        new AuditionPost(1, 2, null, "Bödy 2", null));
+    private final List<AuditionComment> comments = List.of(new AuditionComment(2, 1, "Name 1", "Email 1", null));
+
+    @TempDir
+    Path directory;
+
+    private SnapshotFile file;
+
+    @BeforeEach
+    void setup() throws IOException {
+        file = new SnapshotFile(directory.resolve("data").resolve("snapshot.bin"));
+        file.write(new DatasetSnapshot(7, LOADED_AT, posts, comments, false));
+    }
+
+    @Test
+    void read_writtenSnapshot_roundTripped() throws IOException {
+        final SnapshotFile.Contents contents = file.read();
+
+        assertThat(contents.version()).isEqualTo(7);
+        assertThat(contents.loadedAt()).isEqualTo(LOADED_AT);
+        assertThat(contents.posts()).isEqualTo(posts);
+        assertThat(contents.comments()).isEqualTo(comments);
+        try (Stream<Path> files = Files.list(file.path().getParent())) {
+            assertThat(files).containsExactly(file.path());
+        }
+    }
+
+    @Test
+    void read_flippedPayloadByte_checksumMismatch() throws IOException {
+        final byte[] bytes = Files.readAllBytes(file.path());
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file.path(), bytes);
+
+        assertThat(assertThrows(IOException.class, file::read)).hasMessageContaining("checksum");
+    }
+
+    @Test
+    void read_otherFormatVersion_rejected() throws IOException {
+        final byte[] bytes = Files.readAllBytes(file.path());
+        ByteBuffer.wrap(bytes).putInt(4, SnapshotFile.FORMAT_VERSION + 1);
+        Files.write(file.path(), bytes);
+
+        assertThat(assertThrows(IOException.class, file::read)).hasMessageContaining("Unsupported snapshot format");
+    }
+
+    @Test
+    void read_truncatedFile_rejected() throws IOException {
+        final byte[] bytes = Files.readAllBytes(file.path());
+        Files.write(file.path(), Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertThat(assertThrows(IOException.class, file::read)).hasMessageContaining("truncated");
+    }
+}
@@ -0,0 +1,140 @@
+package com.audition.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.SnapshotProperties;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+public class SnapshotLoaderTest {
+
+    private final List<AuditionPost> posts = List.of(new AuditionPost(1, 1, "Title 1", "Body 1", null));
+    private final List<AuditionComment> comments = List.of(new AuditionComment(1, 1, "Name 1", "Email 1", "Body 1"));
+
+    private AuditionIntegrationClient client;
+    private SimpleMeterRegistry meterRegistry;
+    private SnapshotProperties properties;
+    private SnapshotStore store;
+    private SnapshotLoader loader;
+    private ThreadPoolTaskScheduler scheduler;
+
+    @BeforeEach
+    void setup() {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.initialize();
+        client = mock(AuditionIntegrationClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new SnapshotProperties();
+        properties.setRefreshInterval(Duration.ofMinutes(1));
+        store = new SnapshotStore(properties, meterRegistry);
+        loader = new SnapshotLoader(client, store, scheduler, properties, new AuditionLogger(), meterRegistry);
+    }
+
+    @AfterEach
+    void teardown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void load_upstreamAvailable_published() {
+        when(client.getPosts()).thenReturn(posts);
+        doAnswer(this::streamComments).when(client).streamComments(any());
+
+        loader.load();
+
+        assertThat(store.fresh()).hasValueSatisfying(snapshot -> {
+            assertThat(snapshot.posts()).isEqualTo(posts);
+            assertThat(snapshot.comments(1)).isEqualTo(comments);
+        });
+        assertThat(meterRegistry.get("audition.snapshot.loads").tag("result", "success").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void load_upstreamFailure_previousSnapshotKept() {
+        when(client.getPosts()).thenReturn(posts);
+        doAnswer(this::streamComments)
+            .doThrow(new SystemException("Service Unavailable", "Service Unavailable", 503))
+            .when(client).streamComments(any());
+        loader.load();
+        final DatasetSnapshot previous = store.fresh().orElseThrow();
+
+        loader.load();
+
+        assertThat(store.fresh()).containsSame(previous);
+        assertThat(meterRegistry.get("audition.snapshot.loads").tag("result", "failure").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void start_scheduled_loadsInBackground() throws InterruptedException {
+        when(client.getPosts()).thenReturn(posts);
+        doAnswer(this::streamComments).when(client).streamComments(any());
+
+        loader.start();
+        try {
+            final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (!store.isFresh() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(store.isFresh()).isTrue();
+            assertThat(loader.isRunning()).isTrue();
+        } finally {
+            loader.stop();
+        }
+        assertThat(loader.isRunning()).isFalse();
+    }
+
+    @Test
+    void restore_persistedSnapshot_servedAfterRestart(@TempDir final Path directory) {
+        properties.setFile(directory.resolve("snapshot.bin"));
+        when(client.getPosts()).thenReturn(posts);
+        doAnswer(this::streamComments).when(client).streamComments(any());
+        new SnapshotLoader(client, store, scheduler, properties, new AuditionLogger(), meterRegistry).load();
+
+        final SnapshotStore restarted = new SnapshotStore(properties, new SimpleMeterRegistry());
+        new SnapshotLoader(client, restarted, scheduler, properties, new AuditionLogger(), new SimpleMeterRegistry()).restore();
+
+        assertThat(restarted.fresh()).hasValueSatisfying(snapshot -> {
+            assertThat(snapshot.version()).isEqualTo(store.fresh().orElseThrow().version());
+            assertThat(snapshot.posts()).isEqualTo(posts);
+            assertThat(snapshot.comments(1)).isEqualTo(comments);
+        });
+    }
+
+    @Test
+    void restore_corruptFile_ignored(@TempDir final Path directory) throws IOException {
+        properties.setFile(directory.resolve("snapshot.bin"));
+        Files.write(properties.getFile(), new byte[] {1, 2, 3});
+
+        new SnapshotLoader(client, store, scheduler, properties, new AuditionLogger(), meterRegistry).restore();
+
+        assertThat(store.fresh()).isEmpty();
+    }
+
+    private Object streamComments(final InvocationOnMock invocation) {
+        final Consumer<AuditionComment> sink = invocation.getArgument(0);
+        comments.forEach(sink);
+        return null;
+    }
+}
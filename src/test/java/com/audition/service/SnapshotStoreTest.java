@@ -0,0 +1,87 @@
+package com.audition.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.audition.configuration.SnapshotProperties;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SnapshotStoreTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final List<AuditionPost> posts = List.of(new AuditionPost(1, 1, "Title 1", "Body 1", null),
+        new AuditionPost(1, 2, "Title 2", "Body 2", null));
+    private final List<AuditionComment> comments = List.of(new AuditionComment(2, 1, "Name 1", "Email 1", "Body 1"),
+        new AuditionComment(1, 2, "Name 2", "Email 2", "Body 2"),
+        new AuditionComment(2, 3, "Name 3", "Email 3", "Body 3"));
+
+    private Clock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private SnapshotStore store;
+
+    @BeforeEach
+    void setup() {
+        final SnapshotProperties properties = new SnapshotProperties();
+        properties.setMaxStaleness(Duration.ofMinutes(5));
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(START);
+        meterRegistry = new SimpleMeterRegistry();
+        store = new SnapshotStore(properties, meterRegistry, clock);
+    }
+
+    @Test
+    void fresh_nothingPublished_empty() {
+        assertThat(store.fresh()).isEmpty();
+        assertThat(store.isFresh()).isFalse();
+        assertThat(meterRegistry.get("audition.snapshot.age").gauge().value()).isNaN();
+    }
+
+    @Test
+    void fresh_withinMaxStaleness_served() {
+        store.publish(posts, comments);
+        when(clock.instant()).thenReturn(START.plus(Duration.ofMinutes(5)));
+
+        assertThat(store.fresh()).hasValueSatisfying(snapshot -> assertThat(snapshot.posts()).isEqualTo(posts));
+        assertThat(meterRegistry.get("audition.snapshot.age").gauge().value()).isEqualTo(300.0);
+    }
+
+    @Test
+    void fresh_olderThanMaxStaleness_empty() {
+        store.publish(posts, comments);
+        when(clock.instant()).thenReturn(START.plus(Duration.ofMinutes(5)).plusMillis(1));
+
+        assertThat(store.fresh()).isEmpty();
+        assertThat(store.isFresh()).isFalse();
+    }
+
+    @Test
+    void publish_repeated_versionsIncreaseAndReplace() {
+        final DatasetSnapshot first = store.publish(posts, comments);
+        final DatasetSnapshot second = store.publish(posts.subList(0, 1), List.of());
+
+        assertThat(second.version()).isGreaterThan(first.version());
+        assertThat(store.fresh()).containsSame(second);
+        assertThat(meterRegistry.get("audition.snapshot.version").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("audition.snapshot.heap").gauge().value()).isPositive();
+    }
+
+    @Test
+    void snapshot_lookups_indexedById() {
+        final DatasetSnapshot snapshot = store.publish(posts, comments);
+
+        assertThat(snapshot.post(2)).contains(posts.get(1));
+        assertThat(snapshot.post(3)).isEmpty();
+        assertThat(snapshot.comments(2)).containsExactly(comments.get(0), comments.get(2));
+        assertThat(snapshot.comments(3)).isEmpty();
+    }
+}
@@ -0,0 +1,37 @@
+package com.audition.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.audition.common.store.CommentTable;
+import com.audition.model.AuditionComment;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class CommentTableTest {
+
+    private final List<AuditionComment> comments = List.of(
+        new AuditionComment(1, 1, "Name 1", "user@example.com", "Body 1"),
+        new AuditionComment(2, 2, "Name 2", "user@example.com", null));
+
+    @Test
+    void asList_rows_materializedEqual() {
+        final CommentTable table = CommentTable.of(comments, true);
+
+        assertThat(table.asList()).isEqualTo(comments);
+        assertThat(table.size()).isEqualTo(2);
+        assertThat(table.postId(1)).isEqualTo(2);
+    }
+
+    @Test
+    void builder_manyRows_grownAndDeduplicated() {
+        final CommentTable.Builder builder = CommentTable.builder();
+        for (int id = 1; id <= 1000; id++) {
+            builder.add(new AuditionComment(id % 10, id, "Name " + id, "user" + id % 10 + "@example.com", "Body"));
+        }
+
+        final CommentTable table = builder.build(false);
+
+        assertThat(table.size()).isEqualTo(1000);
+        assertThat(table.get(999)).isEqualTo(new AuditionComment(0, 1000, "Name 1000", "user0@example.com", "Body"));
+    }
+}
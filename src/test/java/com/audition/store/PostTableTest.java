@@ -0,0 +1,58 @@
+package com.audition.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.audition.common.cache.PayloadWeigher;
+import com.audition.common.store.PostTable;
+import com.audition.model.AuditionPost;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import org.junit.jupiter.api.Test;
+
+public class PostTableTest {
+
+    private final List<AuditionPost> posts = List.of(new AuditionPost(1, 1, "Title 1", "Body", null),
+        new AuditionPost(1, 2, "Title 2", "Body", null),
+        new AuditionPost(2, 3, null, "Body 3", null));
+
+    @Test
+    void asList_rows_materializedEqual() {
+        final PostTable table = PostTable.of(posts, false);
+
+        assertThat(table.asList()).isEqualTo(posts).isInstanceOf(RandomAccess.class);
+        assertThat(table.id(2)).isEqualTo(3);
+        assertThat(table.userId(2)).isEqualTo(2);
+    }
+
+    @Test
+    void asList_readTwice_rowsMaterializedOnce() {
+        final PostTable table = PostTable.of(posts, false);
+
+        final List<AuditionPost> first = new ArrayList<>(table.asList());
+
+        for (int row = 0; row < posts.size(); row++) {
+            assertThat(table.asList().get(row)).isSameAs(first.get(row)).isSameAs(table.get(row));
+        }
+    }
+
+    @Test
+    void asList_modification_rejected() {
+        final List<AuditionPost> rows = PostTable.of(posts, true).asList();
+
+        assertThrows(UnsupportedOperationException.class, () -> rows.add(posts.get(0)));
+    }
+
+    @Test
+    void estimatedBytes_manyPosts_smallerThanObjects() {
+        final List<AuditionPost> many = new ArrayList<>();
+        for (int id = 1; id <= 10_000; id++) {
+            many.add(new AuditionPost(id / 10 + 1, id, "Title " + id, "Body " + id % 100, null));
+        }
+
+        final long compact = PostTable.of(many, false).estimatedBytes();
+
+        assertThat(compact * 4).isLessThan(PayloadWeigher.estimate(many));
+    }
+}
@@ -0,0 +1,54 @@
+package com.audition.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.audition.common.store.StringPool;
+import org.junit.jupiter.api.Test;
+
+public class StringPoolTest {
+
+    @Test
+    void add_repeatedValue_storedOnce() {
+        final StringPool.Builder builder = StringPool.builder();
+        final int first = builder.add("user1@example.com");
+        final int other = builder.add("quia et suscipit");
+        final int repeated = builder.add("user1@example.com");
+
+        final StringPool pool = builder.build(false);
+
+        assertThat(repeated).isEqualTo(first);
+        assertThat(other).isNotEqualTo(first);
+        assertThat(pool.size()).isEqualTo(2);
+        assertThat(pool.get(first)).isEqualTo("user1@example.com");
+        assertThat(pool.get(other)).isEqualTo("quia et suscipit");
+    }
+
+    @Test
+    void get_nullAndEmpty_preserved() {
+        final StringPool.Builder builder = StringPool.builder();
+        final int none = builder.add(null);
+        final int empty = builder.add("");
+
+        final StringPool pool = builder.build(false);
+
+        assertThat(none).isEqualTo(StringPool.NULL_REF);
+        assertThat(pool.get(none)).isNull();
+        assertThat(pool.get(empty)).isEmpty();
+    }
+
+    @Test
+    void build_offHeap_multiByteTextDecoded() {
+        final StringPool.Builder builder = StringPool.builder();
+        final int[] refs = new int[3000];
+        for (int i = 0; i < refs.length; i++) {
+            refs[i] = builder.add("résumé " + i);
+        }
+
+        final StringPool pool = builder.build(true);
+
+        assertThat(pool.isOffHeap()).isTrue();
+        assertThat(pool.get(refs[0])).isEqualTo("résumé 0");
+        assertThat(pool.get(refs[2999])).isEqualTo("résumé 2999");
+        assertThat(pool.estimatedBytes()).isLessThan(builder.build(false).estimatedBytes());
+    }
+}
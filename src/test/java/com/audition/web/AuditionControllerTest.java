@@ -2,21 +2,50 @@ package com.audition.web;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.audition.common.exception.SystemException;
 import com.audition.integration.AuditionIntegrationClient;
+import com.audition.integration.ReactiveAuditionIntegrationClient;
 import com.audition.model.AuditionComment;
 import com.audition.model.AuditionPost;
+import com.audition.service.PostBatchItem;
+import com.audition.service.PostQuery;
+import com.audition.service.PostSortKey;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 @SpringBootTest
+@AutoConfigureMockMvc
 public class AuditionControllerTest {
 
     private final List<AuditionPost> allPosts = List.of(new AuditionPost(1, 1, "Title 1", "Body 1", List.of()),
@@ -33,6 +62,12 @@ public class AuditionControllerTest {
     @MockBean
     transient AuditionIntegrationClient auditionIntegrationClient;
 
+    @MockBean
+    transient ReactiveAuditionIntegrationClient reactiveAuditionIntegrationClient;
+
+    @Autowired
+    transient MockMvc mockMvc;
+
     @BeforeEach
     public void setup() {
         // Mock the auditionService to return allPosts when getPosts is called
@@ -41,32 +76,105 @@ public class AuditionControllerTest {
         when(auditionIntegrationClient.getPostById(1)).thenReturn(allPosts.get(0));
         when(auditionIntegrationClient.getCommentsByPostId(1)).thenReturn(
             allComments.stream().filter(comment -> comment.getPostId() == 1).toList());
+        doAnswer(invocation -> {
+            final Predicate<AuditionPost> filter = invocation.getArgument(0);
+            final Consumer<AuditionPost> sink = invocation.getArgument(1);
+            allPosts.stream().filter(filter).forEach(sink);
+            return null;
+        }).when(auditionIntegrationClient).streamPosts(any(), any());
+        when(reactiveAuditionIntegrationClient.getPosts()).thenReturn(Flux.fromIterable(allPosts));
+        when(reactiveAuditionIntegrationClient.getPostById(1)).thenReturn(Mono.just(allPosts.get(0)));
+        when(reactiveAuditionIntegrationClient.getPostById(1000)).thenReturn(Mono.error(
+            new SystemException("Cannot find a Post with id 1000", "Resource Not Found", 404)));
     }
 
     @Test
-    public void getPosts_nullUserId_successful() {
-        List<AuditionPost> actual = auditionController.getPosts(null);
+    public void getPosts_nullUserId_successful() throws Exception {
+        mockMvc.perform(get("/posts"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].id").value(containsInAnyOrder(1, 2, 3)));
+    }
 
-        assertThat(actual).containsExactlyInAnyOrderElementsOf(allPosts);
+    @Test
+    public void getPosts_emptyUserId_successful() throws Exception {
+        mockMvc.perform(get("/posts").param("userId", ""))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].id").value(containsInAnyOrder(1, 2, 3)));
     }
 
     @Test
-    public void getPosts_emptyUserId_successful() {
-        List<AuditionPost> actual = auditionController.getPosts("");
+    public void getPosts_invalidUserId_failed() throws Exception {
+        mockMvc.perform(get("/posts").param("userId", "abc"))
+            .andExpect(status().isBadRequest());
+    }
 
-        assertThat(actual).containsExactlyInAnyOrderElementsOf(allPosts);
+    @Test
+    public void getPosts_validUserId_successful() throws Exception {
+        mockMvc.perform(get("/posts").param("userId", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].id").value(containsInAnyOrder(1, 2)));
     }
 
     @Test
-    public void getPosts_invalidUserId_failed() {
-        assertThrows(SystemException.class, () -> auditionController.getPosts("abc"));
+    public void getPosts_pagedAndSortedDescending_successful() throws Exception {
+        mockMvc.perform(get("/posts").param("page", "0").param("size", "2").param("sort", "id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(AuditionController.TOTAL_COUNT_HEADER, "3"))
+            .andExpect(jsonPath("$[*].id").value(contains(3, 2)));
     }
 
     @Test
-    public void getPosts_validUserId_successful() {
-        List<AuditionPost> actual = auditionController.getPosts("1");
-        List<AuditionPost> expect = allPosts.stream().filter(post -> post.getUserId() == 1).toList();
-        assertThat(actual).containsExactlyInAnyOrderElementsOf(expect);
+    public void getPosts_pageBeyondEnd_empty() throws Exception {
+        mockMvc.perform(get("/posts").param("userId", "1").param("page", "1").param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(AuditionController.TOTAL_COUNT_HEADER, "2"))
+            .andExpect(content().string("[]"));
+    }
+
+    @Test
+    public void getPostsKey_equivalentQueries_sameKey() {
+        final String key = AuditionController.getPostsKey(
+            new PostQuery(1, "Title body", 0, 20, PostSortKey.ID, false), PostProjection.of("id,title"));
+
+        assertThat(AuditionController.getPostsKey(new PostQuery(1, "BODY  title", 0, 20, PostSortKey.ID, false),
+            PostProjection.of(" id,title,id"))).isEqualTo(key);
+        assertThat(AuditionController.getPostsKey(new PostQuery(1, "Title body", 0, 20, PostSortKey.ID, false),
+            PostProjection.of("title,id"))).isNotEqualTo(key);
+        assertThat(AuditionController.getPostsKey(new PostQuery(1, "!", 0, 20, PostSortKey.ID, false), null))
+            .isNotEqualTo(AuditionController.getPostsKey(new PostQuery(1, null, 0, 20, PostSortKey.ID, false), null));
+    }
+
+    @Test
+    public void getPosts_invalidPagingOrSort_failed() throws Exception {
+        for (final String[] param : List.of(new String[] {"page", "-1"}, new String[] {"size", "0"},
+            new String[] {"size", "101"}, new String[] {"sort", "body"}, new String[] {"sort", "id,up"})) {
+            mockMvc.perform(get("/posts").param(param[0], param[1]))
+                .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    public void getPosts_searchWithinUser_successful() throws Exception {
+        mockMvc.perform(get("/posts").param("userId", "1").param("q", "body 2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].id").value(contains(2)));
+    }
+
+    @Test
+    public void getPosts_fieldsProjection_successful() throws Exception {
+        mockMvc.perform(get("/posts").param("fields", "id,title").param("sort", "title,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(AuditionController.TOTAL_COUNT_HEADER, "3"))
+            .andExpect(jsonPath("$[0].id").value(3))
+            .andExpect(jsonPath("$[0].title").value("Title 3"))
+            .andExpect(jsonPath("$[0].body").doesNotExist())
+            .andExpect(jsonPath("$[0].userId").doesNotExist());
+    }
+
+    @Test
+    public void getPosts_invalidFields_badRequest() throws Exception {
+        mockMvc.perform(get("/posts").param("fields", "id,password"))
+            .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -84,14 +192,68 @@ public class AuditionControllerTest {
         assertThrows(SystemException.class, () -> auditionController.getPostById("abc"));
     }
 
+    @Test
+    public void parseInteger_variousInputs_matchesIntegerParseInt() {
+        for (final String value : List.of("0", "1", "+7", "-12", "2147483647", "-2147483648",
+            "00000000001", "+0000000005", "-000000000002147483648")) {
+            assertThat(AuditionController.parseInteger(value)).isEqualTo(Integer.parseInt(value));
+        }
+        for (final String value : List.of("", "abc", "1a", "+", "-", " 1", "2147483648", "-2147483649",
+            "99999999999", "0000000002147483648", "99999999999999999999999")) {
+            assertThat(AuditionController.parseInteger(value)).isNull();
+        }
+    }
+
     @Test
     public void getPostById_validPostId_successful() {
-        AuditionPost actual = auditionController.getPostById("1");
+        AuditionPost actual = auditionController.getPostById("1").getBody();
         AuditionPost expect = allPosts.get(0);
 
         assertThat(actual).isEqualTo(expect);
     }
 
+    @Test
+    public void getPosts_matchingIfNoneMatch_notModified() throws Exception {
+        final String eTag = mockMvc.perform(get("/posts"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(eTag).startsWith("\"");
+        mockMvc.perform(get("/posts").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+        mockMvc.perform(get("/posts").param("userId", "1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    public void getPosts_gzipAccepted_sameJson() throws Exception {
+        final byte[] plain = mockMvc.perform(get("/posts").param("fields", "id"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray();
+        final MvcResult compressed = mockMvc.perform(get("/posts").param("fields", "id")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+            .andReturn();
+
+        // a three post projection stays below the compression threshold
+        assertThat(compressed.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(compressed.getResponse().getContentAsByteArray()).isEqualTo(plain);
+        assertThat(new String(plain, StandardCharsets.UTF_8)).isEqualTo("[{\"id\":1},{\"id\":2},{\"id\":3}]");
+    }
+
+    @Test
+    public void getPostById_matchingIfNoneMatch_notModified() throws Exception {
+        final String eTag = auditionController.getPostById("1").getHeaders().getETag();
+
+        mockMvc.perform(get("/posts/1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+        assertThat(auditionController.getPostById("1").getHeaders().getETag()).isEqualTo(eTag);
+        assertThat(auditionController.getCommentsForPost("1").getHeaders().getETag()).isNotEqualTo(eTag);
+    }
+
     @Test
     public void getCommentsForPost_nullPostId_failed() {
         assertThrows(SystemException.class, () -> auditionController.getCommentsForPost(null));
@@ -109,9 +271,104 @@ public class AuditionControllerTest {
 
     @Test
     public void getCommentsForPost_validPostId_successful() {
-        List<AuditionComment> actual = auditionController.getCommentsForPost("1");
+        List<AuditionComment> actual = auditionController.getCommentsForPost("1").getBody();
         List<AuditionComment> expect = allComments.stream().filter(comment -> comment.getPostId() == 1).toList();
 
         assertThat(actual).isEqualTo(expect);
     }
+
+    @Test
+    public void getPostsReactive_validUserId_successful() {
+        List<AuditionPost> expect = allPosts.stream().filter(post -> post.getUserId() == 1).toList();
+
+        StepVerifier.create(auditionController.getPostsReactive("1"))
+            .expectNextSequence(expect)
+            .verifyComplete();
+    }
+
+    @Test
+    public void getPostsReactive_invalidUserId_failed() {
+        assertThrows(SystemException.class, () -> auditionController.getPostsReactive("abc"));
+    }
+
+    @Test
+    public void getPostsReactive_ndjson_streamed() throws Exception {
+        final MvcResult result = mockMvc.perform(get("/reactive/posts").accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        final String body = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        assertThat(body.lines()).hasSize(allPosts.size());
+    }
+
+    @Test
+    public void getPostByIdReactive_notFound_problemDetail() throws Exception {
+        final MvcResult result = mockMvc.perform(get("/reactive/posts/1000"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.title").value("Resource Not Found"))
+            .andExpect(jsonPath("$.detail").value("Cannot find a Post with id 1000"));
+    }
+
+    @Test
+    public void streamPosts_validUserId_successful() throws Exception {
+        final MvcResult result = mockMvc.perform(get("/posts/stream").param("userId", "1"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].id").value(1))
+            .andExpect(jsonPath("$[1].id").value(2));
+    }
+
+    @Test
+    public void streamPosts_invalidUserId_failed() {
+        assertThrows(SystemException.class, () -> auditionController.streamPosts("abc"));
+    }
+
+    @Test
+    public void getPostsBatch_duplicateAndMissingIds_partialResults() throws Exception {
+        when(auditionIntegrationClient.getPostById(1000)).thenThrow(
+            new SystemException("Cannot find a Post with id 1000", "Resource Not Found", 404));
+
+        mockMvc.perform(post("/posts/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1,1000,1],\"includeComments\":true}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].id").value(1))
+            .andExpect(jsonPath("$[0].post.title").value("Title 1"))
+            .andExpect(jsonPath("$[0].post.comments.length()").value(2))
+            .andExpect(jsonPath("$[0].error").doesNotExist())
+            .andExpect(jsonPath("$[1].id").value(1000))
+            .andExpect(jsonPath("$[1].post").doesNotExist())
+            .andExpect(jsonPath("$[1].error.status").value(404))
+            .andExpect(jsonPath("$[1].error.title").value("Resource Not Found"));
+    }
+
+    @Test
+    public void getPostsBatch_withoutComments_postsOnly() {
+        final List<PostBatchItem> actual = auditionController.getPostsBatch(new PostBatchRequest(List.of(1), false));
+
+        assertThat(actual).containsExactly(new PostBatchItem(1, allPosts.get(0), null));
+    }
+
+    @Test
+    public void getPostsBatch_invalidIds_failed() throws Exception {
+        final List<Integer> tooMany = IntStream.rangeClosed(1, 101).boxed().toList();
+
+        assertThrows(SystemException.class, () -> auditionController.getPostsBatch(new PostBatchRequest(null, false)));
+        assertThrows(SystemException.class,
+            () -> auditionController.getPostsBatch(new PostBatchRequest(List.of(), false)));
+        assertThrows(SystemException.class,
+            () -> auditionController.getPostsBatch(new PostBatchRequest(tooMany, false)));
+        mockMvc.perform(post("/posts/batch").contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[]}"))
+            .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,105 @@
+package com.audition.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.audition.common.cache.CacheNames;
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+public class SerializedResponseCacheTest {
+
+    private final ObjectMapper objectMapper = spy(new WebServiceConfiguration(null).objectMapper());
+    private final SerializedResponseCache cache = new SerializedResponseCache(
+        new ConcurrentMapCacheManager(CacheNames.RESPONSES), objectMapper);
+
+    @Test
+    void render_sameContent_serializedOnce() throws Exception {
+        final List<AuditionPost> posts = posts(2, "Body");
+
+        final byte[] first = cache.render("/posts?", entity(posts), new MockHttpServletRequest()).getBody();
+        final byte[] second = cache.render("/posts?", entity(posts), new MockHttpServletRequest()).getBody();
+
+        assertThat(second).isSameAs(first);
+        assertThat(objectMapper.readValue(first, AuditionPost[].class)).containsExactlyElementsOf(posts);
+        verify(objectMapper, times(1)).writeValueAsBytes(any());
+    }
+
+    @Test
+    void render_changedContent_reserialized() throws Exception {
+        final byte[] first = cache.render("/posts?", entity(posts(2, "Body")), new MockHttpServletRequest())
+            .getBody();
+        final List<AuditionPost> refreshed = posts(2, "Changed");
+        final byte[] second = cache.render("/posts?", entity(refreshed), new MockHttpServletRequest()).getBody();
+
+        assertThat(second).isNotEqualTo(first);
+        assertThat(objectMapper.readValue(second, AuditionPost[].class)).containsExactlyElementsOf(refreshed);
+    }
+
+    @Test
+    void render_gzipAccepted_compressedWithOwnTag() throws Exception {
+        final List<AuditionPost> posts = posts(50, "Body");
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+
+        final ResponseEntity<byte[]> plain = cache.render("/posts?", entity(posts), new MockHttpServletRequest());
+        final ResponseEntity<byte[]> compressed = cache.render("/posts?", entity(posts), request);
+
+        assertThat(compressed.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(compressed.getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(compressed.getHeaders().getETag()).isNotEqualTo(plain.getHeaders().getETag()).endsWith("-gzip\"");
+        assertThat(compressed.getBody().length).isLessThan(plain.getBody().length);
+        assertThat(gunzip(compressed.getBody())).isEqualTo(plain.getBody());
+        assertThat(cache.render("/posts?", entity(posts), request).getBody()).isSameAs(compressed.getBody());
+    }
+
+    @Test
+    void render_smallResponse_notCompressed() {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        final ResponseEntity<byte[]> actual = cache.render("/posts?id=1", entity(posts(1, "Body")), request);
+
+        assertThat(actual.getBody().length).isLessThan(SerializedResponseCache.MIN_GZIP_SIZE);
+        assertThat(actual.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+    }
+
+    @Test
+    void acceptsGzip_qualityValues_negotiated() {
+        assertThat(SerializedResponseCache.acceptsGzip(null)).isFalse();
+        assertThat(SerializedResponseCache.acceptsGzip("br, deflate")).isFalse();
+        assertThat(SerializedResponseCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(SerializedResponseCache.acceptsGzip("br, GZIP;q=0.5")).isTrue();
+        assertThat(SerializedResponseCache.acceptsGzip("*")).isTrue();
+    }
+
+    private static ResponseEntity<List<AuditionPost>> entity(final List<AuditionPost> posts) {
+        return ResponseEntity.ok().eTag(ETags.forContent(posts)).body(posts);
+    }
+
+    private static List<AuditionPost> posts(final int count, final String body) {
+        return IntStream.rangeClosed(1, count)
+            .mapToObj(id -> new AuditionPost(1, id, "Title " + id, body + " " + id, null))
+            .toList();
+    }
+
+    private static byte[] gunzip(final byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
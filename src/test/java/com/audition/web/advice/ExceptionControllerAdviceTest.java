@@ -2,15 +2,19 @@ package com.audition.web.advice;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
 import com.audition.common.exception.SystemException;
 import com.audition.common.logging.AuditionLogger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -27,6 +31,9 @@ public class ExceptionControllerAdviceTest {
     @Mock
     private AuditionLogger logger;
 
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @Test
     void handleHttpClientException_validException_successful() {
         final String message = "resource missing";
@@ -52,7 +59,7 @@ public class ExceptionControllerAdviceTest {
         assertThat(pd.getDetail()).isEqualTo("client error");
         assertThat(pd.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
         assertThat(pd.getTitle()).isEqualTo(ExceptionControllerAdvice.DEFAULT_TITLE);
-        verify(logger).logStandardProblemDetail(any(), any(), any());
+        verify(logger).logClientProblemDetail(any(), any());
     }
 
     @Test
@@ -65,7 +72,7 @@ public class ExceptionControllerAdviceTest {
         assertThat(pd.getDetail()).isEqualTo("Request method 'DELETE' is not supported");
         assertThat(pd.getStatus()).isEqualTo(HttpStatus.METHOD_NOT_ALLOWED.value());
         assertThat(pd.getTitle()).isEqualTo(ExceptionControllerAdvice.DEFAULT_TITLE);
-        verify(logger).logStandardProblemDetail(any(), any(), any());
+        verify(logger).logClientProblemDetail(any(), any());
     }
 
     @Test
@@ -105,7 +112,19 @@ public class ExceptionControllerAdviceTest {
         assertThat(pd.getDetail()).isEqualTo("System Detail");
         assertThat(pd.getTitle()).isEqualTo("System Title");
         assertThat(pd.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
-        verify(logger).logStandardProblemDetail(any(), any(), any());
+        verify(logger).logClientProblemDetail(any(), any());
+    }
+
+    @Test
+    void handleSystemException_serverError_loggedWithException() {
+        final SystemException exception = new SystemException("The posts upstream is unavailable",
+            "Service Unavailable", HttpStatus.SERVICE_UNAVAILABLE.value());
+
+        final ProblemDetail pd = advice.handleSystemException(exception);
+
+        assertThat(pd.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        verify(logger).logStandardProblemDetail(any(), any(), eq(exception));
+        verify(logger, never()).logClientProblemDetail(any(), any());
     }
 
     @Test
@@ -119,4 +138,28 @@ public class ExceptionControllerAdviceTest {
         assertThat(pd.getStatus()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR.value());
         verify(logger).logStandardProblemDetail(any(), any(), any());
     }
+
+    @Test
+    void handleSystemException_notFound_counted() {
+        advice.handleSystemException(new SystemException("Cannot find a Post with id 1000", "Resource Not Found", 404));
+        advice.handleSystemException(new SystemException("Cannot find a Post with id 1001", "Resource Not Found", 404));
+
+        assertThat(meterRegistry.get(ExceptionControllerAdvice.ERROR_METRIC_NAME)
+            .tag("exception", "SystemException")
+            .tag("type", "Resource Not Found")
+            .tag("status", "404")
+            .counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void handleSystemException_sameTitleOtherStatus_countedSeparately() {
+        advice.handleSystemException(new SystemException("Upstream failed", "Upstream Error", 502));
+        advice.handleSystemException(new SystemException("Upstream timed out", "Upstream Error", 504));
+        advice.handleSystemException(new SystemException("Upstream timed out", "Upstream Error", 504));
+
+        assertThat(meterRegistry.get(ExceptionControllerAdvice.ERROR_METRIC_NAME).tag("status", "502").counter()
+            .count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ExceptionControllerAdvice.ERROR_METRIC_NAME).tag("status", "504").counter()
+            .count()).isEqualTo(2);
+    }
 }